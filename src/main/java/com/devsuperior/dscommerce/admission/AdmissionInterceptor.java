@@ -0,0 +1,95 @@
+package com.devsuperior.dscommerce.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.devsuperior.dscommerce.security.AuthenticatedUser;
+import com.devsuperior.dscommerce.services.exceptions.ServiceUnavailableException;
+import com.devsuperior.dscommerce.services.exceptions.TooManyRequestsException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Controle de admissão de {@code POST /orders} e {@code POST /oauth2/token}: em vez de esperar numa
+ * fila, o excesso é recusado antes do handler, com {@code Retry-After}:
+ * <ul>
+ * <li>429 quando o cliente passou da sua taxa ({@link ClientRateLimiter}; cliente é o usuário do
+ * token em /orders e o endereço de origem em /oauth2/token);</li>
+ * <li>503 quando a rota já tem {@code max-concurrent} requisições em andamento ({@link ConcurrencyLimit}).</li>
+ * </ul>
+ * Registrado depois do {@link com.devsuperior.dscommerce.security.AuthInterceptor}, que identifica o usuário,
+ * e antes da espera simulada, que ocupa a vaga como um serviço externo ocuparia.
+ */
+@Component
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+	private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".admitted";
+
+	private final Route orders;
+	private final Route token;
+
+	public AdmissionInterceptor(
+			@Value("${dscommerce.admission.orders.max-concurrent:0}") int ordersMaxConcurrent,
+			@Value("${dscommerce.admission.orders.rate-per-second:0}") double ordersRate,
+			@Value("${dscommerce.admission.orders.burst:20}") int ordersBurst,
+			@Value("${dscommerce.admission.token.max-concurrent:0}") int tokenMaxConcurrent,
+			@Value("${dscommerce.admission.token.rate-per-second:0}") double tokenRate,
+			@Value("${dscommerce.admission.token.burst:20}") int tokenBurst,
+			@Value("${dscommerce.admission.max-clients:100000}") int maxClients) {
+		this.orders = new Route(new ConcurrencyLimit(ordersMaxConcurrent),
+				new ClientRateLimiter(ordersRate, ordersBurst, maxClients));
+		this.token = new Route(new ConcurrencyLimit(tokenMaxConcurrent),
+				new ClientRateLimiter(tokenRate, tokenBurst, maxClients));
+	}
+
+	public boolean isEnabled() {
+		return orders.isEnabled() || token.isEnabled();
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!"POST".equals(request.getMethod())) {
+			return true;
+		}
+		Route route = "/oauth2/token".equals(request.getServletPath()) ? token : orders;
+		long wait = route.rate().tryAcquire(client(route, request), System.nanoTime());
+		if (wait > 0) {
+			throw new TooManyRequestsException("Limite de requisições excedido", retryAfterSeconds(wait));
+		}
+		if (!route.concurrency().tryAcquire()) {
+			throw new ServiceUnavailableException("Servidor ocupado, tente novamente", 1);
+		}
+		request.setAttribute(ADMITTED, route);
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		if (request.getAttribute(ADMITTED) instanceof Route route) {
+			route.concurrency().release();
+		}
+	}
+
+	private Object client(Route route, HttpServletRequest request) {
+		if (route == orders && request.getAttribute(AuthenticatedUser.ATTRIBUTE) instanceof AuthenticatedUser user) {
+			return user.userId();
+		}
+		return request.getRemoteAddr();
+	}
+
+	private static long retryAfterSeconds(long waitNanos) {
+		return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+	}
+
+	private record Route(ConcurrencyLimit concurrency, ClientRateLimiter rate) {
+
+		boolean isEnabled() {
+			return concurrency.isEnabled() || rate.isEnabled();
+		}
+	}
+}
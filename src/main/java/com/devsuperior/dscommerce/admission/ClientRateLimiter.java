@@ -0,0 +1,65 @@
+package com.devsuperior.dscommerce.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de fichas por cliente no formato GCRA: o estado de cada cliente é um único {@code long}
+ * (o instante teórico da próxima requisição), atualizado com CAS, sem lock e sem alocar por requisição.
+ *
+ * Admite {@code burst} requisições de uma vez e depois {@code ratePerSecond} por segundo. Clientes
+ * parados (balde cheio) são descartados quando o mapa passa de {@code maxClients}.
+ */
+public final class ClientRateLimiter {
+
+	private final long intervalNanos;
+	private final long burstNanos;
+	private final int maxClients;
+	private final ConcurrentHashMap<Object, AtomicLong> clients = new ConcurrentHashMap<>();
+
+	/**
+	 * @param ratePerSecond requisições por segundo por cliente (0 = sem limite)
+	 */
+	public ClientRateLimiter(double ratePerSecond, int burst, int maxClients) {
+		this.intervalNanos = (ratePerSecond > 0) ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0;
+		this.burstNanos = intervalNanos * Math.max(1, burst);
+		this.maxClients = maxClients;
+	}
+
+	public boolean isEnabled() {
+		return intervalNanos > 0;
+	}
+
+	/**
+	 * Consome uma ficha do cliente. Devolve 0 se a requisição foi admitida, ou quantos
+	 * nanossegundos faltam para a próxima ficha.
+	 */
+	public long tryAcquire(Object client, long now) {
+		if (intervalNanos == 0) {
+			return 0;
+		}
+		AtomicLong state = clients.get(client);
+		if (state == null) {
+			evictIfNeeded(now);
+			state = clients.computeIfAbsent(client, k -> new AtomicLong(now));
+		}
+		while (true) {
+			long theoretical = state.get();
+			long next = Math.max(theoretical, now) + intervalNanos;
+			long excess = next - now - burstNanos;
+			if (excess > 0) {
+				return excess;
+			}
+			if (state.compareAndSet(theoretical, next)) {
+				return 0;
+			}
+		}
+	}
+
+	private void evictIfNeeded(long now) {
+		if (clients.size() >= maxClients) {
+			clients.values().removeIf(state -> state.get() <= now);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.devsuperior.dscommerce.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas de uma rota: um contador atômico incrementado com CAS só
+ * enquanto houver vaga. Sem fila; quem não consegue vaga é recusado na hora.
+ */
+public final class ConcurrencyLimit {
+
+	private final int max;
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	/**
+	 * @param max requisições simultâneas (0 = sem limite)
+	 */
+	public ConcurrencyLimit(int max) {
+		this.max = max;
+	}
+
+	public boolean isEnabled() {
+		return max > 0;
+	}
+
+	public boolean tryAcquire() {
+		if (max <= 0) {
+			return true;
+		}
+		int current = inFlight.get();
+		while (current < max) {
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+			current = inFlight.get();
+		}
+		return false;
+	}
+
+	public void release() {
+		if (max > 0) {
+			inFlight.decrementAndGet();
+		}
+	}
+
+	public int inFlight() {
+		return inFlight.get();
+	}
+}
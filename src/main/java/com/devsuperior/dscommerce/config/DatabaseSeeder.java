@@ -0,0 +1,170 @@
+package com.devsuperior.dscommerce.config;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.entities.Payment;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.Role;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.repositories.EntityStore;
+import com.devsuperior.dscommerce.repositories.OrderRepository;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Mesma carga inicial do import.sql do DSCommerce, da qual as suítes *RA dependem.
+ *
+ * Com {@code dscommerce.dataset.scale} maior que zero, soma a ela os dados do {@link DatasetGenerator}
+ * (semente {@code dscommerce.dataset.seed}), gravados em lote.
+ *
+ * Com o {@link EntityStore} ligado e já preenchido, produtos e pedidos vêm do disco em vez da carga;
+ * categorias e usuários são sempre recriados (os gerados dependem da mesma escala e semente).
+ */
+@Component
+public class DatabaseSeeder {
+
+	private static final Logger logger = LoggerFactory.getLogger(DatabaseSeeder.class);
+
+	private static final String IMG = "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/";
+	private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua.";
+
+	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	private final UserRepository userRepository;
+	private final OrderRepository orderRepository;
+	private final EntityStore store;
+	private final int scale;
+	private final long seed;
+
+	public DatabaseSeeder(CategoryRepository categoryRepository, ProductRepository productRepository,
+			UserRepository userRepository, OrderRepository orderRepository, EntityStore store,
+			@Value("${dscommerce.dataset.scale:0}") int scale,
+			@Value("${dscommerce.dataset.seed:42}") long seed) {
+		this.categoryRepository = categoryRepository;
+		this.productRepository = productRepository;
+		this.userRepository = userRepository;
+		this.orderRepository = orderRepository;
+		this.store = store;
+		this.scale = scale;
+		this.seed = seed;
+	}
+
+	@PostConstruct
+	public void seed() {
+		Category books = categoryRepository.save(new Category(1L, "Livros"));
+		Category electronics = categoryRepository.save(new Category(2L, "Eletronicos"));
+		Category computers = categoryRepository.save(new Category(3L, "Computadores"));
+
+		Role client = new Role(1L, "ROLE_CLIENT");
+		Role admin = new Role(2L, "ROLE_ADMIN");
+
+		User maria = new User(1L, "Maria Brown", "maria@gmail.com", "988888888", LocalDate.parse("2001-07-25"), "123456");
+		maria.addRole(client);
+		User alex = new User(2L, "Alex Green", "alex@gmail.com", "977777777", LocalDate.parse("1987-12-13"), "123456");
+		alex.addRole(client);
+		alex.addRole(admin);
+		User ana = new User(3L, "Ana Pink", "ana@gmail.com", "966666666", LocalDate.parse("1994-03-08"), "123456");
+		ana.addRole(admin);
+		userRepository.save(maria);
+		userRepository.save(alex);
+		userRepository.save(ana);
+
+		long start = System.nanoTime();
+		DatasetGenerator generator = new DatasetGenerator(seed, Math.max(0, scale));
+		List<User> generatedUsers = (scale > 0) ? generator.users(client) : List.of();
+		userRepository.saveAll(generatedUsers);
+
+		if (store.productCount() > 0) {
+			restore(start);
+			return;
+		}
+
+		Product[] products = {
+			product(1L, "The Lord of the Rings", 90.5, "1-big.jpg", books),
+			product(2L, "Smart TV", 2190.0, "2-big.jpg", electronics, computers),
+			product(3L, "Macbook Pro", 1250.0, "3-big.jpg", computers),
+			product(4L, "PC Gamer", 1200.0, "4-big.jpg", computers),
+			product(5L, "Rails for Dummies", 100.99, "5-big.jpg", books),
+			product(6L, "PC Gamer Ex", 1350.0, "6-big.jpg", computers),
+			product(7L, "PC Gamer X", 1350.0, "7-big.jpg", computers),
+			product(8L, "PC Gamer Alfa", 1850.0, "8-big.jpg", computers),
+			product(9L, "PC Gamer Tera", 1950.0, "9-big.jpg", computers),
+			product(10L, "PC Gamer Y", 1700.0, "10-big.jpg", computers),
+			product(11L, "PC Gamer Nitro", 1450.0, "11-big.jpg", computers),
+			product(12L, "PC Gamer Card", 1850.0, "12-big.jpg", computers),
+			product(13L, "PC Gamer Plus", 1350.0, "13-big.jpg", computers),
+			product(14L, "PC Gamer Hera", 2250.0, "14-big.jpg", computers),
+			product(15L, "PC Gamer Weed", 2200.0, "15-big.jpg", computers),
+			product(16L, "PC Gamer Max", 2340.0, "16-big.jpg", computers),
+			product(17L, "PC Gamer Turbo", 1280.0, "17-big.jpg", computers),
+			product(18L, "PC Gamer Hot", 1450.0, "18-big.jpg", computers),
+			product(19L, "PC Gamer Ez", 1750.0, "19-big.jpg", computers),
+			product(20L, "PC Gamer Tr", 1650.0, "20-big.jpg", computers),
+			product(21L, "PC Gamer Tx", 1680.0, "21-big.jpg", computers),
+			product(22L, "PC Gamer Er", 1850.0, "22-big.jpg", computers),
+			product(23L, "PC Gamer Min", 2250.0, "23-big.jpg", computers),
+			product(24L, "PC Gamer Boo", 2350.0, "24-big.jpg", computers),
+			product(25L, "PC Gamer Foo", 4170.0, "25-big.jpg", computers),
+		};
+		List<Product> generatedProducts = generator.products(books, electronics, computers);
+		List<Product> catalog = new ArrayList<>(products.length + generatedProducts.size());
+		catalog.addAll(Arrays.asList(products));
+		catalog.addAll(generatedProducts);
+		productRepository.saveAll(catalog);
+
+		Order o1 = new Order(1L, Instant.parse("2022-07-25T13:00:00Z"), OrderStatus.PAID, maria,
+				new Payment(1L, Instant.parse("2022-07-25T15:00:00Z")));
+		o1.getItems().add(new OrderItem(products[0], 2, 90.5));
+		o1.getItems().add(new OrderItem(products[2], 1, 1250.0));
+		Order o2 = new Order(2L, Instant.parse("2022-07-29T15:50:00Z"), OrderStatus.DELIVERED, alex,
+				new Payment(2L, Instant.parse("2022-07-30T11:00:00Z")));
+		o2.getItems().add(new OrderItem(products[2], 1, 1250.0));
+		Order o3 = new Order(3L, Instant.parse("2022-08-03T14:20:00Z"), OrderStatus.WAITING_PAYMENT, maria, null);
+		o3.getItems().add(new OrderItem(products[0], 1, 90.5));
+		orderRepository.save(o1);
+		orderRepository.save(o2);
+		orderRepository.save(o3);
+
+		if (scale > 0) {
+			List<Order> generatedOrders = generator.orders(generatedProducts, generatedUsers);
+			orderRepository.saveAll(generatedOrders);
+			logger.info("Generated dataset (seed {}): {} products, {} users, {} orders loaded in {} ms",
+					seed, generatedProducts.size(), generatedUsers.size(), generatedOrders.size(),
+					(System.nanoTime() - start) / 1_000_000);
+		}
+	}
+
+	private void restore(long start) {
+		List<Product> products = store.loadProducts(id -> categoryRepository.findById(id).orElse(null));
+		productRepository.restore(products);
+		List<Order> orders = store.loadOrders(id -> userRepository.findById(id).orElse(null),
+				id -> productRepository.findById(id).orElse(null));
+		orderRepository.restore(orders);
+		logger.info("Restored {} products and {} orders from storage in {} ms ({} orders skipped: unknown client or product)",
+				products.size(), orders.size(), (System.nanoTime() - start) / 1_000_000, store.orderCount() - orders.size());
+	}
+
+	private static Product product(Long id, String name, Double price, String img, Category... categories) {
+		Product product = new Product(id, name, LOREM, price, IMG + img);
+		for (Category c : categories) {
+			product.getCategories().add(c);
+		}
+		return product;
+	}
+}
@@ -0,0 +1,181 @@
+package com.devsuperior.dscommerce.config;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.entities.Payment;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.Role;
+import com.devsuperior.dscommerce.entities.User;
+
+/**
+ * Gera produtos, clientes e pedidos sintéticos a partir de uma semente e de uma escala (número de produtos).
+ * Cada registro depende só da semente e do próprio índice, então a mesma configuração gera sempre os mesmos dados.
+ *
+ * Para não mudar o que as suítes *RA conferem na carga fixa:
+ * <ul>
+ * <li>os ids começam em {@value #FIRST_ID} (o 100 usado como id inexistente continua livre);</li>
+ * <li>os nomes de produto ordenam depois de "PC Gamer Tera" e não contêm "gamer", "macbook" nem "tv";</li>
+ * <li>os pedidos gerados só usam produtos e clientes gerados, então os produtos da carga fixa
+ * continuam removíveis ou não como antes.</li>
+ * </ul>
+ * Distribuições: metade livros, preço log-normal por categoria, e pedidos concentrados em poucos
+ * produtos e clientes (lei de potência), como num catálogo real.
+ */
+public class DatasetGenerator {
+
+	public static final long FIRST_ID = 1001L;
+
+	private static final String IMG = "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/";
+	private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua.";
+	private static final String PASSWORD = "123456";
+
+	private static final String[] BOOKS = { "Romance", "Saga", "Tratado", "Volume" };
+	private static final String[] ELECTRONICS = { "Relógio", "Smartphone", "Soundbar", "Tablet", "Televisor" };
+	private static final String[] COMPUTERS = { "Servidor", "Ultrabook", "Workstation" };
+	private static final String[] BRANDS = { "Atlas", "Aurora", "Delta", "Nexus", "Orion", "Prisma", "Vega", "Zenit" };
+	private static final String[] FIRST_NAMES = { "Ana", "Bruno", "Carla", "Diego", "Elisa", "Felipe", "Helena", "Igor", "Julia", "Lucas" };
+	private static final String[] LAST_NAMES = { "Almeida", "Barros", "Costa", "Dias", "Lima", "Moura", "Rocha", "Souza" };
+
+	private static final String[] IMAGES = new String[25];
+	static {
+		for (int i = 0; i < IMAGES.length; i++) {
+			IMAGES[i] = IMG + (i + 1) + "-big.jpg";
+		}
+	}
+
+	private static final long PRODUCT_STREAM = 1L;
+	private static final long USER_STREAM = 2L;
+	private static final long ORDER_STREAM = 3L;
+
+	private static final Instant FIRST_ORDER = Instant.parse("2022-01-01T00:00:00Z");
+	private static final long ORDER_WINDOW_SECONDS = 2L * 365 * 24 * 3600;
+
+	private final long seed;
+	private final int productCount;
+	private final int userCount;
+	private final int orderCount;
+
+	public DatasetGenerator(long seed, int scale) {
+		this(seed, scale, Math.max(1, scale / 100), scale / 10);
+	}
+
+	public DatasetGenerator(long seed, int productCount, int userCount, int orderCount) {
+		this.seed = seed;
+		this.productCount = productCount;
+		this.userCount = userCount;
+		this.orderCount = orderCount;
+	}
+
+	public List<Product> products(Category books, Category electronics, Category computers) {
+		List<Product> products = new ArrayList<>(productCount);
+		for (int i = 0; i < productCount; i++) {
+			SplittableRandom random = random(PRODUCT_STREAM, i);
+			long id = FIRST_ID + i;
+			double kind = random.nextDouble();
+			Product product;
+			if (kind < 0.5) {
+				product = product(id, pick(random, BOOKS), price(random, 45.0, 0.5), books);
+			}
+			else if (kind < 0.8) {
+				product = product(id, pick(random, ELECTRONICS), price(random, 800.0, 0.8), electronics);
+				if (random.nextInt(10) == 0) {
+					product.getCategories().add(computers);
+				}
+			}
+			else {
+				product = product(id, pick(random, COMPUTERS), price(random, 2800.0, 0.6), computers);
+			}
+			products.add(product);
+		}
+		return products;
+	}
+
+	public List<User> users(Role client) {
+		List<User> users = new ArrayList<>(userCount);
+		for (int i = 0; i < userCount; i++) {
+			SplittableRandom random = random(USER_STREAM, i);
+			long id = FIRST_ID + i;
+			String name = pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+			LocalDate birthDate = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(50 * 365));
+			User user = new User(id, name, "cliente" + id + "@dscommerce.dev",
+					String.format("9%08d", random.nextInt(100_000_000)), birthDate, PASSWORD);
+			user.addRole(client);
+			users.add(user);
+		}
+		return users;
+	}
+
+	/**
+	 * Pedidos sobre os produtos e clientes gerados por esta mesma instância, na ordem das listas.
+	 */
+	public List<Order> orders(List<Product> products, List<User> users) {
+		List<Order> orders = new ArrayList<>(orderCount);
+		if (products.isEmpty() || users.isEmpty()) {
+			return orders;
+		}
+		for (int i = 0; i < orderCount; i++) {
+			SplittableRandom random = random(ORDER_STREAM, i);
+			long id = FIRST_ID + i;
+			Instant moment = FIRST_ORDER.plusSeconds(random.nextLong(ORDER_WINDOW_SECONDS));
+			OrderStatus status = status(random);
+			Payment payment = (status == OrderStatus.WAITING_PAYMENT || status == OrderStatus.CANCELED) ? null
+					: new Payment(id, moment.plusSeconds(3600 + random.nextLong(47 * 3600)));
+			Order order = new Order(id, moment, status, users.get(skewed(random, users.size(), 3.0)), payment);
+			int items = 1 + (int) (4 * Math.pow(random.nextDouble(), 2));
+			for (int k = 0; k < items; k++) {
+				Product product = products.get(skewed(random, products.size(), 4.0));
+				order.getItems().add(new OrderItem(product, 1 + (int) (3 * Math.pow(random.nextDouble(), 3)), product.getPriceCents()));
+			}
+			orders.add(order);
+		}
+		return orders;
+	}
+
+	private SplittableRandom random(long stream, long index) {
+		return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+	}
+
+	private static Product product(long id, String kind, double price, Category category) {
+		String name = kind + " " + BRANDS[(int) (id % BRANDS.length)] + " " + id;
+		Product product = new Product(id, name, LOREM, price, IMAGES[(int) (id % IMAGES.length)]);
+		product.getCategories().add(category);
+		return product;
+	}
+
+	// log-normal em torno da mediana, arredondado para centavos
+	private static double price(SplittableRandom random, double median, double sigma) {
+		double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+		return Math.max(1.0, Math.round(median * Math.exp(sigma * gaussian) * 100) / 100.0);
+	}
+
+	private static OrderStatus status(SplittableRandom random) {
+		int p = random.nextInt(100);
+		if (p < 40) {
+			return OrderStatus.PAID;
+		}
+		if (p < 75) {
+			return OrderStatus.DELIVERED;
+		}
+		if (p < 85) {
+			return OrderStatus.SHIPPED;
+		}
+		return (p < 95) ? OrderStatus.WAITING_PAYMENT : OrderStatus.CANCELED;
+	}
+
+	// índice em [0, size) concentrado nos primeiros: quanto maior o expoente, mais concentrado
+	private static int skewed(SplittableRandom random, int size, double exponent) {
+		return Math.min(size - 1, (int) (size * Math.pow(random.nextDouble(), exponent)));
+	}
+
+	private static String pick(SplittableRandom random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+}
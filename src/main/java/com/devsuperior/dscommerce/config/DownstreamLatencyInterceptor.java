@@ -0,0 +1,37 @@
+package com.devsuperior.dscommerce.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Simula a espera por um serviço ou banco externo bloqueando a thread da requisição por
+ * {@code dscommerce.simulated-latency-millis} antes do handler (0 = desligado).
+ *
+ * Serve para comparar o pool de threads do Tomcat com virtual threads sob a mesma carga.
+ */
+@Component
+public class DownstreamLatencyInterceptor implements HandlerInterceptor {
+
+	private final long latencyNanos;
+
+	public DownstreamLatencyInterceptor(@Value("${dscommerce.simulated-latency-millis:0}") long latencyMillis) {
+		this.latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+	}
+
+	public boolean isEnabled() {
+		return latencyNanos > 0;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws InterruptedException {
+		TimeUnit.NANOSECONDS.sleep(latencyNanos);
+		return true;
+	}
+}
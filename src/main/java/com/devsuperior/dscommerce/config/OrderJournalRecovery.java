@@ -0,0 +1,70 @@
+package com.devsuperior.dscommerce.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.OrderJournal;
+import com.devsuperior.dscommerce.repositories.OrderRepository;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Recarrega os pedidos do {@link OrderJournal} depois da carga inicial e antes de o servidor aceitar requisições.
+ *
+ * Os pedidos vão para a memória de uma vez, sem passar pelo {@code EntityStore}: o journal é relido a cada
+ * subida, então gravá-los de novo nos segmentos só faria os segmentos (e a compactação) crescerem a cada reinício.
+ */
+@Component
+public class OrderJournalRecovery {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderJournalRecovery.class);
+
+	private final OrderJournal journal;
+	private final OrderRepository orderRepository;
+	private final UserRepository userRepository;
+	private final ProductRepository productRepository;
+
+	// depender do seeder garante que os usuários e produtos já existem
+	public OrderJournalRecovery(DatabaseSeeder seeder, OrderJournal journal, OrderRepository orderRepository,
+			UserRepository userRepository, ProductRepository productRepository) {
+		this.journal = journal;
+		this.orderRepository = orderRepository;
+		this.userRepository = userRepository;
+		this.productRepository = productRepository;
+	}
+
+	@PostConstruct
+	public void recover() {
+		int[] counts = new int[2];
+		List<Order> recovered = new ArrayList<>();
+		journal.replay(entry -> {
+			User client = userRepository.findById(entry.clientId()).orElse(null);
+			Order order = new Order(entry.id(), entry.moment(), OrderStatus.valueOf(entry.status()), client, null);
+			for (OrderJournal.JournalItem item : entry.items()) {
+				Product product = productRepository.findById(item.productId()).orElse(null);
+				if (product == null || client == null) {
+					counts[1]++;
+					return;
+				}
+				order.getItems().add(new OrderItem(product, item.quantity(), item.price()));
+			}
+			recovered.add(order);
+			counts[0]++;
+		});
+		orderRepository.restore(recovered);
+		if (journal.isEnabled()) {
+			logger.info("Recovered {} orders from journal ({} skipped: unknown client or product)", counts[0], counts[1]);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.devsuperior.dscommerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.devsuperior.dscommerce.admission.AdmissionInterceptor;
+import com.devsuperior.dscommerce.metrics.ServerTimingFilter;
+import com.devsuperior.dscommerce.metrics.ServerTimingInterceptor;
+import com.devsuperior.dscommerce.security.AuthInterceptor;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	private final AuthInterceptor authInterceptor;
+	private final DownstreamLatencyInterceptor downstreamLatencyInterceptor;
+	private final ServerTimingFilter serverTimingFilter;
+	private final AdmissionInterceptor admissionInterceptor;
+
+	public WebConfig(AuthInterceptor authInterceptor, DownstreamLatencyInterceptor downstreamLatencyInterceptor,
+			ServerTimingFilter serverTimingFilter, AdmissionInterceptor admissionInterceptor) {
+		this.authInterceptor = authInterceptor;
+		this.downstreamLatencyInterceptor = downstreamLatencyInterceptor;
+		this.serverTimingFilter = serverTimingFilter;
+		this.admissionInterceptor = admissionInterceptor;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		// a ordem de registro é a de execução: auth mede só o AuthInterceptor, o resto (espera simulada inclusa) é app
+		if (serverTimingFilter.isEnabled()) {
+			registry.addInterceptor(ServerTimingInterceptor.authStart()).excludePathPatterns("/oauth2/**");
+		}
+		registry.addInterceptor(authInterceptor).excludePathPatterns("/oauth2/**");
+		if (serverTimingFilter.isEnabled()) {
+			registry.addInterceptor(ServerTimingInterceptor.handlerStart());
+		}
+		if (admissionInterceptor.isEnabled()) {
+			registry.addInterceptor(admissionInterceptor).addPathPatterns("/orders", "/oauth2/token");
+		}
+		if (downstreamLatencyInterceptor.isEnabled()) {
+			registry.addInterceptor(downstreamLatencyInterceptor).addPathPatterns("/products/**", "/orders/**");
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.devsuperior.dscommerce.controllers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscommerce.security.AuthorizationServer;
+import com.devsuperior.dscommerce.security.TokenService;
+
+@RestController
+@RequestMapping(value = "/oauth2")
+public class AuthorizationController {
+
+	private final AuthorizationServer authorizationServer;
+
+	public AuthorizationController(AuthorizationServer authorizationServer) {
+		this.authorizationServer = authorizationServer;
+	}
+
+	@PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+	public ResponseEntity<Map<String, Object>> token(
+			@RequestHeader(name = "Authorization", required = false) String authorization,
+			@RequestParam(name = "grant_type", required = false) String grantType,
+			@RequestParam(name = "username", required = false) String username,
+			@RequestParam(name = "password", required = false) String password) {
+		TokenService.IssuedToken token = authorizationServer.passwordGrant(authorization, grantType, username, password);
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("access_token", token.value());
+		body.put("token_type", "Bearer");
+		body.put("expires_in", token.expiresIn());
+		return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body);
+	}
+}
@@ -0,0 +1,37 @@
+package com.devsuperior.dscommerce.controllers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.devsuperior.dscommerce.services.ResponseCache.CachedResponse;
+
+/**
+ * Resposta HTTP para um corpo do {@link com.devsuperior.dscommerce.services.ResponseCache}:
+ * 304 sem corpo quando o {@code If-None-Match} já bate com o ETag, senão 200 com os bytes guardados.
+ * O formato depende do {@code Accept}, daí o {@code Vary}.
+ */
+final class CachedResponses {
+
+	static final String X_CACHE = "X-Cache";
+
+	private CachedResponses() {
+	}
+
+	static ResponseEntity<byte[]> toResponseEntity(CachedResponse response, String ifNoneMatch) {
+		String cacheStatus = response.hit() ? "HIT" : "MISS";
+		if (response.matches(ifNoneMatch)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.eTag(response.etag())
+					.header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+					.header(X_CACHE, cacheStatus)
+					.build();
+		}
+		return ResponseEntity.ok()
+				.contentType(response.contentType())
+				.eTag(response.etag())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+				.header(X_CACHE, cacheStatus)
+				.body(response.body());
+	}
+}
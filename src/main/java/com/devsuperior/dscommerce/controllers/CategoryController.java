@@ -0,0 +1,29 @@
+package com.devsuperior.dscommerce.controllers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscommerce.services.CategoryService;
+import com.devsuperior.dscommerce.services.ResponseCache.CachedResponse;
+
+@RestController
+@RequestMapping(value = "/categories")
+public class CategoryController {
+
+	private final CategoryService service;
+
+	public CategoryController(CategoryService service) {
+		this.service = service;
+	}
+
+	@GetMapping
+	public ResponseEntity<byte[]> findAll(
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		CachedResponse response = service.findAllResponse();
+		return CachedResponses.toResponseEntity(response, ifNoneMatch);
+	}
+}
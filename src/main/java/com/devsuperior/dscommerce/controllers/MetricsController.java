@@ -0,0 +1,30 @@
+package com.devsuperior.dscommerce.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscommerce.dto.RouteMetricsDTO;
+import com.devsuperior.dscommerce.metrics.RequestMetrics;
+import com.devsuperior.dscommerce.security.RequiresRole;
+
+@RestController
+@RequestMapping(value = "/metrics")
+public class MetricsController {
+
+	private final RequestMetrics metrics;
+
+	public MetricsController(RequestMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@RequiresRole("ROLE_ADMIN")
+	@GetMapping
+	public ResponseEntity<List<RouteMetricsDTO>> findAll() {
+		List<RouteMetricsDTO> dto = metrics.routes().stream().map(RouteMetricsDTO::new).toList();
+		return ResponseEntity.ok(dto);
+	}
+}
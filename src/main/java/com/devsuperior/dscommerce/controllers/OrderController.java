@@ -0,0 +1,70 @@
+package com.devsuperior.dscommerce.controllers;
+
+import java.net.URI;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.security.RequiresRole;
+import com.devsuperior.dscommerce.services.NdjsonWriter;
+import com.devsuperior.dscommerce.services.OrderService;
+import com.devsuperior.dscommerce.services.Representation;
+import com.devsuperior.dscommerce.services.ResponseRenderer;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping(value = "/orders")
+public class OrderController {
+
+	private final OrderService service;
+	private final ResponseRenderer renderer;
+
+	public OrderController(OrderService service, ResponseRenderer renderer) {
+		this.service = service;
+		this.renderer = renderer;
+	}
+
+	@RequiresRole({ "ROLE_ADMIN", "ROLE_CLIENT" })
+	@GetMapping(value = "/{id}")
+	public ResponseEntity<byte[]> findById(@PathVariable Long id,
+			@RequestParam(name = "fields", required = false) String fields,
+			@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+		OrderDTO dto = service.findById(id);
+		Representation representation = Representation.of(accept, fields);
+		return ResponseEntity.ok()
+				.contentType(representation.format().mediaType())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+				.body(renderer.render(dto, representation));
+	}
+
+	@RequiresRole("ROLE_ADMIN")
+	@GetMapping(value = "/export", produces = NdjsonWriter.MEDIA_TYPE)
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam(name = "status", required = false) OrderStatus status) {
+		StreamingResponseBody body = out -> service.export(status, out);
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE)).body(body);
+	}
+
+	@RequiresRole("ROLE_CLIENT")
+	@PostMapping
+	public ResponseEntity<OrderDTO> insert(@Valid @RequestBody OrderDTO dto) {
+		dto = service.insert(dto);
+		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+				.buildAndExpand(dto.getId()).toUri();
+		return ResponseEntity.created(uri).body(dto);
+	}
+}
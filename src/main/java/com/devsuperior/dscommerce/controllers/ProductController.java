@@ -0,0 +1,113 @@
+package com.devsuperior.dscommerce.controllers;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.devsuperior.dscommerce.dto.BatchResultDTO;
+import com.devsuperior.dscommerce.dto.PageDTO;
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.dto.ProductMinDTO;
+import com.devsuperior.dscommerce.repositories.PageQuery;
+import com.devsuperior.dscommerce.repositories.ProductFilter;
+import com.devsuperior.dscommerce.security.RequiresRole;
+import com.devsuperior.dscommerce.services.NdjsonWriter;
+import com.devsuperior.dscommerce.services.ProductService;
+import com.devsuperior.dscommerce.services.Representation;
+import com.devsuperior.dscommerce.services.ResponseCache.CachedResponse;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping(value = "/products")
+public class ProductController {
+
+	private final ProductService service;
+
+	public ProductController(ProductService service) {
+		this.service = service;
+	}
+
+	@GetMapping(value = "/{id}")
+	public ResponseEntity<byte[]> findById(@PathVariable Long id,
+			@RequestParam(name = "fields", required = false) String fields,
+			@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		CachedResponse response = service.findByIdResponse(id, Representation.of(accept, fields));
+		return CachedResponses.toResponseEntity(response, ifNoneMatch);
+	}
+
+	@GetMapping
+	public ResponseEntity<PageDTO<ProductMinDTO>> findAll(
+			@RequestParam(name = "name", defaultValue = "") String name,
+			@RequestParam(name = "minPrice", required = false) Double minPrice,
+			@RequestParam(name = "maxPrice", required = false) Double maxPrice,
+			@RequestParam(name = "categoryId", required = false) Long categoryId,
+			@RequestParam(name = "page", defaultValue = "0") int page,
+			@RequestParam(name = "size", defaultValue = "20") int size,
+			@RequestParam(name = "sort", required = false) String sort) {
+		ProductFilter filter = new ProductFilter(name, minPrice, maxPrice, categoryId);
+		PageDTO<ProductMinDTO> dto = service.findAll(filter, PageQuery.of(page, size, sort));
+		return ResponseEntity.ok(dto);
+	}
+
+	@GetMapping(value = "/export", produces = NdjsonWriter.MEDIA_TYPE)
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam(name = "minPrice", required = false) Double minPrice,
+			@RequestParam(name = "category", required = false) Long category) {
+		StreamingResponseBody body = out -> service.export(minPrice, category, out);
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE)).body(body);
+	}
+
+	@RequiresRole("ROLE_ADMIN")
+	@PostMapping
+	public ResponseEntity<ProductDTO> insert(@Valid @RequestBody ProductDTO dto) {
+		dto = service.insert(dto);
+		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+				.buildAndExpand(dto.getId()).toUri();
+		return ResponseEntity.created(uri).body(dto);
+	}
+
+	@RequiresRole("ROLE_ADMIN")
+	@PostMapping(value = "/batch")
+	public ResponseEntity<BatchResultDTO> insertAll(@RequestBody List<ProductDTO> dtos) {
+		BatchResultDTO result = service.insertAll(dtos);
+		return ResponseEntity.ok(result);
+	}
+
+	@RequiresRole("ROLE_ADMIN")
+	@DeleteMapping(value = "/batch")
+	public ResponseEntity<BatchResultDTO> deleteAll(@RequestBody List<Long> ids) {
+		BatchResultDTO result = service.deleteAll(ids);
+		return ResponseEntity.ok(result);
+	}
+
+	@RequiresRole("ROLE_ADMIN")
+	@PutMapping(value = "/{id}")
+	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody ProductDTO dto) {
+		dto = service.update(id, dto);
+		return ResponseEntity.ok(dto);
+	}
+
+	@RequiresRole("ROLE_ADMIN")
+	@DeleteMapping(value = "/{id}")
+	public ResponseEntity<Void> delete(@PathVariable Long id) {
+		service.delete(id);
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,30 @@
+package com.devsuperior.dscommerce.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscommerce.security.RequiresRole;
+import com.devsuperior.dscommerce.services.ResetService;
+
+@RestController
+@RequestMapping(value = "/test")
+public class ResetController {
+
+	private final ResetService service;
+
+	public ResetController(ResetService service) {
+		this.service = service;
+	}
+
+	@RequiresRole("ROLE_ADMIN")
+	@PostMapping(value = "/reset")
+	public ResponseEntity<Void> reset(@RequestParam(name = "resources", required = false) List<String> resources) {
+		service.reset(resources);
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,28 @@
+package com.devsuperior.dscommerce.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscommerce.dto.UserDTO;
+import com.devsuperior.dscommerce.security.RequiresRole;
+import com.devsuperior.dscommerce.services.UserService;
+
+@RestController
+@RequestMapping(value = "/users")
+public class UserController {
+
+	private final UserService service;
+
+	public UserController(UserService service) {
+		this.service = service;
+	}
+
+	@RequiresRole({ "ROLE_ADMIN", "ROLE_CLIENT" })
+	@GetMapping(value = "/me")
+	public ResponseEntity<UserDTO> getMe() {
+		UserDTO dto = service.getMe();
+		return ResponseEntity.ok(dto);
+	}
+}
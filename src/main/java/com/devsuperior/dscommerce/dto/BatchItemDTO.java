@@ -0,0 +1,62 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de um item de uma operação em lote, com o status HTTP que ele teria sozinho.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BatchItemDTO {
+
+	private int index;
+	private Long id;
+	private int status;
+	private String error;
+	private List<FieldMessage> errors = new ArrayList<>();
+
+	public BatchItemDTO(int index, Long id, int status, String error) {
+		this.index = index;
+		this.id = id;
+		this.status = status;
+		this.error = error;
+	}
+
+	@JsonInclude(JsonInclude.Include.ALWAYS)
+	public int getIndex() {
+		return index;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public List<FieldMessage> getErrors() {
+		return errors;
+	}
+
+	public void addError(String fieldName, String message) {
+		errors.removeIf(x -> x.getFieldName().equals(fieldName));
+		errors.add(new FieldMessage(fieldName, message));
+	}
+
+	public void setResult(Long id, int status, String error) {
+		this.id = id;
+		this.status = status;
+		this.error = error;
+	}
+
+	boolean succeeded() {
+		return status >= 200 && status < 300;
+	}
+}
@@ -0,0 +1,37 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.List;
+
+/**
+ * Resposta de uma operação em lote: um resultado por item, na ordem do pedido.
+ */
+public class BatchResultDTO {
+
+	private List<BatchItemDTO> results;
+	private int succeeded;
+	private int failed;
+
+	public BatchResultDTO(List<BatchItemDTO> results) {
+		this.results = results;
+		for (BatchItemDTO item : results) {
+			if (item.succeeded()) {
+				succeeded++;
+			}
+			else {
+				failed++;
+			}
+		}
+	}
+
+	public List<BatchItemDTO> getResults() {
+		return results;
+	}
+
+	public int getSucceeded() {
+		return succeeded;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+}
@@ -0,0 +1,81 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.devsuperior.dscommerce.entities.Money;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+public class OrderDTO {
+
+	private Long id;
+	private Instant moment;
+	private OrderStatus status;
+
+	private ClientDTO client;
+
+	private PaymentDTO payment;
+
+	@NotEmpty(message = "Deve ter pelo menos um item")
+	private List<@Valid OrderItemDTO> items = new ArrayList<>();
+
+	public OrderDTO() {
+	}
+
+	public OrderDTO(Long id, Instant moment, OrderStatus status, ClientDTO client, PaymentDTO payment) {
+		this.id = id;
+		this.moment = moment;
+		this.status = status;
+		this.client = client;
+		this.payment = payment;
+	}
+
+	public OrderDTO(Order entity) {
+		id = entity.getId();
+		moment = entity.getMoment();
+		status = entity.getStatus();
+		client = new ClientDTO(entity.getClient());
+		payment = (entity.getPayment() == null) ? null : new PaymentDTO(entity.getPayment());
+		for (OrderItem item : entity.getItems()) {
+			items.add(new OrderItemDTO(item));
+		}
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Instant getMoment() {
+		return moment;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public ClientDTO getClient() {
+		return client;
+	}
+
+	public PaymentDTO getPayment() {
+		return payment;
+	}
+
+	public List<OrderItemDTO> getItems() {
+		return items;
+	}
+
+	public Double getTotal() {
+		long sum = 0;
+		for (int i = 0; i < items.size(); i++) {
+			sum += items.get(i).subTotalCents();
+		}
+		return Money.amount(sum);
+	}
+}
@@ -0,0 +1,65 @@
+package com.devsuperior.dscommerce.dto;
+
+import com.devsuperior.dscommerce.entities.Money;
+import com.devsuperior.dscommerce.entities.OrderItem;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class OrderItemDTO {
+
+	private Long productId;
+	private String name;
+	private Double price;
+	@NotNull(message = "Campo requerido")
+	@Positive(message = "A quantidade deve ser positiva")
+	private Integer quantity;
+	private String imgUrl;
+
+	public OrderItemDTO() {
+	}
+
+	public OrderItemDTO(Long productId, String name, Double price, Integer quantity, String imgUrl) {
+		this.productId = productId;
+		this.name = name;
+		this.price = price;
+		this.quantity = quantity;
+		this.imgUrl = imgUrl;
+	}
+
+	public OrderItemDTO(OrderItem entity) {
+		productId = entity.getProduct().getId();
+		name = entity.getProduct().getName();
+		price = entity.getPrice();
+		quantity = entity.getQuantity();
+		imgUrl = entity.getProduct().getImgUrl();
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Double getPrice() {
+		return price;
+	}
+
+	public Integer getQuantity() {
+		return quantity;
+	}
+
+	public String getImgUrl() {
+		return imgUrl;
+	}
+
+	public Double getSubTotal() {
+		return Money.amount(subTotalCents());
+	}
+
+	long subTotalCents() {
+		return Money.cents(price) * quantity;
+	}
+}
@@ -0,0 +1,107 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+public class ProductDTO {
+
+	private Long id;
+
+	@Size(min = 3, max = 80, message = "Nome precisar ter de 3 a 80 caracteres")
+	@NotBlank(message = "Campo requerido")
+	private String name;
+
+	@Size(min = 10, message = "Descrição precisa ter no mínimo 10 caracteres")
+	@NotBlank(message = "Campo requerido")
+	private String description;
+
+	@NotNull(message = "Campo requerido")
+	@Positive(message = "O preço deve ser positivo")
+	private Double price;
+
+	private String imgUrl;
+
+	// opcional: sem estoque, o produto não tem limite de unidades por pedido
+	@PositiveOrZero(message = "O estoque não pode ser negativo")
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Integer stock;
+
+	// só no PUT: o estoque que o cliente leu; sem ele, o PUT só define estoque de produto que ainda não controla
+	@PositiveOrZero(message = "O estoque não pode ser negativo")
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+	private Integer expectedStock;
+
+	@NotEmpty(message = "Deve ter pelo menos uma categoria")
+	private List<CategoryDTO> categories = new ArrayList<>();
+
+	public ProductDTO() {
+	}
+
+	public ProductDTO(Long id, String name, String description, Double price, String imgUrl) {
+		this.id = id;
+		this.name = name;
+		this.description = description;
+		this.price = price;
+		this.imgUrl = imgUrl;
+	}
+
+	public ProductDTO(Product entity) {
+		id = entity.getId();
+		name = entity.getName();
+		description = entity.getDescription();
+		price = entity.getPrice();
+		imgUrl = entity.getImgUrl();
+		for (Category cat : entity.getCategories()) {
+			categories.add(new CategoryDTO(cat));
+		}
+	}
+
+	public ProductDTO(Product entity, Integer stock) {
+		this(entity);
+		this.stock = stock;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public Double getPrice() {
+		return price;
+	}
+
+	public String getImgUrl() {
+		return imgUrl;
+	}
+
+	public Integer getStock() {
+		return stock;
+	}
+
+	public Integer getExpectedStock() {
+		return expectedStock;
+	}
+
+	public List<CategoryDTO> getCategories() {
+		return categories;
+	}
+}
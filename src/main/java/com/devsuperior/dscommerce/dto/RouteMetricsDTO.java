@@ -0,0 +1,58 @@
+package com.devsuperior.dscommerce.dto;
+
+import com.devsuperior.dscommerce.metrics.RouteMetrics;
+
+public class RouteMetricsDTO {
+
+	private String route;
+	private long count;
+	private long clientErrors;
+	private long serverErrors;
+	private TimerDTO total;
+	private TimerDTO auth;
+	private TimerDTO app;
+	private TimerDTO ser;
+
+	public RouteMetricsDTO(RouteMetrics metrics) {
+		route = metrics.getRoute();
+		count = metrics.getCount();
+		clientErrors = metrics.getClientErrors();
+		serverErrors = metrics.getServerErrors();
+		total = new TimerDTO(metrics.getTotal());
+		auth = new TimerDTO(metrics.getAuth());
+		app = new TimerDTO(metrics.getApp());
+		ser = new TimerDTO(metrics.getSer());
+	}
+
+	public String getRoute() {
+		return route;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getClientErrors() {
+		return clientErrors;
+	}
+
+	public long getServerErrors() {
+		return serverErrors;
+	}
+
+	public TimerDTO getTotal() {
+		return total;
+	}
+
+	public TimerDTO getAuth() {
+		return auth;
+	}
+
+	public TimerDTO getApp() {
+		return app;
+	}
+
+	public TimerDTO getSer() {
+		return ser;
+	}
+}
@@ -0,0 +1,43 @@
+package com.devsuperior.dscommerce.dto;
+
+import com.devsuperior.dscommerce.metrics.Histogram;
+
+/**
+ * Resumo de um histograma de tempos, em milissegundos.
+ */
+public class TimerDTO {
+
+	private double p50;
+	private double p95;
+	private double p99;
+	private double max;
+	private double mean;
+
+	public TimerDTO(Histogram histogram) {
+		p50 = histogram.percentile(50) / 1000.0;
+		p95 = histogram.percentile(95) / 1000.0;
+		p99 = histogram.percentile(99) / 1000.0;
+		max = histogram.max() / 1000.0;
+		mean = histogram.mean() / 1000.0;
+	}
+
+	public double getP50() {
+		return p50;
+	}
+
+	public double getP95() {
+		return p95;
+	}
+
+	public double getP99() {
+		return p99;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+}
@@ -0,0 +1,19 @@
+package com.devsuperior.dscommerce.entities;
+
+/**
+ * Valores monetários em centavos ({@code long}): os preços da API continuam {@code Double} com duas
+ * casas, mas subtotais e totais são somados em inteiros, sem erro de arredondamento nem objetos por item.
+ */
+public final class Money {
+
+	private Money() {
+	}
+
+	public static long cents(double amount) {
+		return Math.round(amount * 100);
+	}
+
+	public static double amount(long cents) {
+		return cents / 100.0;
+	}
+}
@@ -0,0 +1,83 @@
+package com.devsuperior.dscommerce.entities;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class Order {
+
+	private Long id;
+	private Instant moment;
+	private OrderStatus status;
+	private User client;
+	private Payment payment;
+
+	private List<OrderItem> items = new ArrayList<>();
+
+	public Order() {
+	}
+
+	public Order(Long id, Instant moment, OrderStatus status, User client, Payment payment) {
+		this.id = id;
+		this.moment = moment;
+		this.status = status;
+		this.client = client;
+		this.payment = payment;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Instant getMoment() {
+		return moment;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public User getClient() {
+		return client;
+	}
+
+	public Payment getPayment() {
+		return payment;
+	}
+
+	public List<OrderItem> getItems() {
+		return items;
+	}
+
+	public double getTotal() {
+		return Money.amount(getTotalCents());
+	}
+
+	public long getTotalCents() {
+		long sum = 0;
+		for (int i = 0; i < items.size(); i++) {
+			sum += items.get(i).getSubTotalCents();
+		}
+		return sum;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		Order other = (Order) obj;
+		return Objects.equals(id, other.id);
+	}
+}
@@ -0,0 +1,48 @@
+package com.devsuperior.dscommerce.entities;
+
+/**
+ * Preço guardado em centavos; {@link #getPrice()} devolve o valor em reais para a API.
+ */
+public class OrderItem {
+
+	private Product product;
+	private int quantity;
+	private long priceCents;
+
+	public OrderItem() {
+	}
+
+	public OrderItem(Product product, Integer quantity, Double price) {
+		this(product, quantity, Money.cents(price));
+	}
+
+	public OrderItem(Product product, int quantity, long priceCents) {
+		this.product = product;
+		this.quantity = quantity;
+		this.priceCents = priceCents;
+	}
+
+	public Product getProduct() {
+		return product;
+	}
+
+	public Integer getQuantity() {
+		return quantity;
+	}
+
+	public Double getPrice() {
+		return Money.amount(priceCents);
+	}
+
+	public long getPriceCents() {
+		return priceCents;
+	}
+
+	public long getSubTotalCents() {
+		return priceCents * quantity;
+	}
+
+	public double getSubTotal() {
+		return Money.amount(getSubTotalCents());
+	}
+}
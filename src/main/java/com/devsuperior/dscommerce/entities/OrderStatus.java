@@ -0,0 +1,5 @@
+package com.devsuperior.dscommerce.entities;
+
+public enum OrderStatus {
+	WAITING_PAYMENT, PAID, SHIPPED, DELIVERED, CANCELED;
+}
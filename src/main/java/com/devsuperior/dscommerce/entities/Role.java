@@ -0,0 +1,40 @@
+package com.devsuperior.dscommerce.entities;
+
+import java.util.Objects;
+
+public class Role {
+
+	private Long id;
+	private String authority;
+
+	public Role() {
+	}
+
+	public Role(Long id, String authority) {
+		this.id = id;
+		this.authority = authority;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getAuthority() {
+		return authority;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(authority);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		Role other = (Role) obj;
+		return Objects.equals(authority, other.authority);
+	}
+}
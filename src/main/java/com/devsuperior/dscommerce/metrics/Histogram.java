@@ -0,0 +1,82 @@
+package com.devsuperior.dscommerce.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de durações em microssegundos no estilo HDR: faixas em potências de 2, cada uma
+ * dividida em 64 sub-faixas lineares, com erro relativo abaixo de 1,6%.
+ *
+ * {@link #record(long)} não usa lock nem aloca: um incremento atômico no contador da faixa.
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+	private static final int BUCKET_COUNT = 64 - SUB_BUCKET_BITS + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray((BUCKET_COUNT + 1) * SUB_BUCKET_HALF_COUNT);
+	private final LongAdder total = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long micros) {
+		long value = Math.max(0L, micros);
+		counts.incrementAndGet(indexOf(value));
+		total.increment();
+		sum.add(value);
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	public long count() {
+		return total.sum();
+	}
+
+	public long max() {
+		return max.get();
+	}
+
+	public double mean() {
+		long n = total.sum();
+		return (n == 0) ? 0.0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * Valor no percentil informado (0 a 100), ou 0 se nada foi gravado.
+	 */
+	public long percentile(double percentile) {
+		long n = total.sum();
+		if (n == 0) {
+			return 0L;
+		}
+		long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * n));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestEquivalentValue(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	private static int indexOf(long value) {
+		int bucket = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1));
+		int subBucket = (int) (value >>> bucket);
+		return bucket * SUB_BUCKET_HALF_COUNT + subBucket;
+	}
+
+	private static long highestEquivalentValue(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int bucket = index / SUB_BUCKET_HALF_COUNT - 1;
+		long subBucket = index - (long) bucket * SUB_BUCKET_HALF_COUNT;
+		return ((subBucket + 1) << bucket) - 1;
+	}
+}
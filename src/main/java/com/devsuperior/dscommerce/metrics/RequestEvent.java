@@ -0,0 +1,34 @@
+package com.devsuperior.dscommerce.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder com a duração de cada requisição, na thread que a atendeu.
+ * Amostras de CPU e de alocação dessa thread dentro do intervalo pertencem à rota (e ao teste,
+ * quando a requisição traz o cabeçalho {@link #TEST_HEADER}).
+ *
+ * Sem uma gravação ativa, {@link #shouldCommit()} é falso e nada é preenchido.
+ */
+@Name("dscommerce.Request")
+@Label("HTTP Request")
+@Category("DSCommerce")
+@StackTrace(false)
+class RequestEvent extends Event {
+
+	static final String TEST_HEADER = "X-Test-Name";
+
+	@Label("Route")
+	String route;
+
+	@Label("Status")
+	int status;
+
+	@Label("Test")
+	@Description("Classe e método do teste que fez a requisição")
+	String test;
+}
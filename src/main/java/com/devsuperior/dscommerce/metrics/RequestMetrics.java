@@ -0,0 +1,67 @@
+package com.devsuperior.dscommerce.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro das {@link RouteMetrics} por rota: método HTTP e o padrão do mapeamento
+ * ({@code GET /orders/{id}}), não o caminho da requisição, para não criar uma rota por id.
+ *
+ * A busca é feita pelo padrão (uma {@code String} que o Spring já guarda na requisição) e pelo
+ * índice do método, sem montar a chave a cada chamada.
+ */
+@Component
+public class RequestMetrics {
+
+	static final String UNMATCHED = "unmatched";
+
+	private static final String[] METHODS = { "GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS", "OTHER" };
+
+	private final ConcurrentHashMap<String, AtomicReferenceArray<RouteMetrics>> routes = new ConcurrentHashMap<>();
+
+	RouteMetrics route(String method, String pattern) {
+		String key = (pattern != null) ? pattern : UNMATCHED;
+		AtomicReferenceArray<RouteMetrics> byMethod = routes.get(key);
+		if (byMethod == null) {
+			byMethod = routes.computeIfAbsent(key, k -> new AtomicReferenceArray<>(METHODS.length));
+		}
+		int index = methodIndex(method);
+		RouteMetrics metrics = byMethod.get(index);
+		if (metrics == null) {
+			byMethod.compareAndSet(index, null, new RouteMetrics(METHODS[index] + " " + key));
+			metrics = byMethod.get(index);
+		}
+		return metrics;
+	}
+
+	/**
+	 * Rotas com ao menos uma requisição, em ordem alfabética.
+	 */
+	public List<RouteMetrics> routes() {
+		List<RouteMetrics> result = new ArrayList<>();
+		for (AtomicReferenceArray<RouteMetrics> byMethod : routes.values()) {
+			for (int i = 0; i < byMethod.length(); i++) {
+				RouteMetrics metrics = byMethod.get(i);
+				if (metrics != null) {
+					result.add(metrics);
+				}
+			}
+		}
+		result.sort(Comparator.comparing(RouteMetrics::getRoute));
+		return result;
+	}
+
+	private static int methodIndex(String method) {
+		for (int i = 0; i < METHODS.length - 1; i++) {
+			if (METHODS[i].equals(method)) {
+				return i;
+			}
+		}
+		return METHODS.length - 1;
+	}
+}
@@ -0,0 +1,111 @@
+package com.devsuperior.dscommerce.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Marcas de tempo de uma requisição, preenchidas pelo {@link ServerTimingFilter}, pelo
+ * {@link ServerTimingInterceptor} e pelo {@link ServerTimingAdvice}. Fases:
+ * <ul>
+ * <li>{@code auth}: leitura e validação do token ({@link com.devsuperior.dscommerce.security.AuthInterceptor});</li>
+ * <li>{@code app}: o handler (busca nos repositórios e regras de negócio), até o corpo ir para o conversor;</li>
+ * <li>{@code ser}: serialização e escrita do corpo;</li>
+ * <li>{@code total}: do filtro até o fim (no cabeçalho, até o momento em que ele é enviado).</li>
+ * </ul>
+ */
+public final class RequestTiming {
+
+	static final String ATTRIBUTE = RequestTiming.class.getName();
+
+	private final long start;
+	private long authStart;
+	private long handlerStart;
+	private long bodyStart;
+	private long end;
+
+	RequestTiming(long start) {
+		this.start = start;
+	}
+
+	static RequestTiming of(HttpServletRequest request) {
+		Object timing = request.getAttribute(ATTRIBUTE);
+		return (timing instanceof RequestTiming t) ? t : null;
+	}
+
+	void markAuthStart() {
+		if (authStart == 0) {
+			authStart = System.nanoTime();
+		}
+	}
+
+	void markHandlerStart() {
+		if (handlerStart == 0) {
+			handlerStart = System.nanoTime();
+		}
+	}
+
+	void markBodyStart() {
+		if (bodyStart == 0) {
+			bodyStart = System.nanoTime();
+		}
+	}
+
+	void markEnd() {
+		end = System.nanoTime();
+	}
+
+	long totalMicros() {
+		return micros(start, now());
+	}
+
+	long authMicros() {
+		if (authStart == 0) {
+			return 0;
+		}
+		long authEnd = (handlerStart != 0) ? handlerStart : (bodyStart != 0) ? bodyStart : now();
+		return micros(authStart, authEnd);
+	}
+
+	long appMicros() {
+		if (handlerStart == 0) {
+			return 0;
+		}
+		return micros(handlerStart, (bodyStart != 0) ? bodyStart : now());
+	}
+
+	long serMicros() {
+		return (bodyStart == 0) ? 0 : micros(bodyStart, now());
+	}
+
+	/**
+	 * Valor do cabeçalho {@code Server-Timing}, em milissegundos.
+	 */
+	String header() {
+		StringBuilder sb = new StringBuilder(80);
+		appendPhase(sb, "auth", authMicros()).append(", ");
+		appendPhase(sb, "app", appMicros()).append(", ");
+		appendPhase(sb, "ser", serMicros()).append(", ");
+		return appendPhase(sb, "total", totalMicros()).toString();
+	}
+
+	// micros como milissegundos com três casas, sem passar por double nem String.format
+	private static StringBuilder appendPhase(StringBuilder sb, String name, long micros) {
+		long fraction = micros % 1000;
+		sb.append(name).append(";dur=").append(micros / 1000).append('.');
+		if (fraction < 100) {
+			sb.append('0');
+		}
+		if (fraction < 10) {
+			sb.append('0');
+		}
+		return sb.append(fraction);
+	}
+
+	// antes de markEnd, as fases em aberto vão até agora
+	private long now() {
+		return (end != 0) ? end : System.nanoTime();
+	}
+
+	private static long micros(long from, long to) {
+		return Math.max(0, (to - from) / 1000);
+	}
+}
@@ -0,0 +1,67 @@
+package com.devsuperior.dscommerce.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores e histogramas de uma rota ({@code GET /orders/{id}}): tempo total no servidor e
+ * cada fase do {@link RequestTiming}.
+ */
+public class RouteMetrics {
+
+	private final String route;
+	private final LongAdder clientErrors = new LongAdder();
+	private final LongAdder serverErrors = new LongAdder();
+	private final Histogram total = new Histogram();
+	private final Histogram auth = new Histogram();
+	private final Histogram app = new Histogram();
+	private final Histogram ser = new Histogram();
+
+	RouteMetrics(String route) {
+		this.route = route;
+	}
+
+	void record(RequestTiming timing, int status) {
+		total.record(timing.totalMicros());
+		auth.record(timing.authMicros());
+		app.record(timing.appMicros());
+		ser.record(timing.serMicros());
+		if (status >= 500) {
+			serverErrors.increment();
+		}
+		else if (status >= 400) {
+			clientErrors.increment();
+		}
+	}
+
+	public String getRoute() {
+		return route;
+	}
+
+	public long getCount() {
+		return total.count();
+	}
+
+	public long getClientErrors() {
+		return clientErrors.sum();
+	}
+
+	public long getServerErrors() {
+		return serverErrors.sum();
+	}
+
+	public Histogram getTotal() {
+		return total;
+	}
+
+	public Histogram getAuth() {
+		return auth;
+	}
+
+	public Histogram getApp() {
+		return app;
+	}
+
+	public Histogram getSer() {
+		return ser;
+	}
+}
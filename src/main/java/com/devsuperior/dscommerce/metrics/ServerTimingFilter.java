@@ -0,0 +1,213 @@
+package com.devsuperior.dscommerce.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Mede cada requisição, grava nas {@link RouteMetrics} da rota e devolve as fases no cabeçalho
+ * {@code Server-Timing} (desligado com {@code dscommerce.metrics.enabled=false}).
+ *
+ * O cabeçalho precisa sair antes do primeiro byte do corpo, então é montado na primeira escrita
+ * (ou no fim, para respostas sem corpo): nele, {@code ser} cobre a serialização até ali, o que para
+ * corpos que cabem no buffer do conversor é a serialização inteira. As métricas usam o tempo até o fim.
+ *
+ * Com uma gravação do Flight Recorder ativa, cada requisição também vira um {@link RequestEvent}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+	public static final String HEADER = "Server-Timing";
+
+	private final RequestMetrics metrics;
+	private final boolean enabled;
+
+	public ServerTimingFilter(RequestMetrics metrics, @Value("${dscommerce.metrics.enabled:true}") boolean enabled) {
+		this.metrics = metrics;
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		RequestEvent event = new RequestEvent();
+		event.begin();
+		RequestTiming timing = new RequestTiming(System.nanoTime());
+		request.setAttribute(RequestTiming.ATTRIBUTE, timing);
+		TimingResponse timed = new TimingResponse(response, timing);
+		boolean failed = true;
+		try {
+			chain.doFilter(request, timed);
+			failed = false;
+		}
+		finally {
+			timed.sendHeader();
+			if (!failed && request.isAsyncStarted()) {
+				// exportações NDJSON: o corpo continua sendo escrito depois que o filtro retorna
+				request.getAsyncContext().addListener(new RecordOnComplete(request, timed, event));
+			}
+			else {
+				record(request, timing, failed ? 500 : timed.getStatus(), event);
+			}
+		}
+	}
+
+	private void record(HttpServletRequest request, RequestTiming timing, int status, RequestEvent event) {
+		timing.markEnd();
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		RouteMetrics route = metrics.route(request.getMethod(), (pattern instanceof String s) ? s : null);
+		route.record(timing, status);
+		event.end();
+		if (event.shouldCommit()) {
+			event.route = route.getRoute();
+			event.status = status;
+			event.test = request.getHeader(RequestEvent.TEST_HEADER);
+			event.commit();
+		}
+	}
+
+	private final class RecordOnComplete implements AsyncListener {
+
+		private final HttpServletRequest request;
+		private final TimingResponse response;
+		private final RequestEvent requestEvent;
+
+		RecordOnComplete(HttpServletRequest request, TimingResponse response, RequestEvent requestEvent) {
+			this.request = request;
+			this.response = response;
+			this.requestEvent = requestEvent;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			record(request, response.timing, response.getStatus(), requestEvent);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+
+	/**
+	 * Resposta que escreve o {@code Server-Timing} logo antes do primeiro byte do corpo.
+	 */
+	private static final class TimingResponse extends HttpServletResponseWrapper {
+
+		private final RequestTiming timing;
+		private boolean headerSent;
+		private ServletOutputStream outputStream;
+
+		TimingResponse(HttpServletResponse response, RequestTiming timing) {
+			super(response);
+			this.timing = timing;
+		}
+
+		void sendHeader() {
+			if (!headerSent) {
+				headerSent = true;
+				if (!isCommitted()) {
+					setHeader(HEADER, timing.header());
+				}
+			}
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (outputStream == null) {
+				outputStream = new TimingOutputStream(super.getOutputStream(), this);
+			}
+			return outputStream;
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			sendHeader();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			sendHeader();
+			super.flushBuffer();
+		}
+	}
+
+	private static final class TimingOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream delegate;
+		private final TimingResponse response;
+
+		TimingOutputStream(ServletOutputStream delegate, TimingResponse response) {
+			this.delegate = delegate;
+			this.response = response;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			response.sendHeader();
+			delegate.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			response.sendHeader();
+			delegate.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			response.sendHeader();
+			delegate.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			response.sendHeader();
+			delegate.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			delegate.setWriteListener(writeListener);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.devsuperior.dscommerce.metrics;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Marca o início de uma fase do {@link RequestTiming}. Registrado duas vezes no
+ * {@link com.devsuperior.dscommerce.config.WebConfig}: antes do
+ * {@link com.devsuperior.dscommerce.security.AuthInterceptor} (início de {@code auth}) e logo depois
+ * dele (início de {@code app}). Os interceptors registrados em seguida, como o controle de admissão e a
+ * espera simulada, entram em {@code app}.
+ */
+public final class ServerTimingInterceptor implements HandlerInterceptor {
+
+	private static final ServerTimingInterceptor AUTH = new ServerTimingInterceptor(true);
+	private static final ServerTimingInterceptor HANDLER = new ServerTimingInterceptor(false);
+
+	private final boolean auth;
+
+	private ServerTimingInterceptor(boolean auth) {
+		this.auth = auth;
+	}
+
+	public static ServerTimingInterceptor authStart() {
+		return AUTH;
+	}
+
+	public static ServerTimingInterceptor handlerStart() {
+		return HANDLER;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		RequestTiming timing = RequestTiming.of(request);
+		if (timing != null) {
+			if (auth) {
+				timing.markAuthStart();
+			}
+			else {
+				timing.markHandlerStart();
+			}
+		}
+		return true;
+	}
+}
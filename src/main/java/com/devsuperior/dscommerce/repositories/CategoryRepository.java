@@ -0,0 +1,30 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscommerce.entities.Category;
+
+@Repository
+public class CategoryRepository {
+
+	private final Map<Long, Category> categories = new ConcurrentSkipListMap<>();
+
+	public List<Category> findAll() {
+		return new ArrayList<>(categories.values());
+	}
+
+	public Optional<Category> findById(Long id) {
+		return (id == null) ? Optional.empty() : Optional.ofNullable(categories.get(id));
+	}
+
+	public Category save(Category category) {
+		categories.put(category.getId(), category);
+		return category;
+	}
+}
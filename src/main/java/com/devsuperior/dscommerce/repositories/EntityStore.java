@@ -0,0 +1,195 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.LongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.User;
+
+/**
+ * Persistência dos produtos, pedidos e estoque em três {@link SegmentStore} ({@code products/}, {@code orders/}
+ * e {@code stock/} dentro de {@code dscommerce.storage.dir}), com compactação periódica numa thread própria.
+ *
+ * Desligado quando {@code dscommerce.storage.dir} está vazio; nesse caso as escritas não fazem nada
+ * e as leituras não devolvem registros.
+ */
+@Component
+public class EntityStore implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(EntityStore.class);
+
+	private final SegmentStore products;
+	private final SegmentStore orders;
+	private final SegmentStore stock;
+	private final boolean sync;
+	private final double compactionRatio;
+	private final ScheduledExecutorService compactor;
+
+	public EntityStore(@Value("${dscommerce.storage.dir:}") String dir,
+			@Value("${dscommerce.storage.segment-bytes:67108864}") int segmentBytes,
+			@Value("${dscommerce.storage.sync:false}") boolean sync,
+			@Value("${dscommerce.storage.compaction-ratio:0.5}") double compactionRatio,
+			@Value("${dscommerce.storage.compaction-interval-seconds:30}") long compactionIntervalSeconds) {
+		this.sync = sync;
+		this.compactionRatio = compactionRatio;
+		if (dir.isBlank()) {
+			products = null;
+			orders = null;
+			stock = null;
+			compactor = null;
+			return;
+		}
+		long start = System.nanoTime();
+		products = SegmentStore.open(Path.of(dir, "products"), segmentBytes, sync);
+		orders = SegmentStore.open(Path.of(dir, "orders"), segmentBytes, sync);
+		stock = SegmentStore.open(Path.of(dir, "stock"), segmentBytes, sync);
+		logger.info("Opened storage at {}: {} products, {} orders, {} stock entries indexed in {} ms", dir, products.size(),
+				orders.size(), stock.size(), (System.nanoTime() - start) / 1_000_000);
+		compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "storage-compaction");
+			thread.setDaemon(true);
+			return thread;
+		});
+		compactor.scheduleWithFixedDelay(this::compactIfNeeded, compactionIntervalSeconds, compactionIntervalSeconds,
+				TimeUnit.SECONDS);
+	}
+
+	public static EntityStore disabled() {
+		return new EntityStore("", 0, false, 0, 0);
+	}
+
+	public boolean isEnabled() {
+		return products != null;
+	}
+
+	public int productCount() {
+		return isEnabled() ? products.size() : 0;
+	}
+
+	public int orderCount() {
+		return isEnabled() ? orders.size() : 0;
+	}
+
+	public void putProduct(Product product) {
+		if (isEnabled()) {
+			products.put(product.getId(), RecordCodec.encode(product));
+		}
+	}
+
+	// um único flush no fim do lote em vez de um por registro
+	public void putProducts(Collection<Product> batch) {
+		if (isEnabled()) {
+			for (Product product : batch) {
+				products.put(product.getId(), RecordCodec.encode(product));
+			}
+			if (!sync) {
+				products.flush();
+			}
+		}
+	}
+
+	public void deleteProduct(Long id) {
+		if (isEnabled()) {
+			products.delete(id);
+		}
+	}
+
+	public void putOrder(Order order) {
+		if (isEnabled()) {
+			orders.put(order.getId(), RecordCodec.encode(order));
+		}
+	}
+
+	public void putOrders(Collection<Order> batch) {
+		if (isEnabled()) {
+			for (Order order : batch) {
+				orders.put(order.getId(), RecordCodec.encode(order));
+			}
+			if (!sync) {
+				orders.flush();
+			}
+		}
+	}
+
+	public void putStock(long productId, long units) {
+		if (isEnabled()) {
+			stock.put(productId, RecordCodec.encodeStock(units));
+		}
+	}
+
+	public void deleteStock(long productId) {
+		if (isEnabled()) {
+			stock.delete(productId);
+		}
+	}
+
+	public void loadStock(BiConsumer<Long, Long> consumer) {
+		if (isEnabled()) {
+			stock.forEach((id, data) -> consumer.accept(id, RecordCodec.decodeStock(data)));
+		}
+	}
+
+	public List<Product> loadProducts(LongFunction<Category> categories) {
+		List<Product> loaded = new ArrayList<>(productCount());
+		if (isEnabled()) {
+			products.forEach((id, data) -> loaded.add(RecordCodec.decodeProduct(id, data, categories)));
+		}
+		return loaded;
+	}
+
+	/**
+	 * Pedidos cujo cliente ou algum produto não existe mais ficam de fora.
+	 */
+	public List<Order> loadOrders(LongFunction<User> users, LongFunction<Product> products) {
+		List<Order> loaded = new ArrayList<>(orderCount());
+		if (isEnabled()) {
+			orders.forEach((id, data) -> {
+				Order order = RecordCodec.decodeOrder(id, data, users, products);
+				if (order != null) {
+					loaded.add(order);
+				}
+			});
+		}
+		return loaded;
+	}
+
+	public void compactIfNeeded() {
+		try {
+			if (products.compactIfNeeded(compactionRatio) | orders.compactIfNeeded(compactionRatio)
+					| stock.compactIfNeeded(compactionRatio)) {
+				logger.info("Compacted storage: {} product segments, {} order segments, {} stock segments",
+						products.segmentCount(), orders.segmentCount(), stock.segmentCount());
+			}
+		}
+		catch (RuntimeException e) {
+			logger.warn("Storage compaction failed", e);
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (!isEnabled()) {
+			return;
+		}
+		compactor.shutdownNow();
+		compactor.awaitTermination(10, TimeUnit.SECONDS);
+		products.close();
+		orders.close();
+		stock.close();
+	}
+}
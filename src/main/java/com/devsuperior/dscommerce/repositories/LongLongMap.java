@@ -0,0 +1,174 @@
+package com.devsuperior.dscommerce.repositories;
+
+/**
+ * Mapa {@code long -> long} de endereçamento aberto (sondagem linear), sem boxing: chaves e
+ * valores ficam intercalados num único {@code long[]}. Os valores não podem ser negativos;
+ * {@link #get(long)} devolve {@link #ABSENT} quando a chave não existe.
+ *
+ * Não é thread-safe. {@link #get(long)} nunca lança exceção mesmo lendo o array durante uma
+ * escrita, então pode ser usado dentro de uma leitura otimista de {@link java.util.concurrent.locks.StampedLock}.
+ */
+public class LongLongMap {
+
+	public static final long ABSENT = -1L;
+
+	private static final int MIN_CAPACITY = 16;
+
+	// chave 0 marca posição livre; a própria chave 0 fica fora do array
+	private long[] table;
+	private int size;
+	private boolean hasZeroKey;
+	private long zeroValue;
+
+	public LongLongMap() {
+		this(MIN_CAPACITY);
+	}
+
+	public LongLongMap(int expectedSize) {
+		table = new long[2 * capacityFor(expectedSize)];
+	}
+
+	public int size() {
+		return size + (hasZeroKey ? 1 : 0);
+	}
+
+	/**
+	 * Cópia independente, com a mesma capacidade.
+	 */
+	public LongLongMap copy() {
+		LongLongMap copy = new LongLongMap();
+		copy.table = table.clone();
+		copy.size = size;
+		copy.hasZeroKey = hasZeroKey;
+		copy.zeroValue = zeroValue;
+		return copy;
+	}
+
+	public long get(long key) {
+		if (key == 0) {
+			return hasZeroKey ? zeroValue : ABSENT;
+		}
+		long[] t = table;
+		int slots = t.length >>> 1;
+		int mask = slots - 1;
+		int slot = mix(key) & mask;
+		for (int probes = 0; probes < slots; probes++) {
+			long k = t[2 * slot];
+			if (k == key) {
+				return t[2 * slot + 1];
+			}
+			if (k == 0) {
+				return ABSENT;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return ABSENT;
+	}
+
+	/**
+	 * Grava o valor e devolve o anterior ({@link #ABSENT} se a chave era nova).
+	 */
+	public long put(long key, long value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Negative value: " + value);
+		}
+		if (key == 0) {
+			long previous = hasZeroKey ? zeroValue : ABSENT;
+			hasZeroKey = true;
+			zeroValue = value;
+			return previous;
+		}
+		int mask = (table.length >>> 1) - 1;
+		int slot = mix(key) & mask;
+		while (true) {
+			long k = table[2 * slot];
+			if (k == key) {
+				long previous = table[2 * slot + 1];
+				table[2 * slot + 1] = value;
+				return previous;
+			}
+			if (k == 0) {
+				break;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if ((size + 1) * 4L > (table.length >>> 1) * 3L) {
+			resize();
+			return put(key, value);
+		}
+		// valor antes da chave: uma leitura concorrente nunca vê a chave com o valor de outra
+		table[2 * slot + 1] = value;
+		table[2 * slot] = key;
+		size++;
+		return ABSENT;
+	}
+
+	/**
+	 * Remove a chave e devolve o valor que ela tinha ({@link #ABSENT} se não existia).
+	 */
+	public long remove(long key) {
+		if (key == 0) {
+			long previous = hasZeroKey ? zeroValue : ABSENT;
+			hasZeroKey = false;
+			return previous;
+		}
+		int mask = (table.length >>> 1) - 1;
+		int slot = mix(key) & mask;
+		while (true) {
+			long k = table[2 * slot];
+			if (k == 0) {
+				return ABSENT;
+			}
+			if (k == key) {
+				break;
+			}
+			slot = (slot + 1) & mask;
+		}
+		long previous = table[2 * slot + 1];
+		// remoção com deslocamento para trás: mantém as sequências de sondagem sem marcadores de remoção
+		int hole = slot;
+		int next = (hole + 1) & mask;
+		while (table[2 * next] != 0) {
+			int home = mix(table[2 * next]) & mask;
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				table[2 * hole + 1] = table[2 * next + 1];
+				table[2 * hole] = table[2 * next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+		table[2 * hole] = 0;
+		table[2 * hole + 1] = 0;
+		size--;
+		return previous;
+	}
+
+	private void resize() {
+		long[] old = table;
+		long[] grown = new long[old.length * 2];
+		int mask = (grown.length >>> 1) - 1;
+		for (int i = 0; i < old.length; i += 2) {
+			long k = old[i];
+			if (k != 0) {
+				int slot = mix(k) & mask;
+				while (grown[2 * slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				grown[2 * slot] = k;
+				grown[2 * slot + 1] = old[i + 1];
+			}
+		}
+		// publica o array já preenchido
+		table = grown;
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int needed = (int) Math.min(1 << 30, Math.max(MIN_CAPACITY, expectedSize * 4L / 3 + 1));
+		return Integer.highestOneBit(needed - 1) << 1;
+	}
+
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
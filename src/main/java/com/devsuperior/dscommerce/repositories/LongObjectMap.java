@@ -0,0 +1,257 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapa {@code long -> V} de endereçamento aberto (sondagem linear), sem boxing da chave:
+ * a mesma estrutura do {@link LongLongMap}, com os valores num array paralelo.
+ *
+ * Não é thread-safe. {@link #get(long)} nunca lança exceção mesmo lendo durante uma escrita
+ * (chaves e valores trocam juntos no redimensionamento), então pode ser usado dentro de uma
+ * leitura otimista de {@link java.util.concurrent.locks.StampedLock}.
+ *
+ * {@link #snapshot()} é O(1): o retrato e o mapa passam a dividir a mesma tabela, e a primeira
+ * escrita seguinte copia a tabela antes de alterá-la (cópia na escrita).
+ */
+public class LongObjectMap<V> {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private volatile Table table;
+	private int size;
+	// chave 0 marca posição livre; a própria chave 0 fica fora da tabela
+	private Object zeroValue;
+	// a tabela também pertence a um retrato e precisa ser copiada antes da próxima escrita
+	private boolean shared;
+
+	public LongObjectMap() {
+		this(MIN_CAPACITY);
+	}
+
+	public LongObjectMap(int expectedSize) {
+		table = new Table(capacityFor(expectedSize));
+	}
+
+	public int size() {
+		return size + ((zeroValue != null) ? 1 : 0);
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		if (key == 0) {
+			return (V) zeroValue;
+		}
+		Table t = table;
+		long[] keys = t.keys;
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		for (int probes = 0; probes < keys.length; probes++) {
+			long k = keys[slot];
+			if (k == key) {
+				return (V) t.values[slot];
+			}
+			if (k == 0) {
+				return null;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+	public boolean containsKey(long key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Grava o valor (não nulo) e devolve o anterior, ou {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Null value");
+		}
+		if (key == 0) {
+			V previous = (V) zeroValue;
+			zeroValue = value;
+			return previous;
+		}
+		Table t = writableTable();
+		int mask = t.keys.length - 1;
+		int slot = mix(key) & mask;
+		while (true) {
+			long k = t.keys[slot];
+			if (k == key) {
+				V previous = (V) t.values[slot];
+				t.values[slot] = value;
+				return previous;
+			}
+			if (k == 0) {
+				break;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if ((size + 1) * 4L > t.keys.length * 3L) {
+			resize();
+			return put(key, value);
+		}
+		t.values[slot] = value;
+		t.keys[slot] = key;
+		size++;
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		if (key == 0) {
+			V previous = (V) zeroValue;
+			zeroValue = null;
+			return previous;
+		}
+		if (get(key) == null) {
+			return null;
+		}
+		Table t = writableTable();
+		long[] keys = t.keys;
+		Object[] values = t.values;
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (true) {
+			long k = keys[slot];
+			if (k == 0) {
+				return null;
+			}
+			if (k == key) {
+				break;
+			}
+			slot = (slot + 1) & mask;
+		}
+		V previous = (V) values[slot];
+		// remoção com deslocamento para trás, como no LongLongMap
+		int hole = slot;
+		int next = (hole + 1) & mask;
+		while (keys[next] != 0) {
+			int home = mix(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				values[hole] = values[next];
+				keys[hole] = keys[next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[hole] = 0;
+		values[hole] = null;
+		size--;
+		return previous;
+	}
+
+	/**
+	 * Cópia dos valores, sem ordem definida.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<V> values() {
+		List<V> all = new ArrayList<>(size());
+		if (zeroValue != null) {
+			all.add((V) zeroValue);
+		}
+		Table t = table;
+		for (int i = 0; i < t.keys.length; i++) {
+			if (t.keys[i] != 0) {
+				all.add((V) t.values[i]);
+			}
+		}
+		return all;
+	}
+
+	/**
+	 * Retrato imutável do conteúdo atual, para voltar a ele com {@link #restore(Snapshot)}.
+	 */
+	public Snapshot<V> snapshot() {
+		shared = true;
+		return new Snapshot<>(table, size, zeroValue);
+	}
+
+	/**
+	 * Volta ao conteúdo do retrato, também em O(1); a tabela dele continua sendo só de leitura.
+	 */
+	public void restore(Snapshot<V> snapshot) {
+		table = snapshot.table;
+		size = snapshot.size;
+		zeroValue = snapshot.zeroValue;
+		shared = true;
+	}
+
+	private Table writableTable() {
+		if (shared) {
+			table = table.copy();
+			shared = false;
+		}
+		return table;
+	}
+
+	private void resize() {
+		Table old = table;
+		Table grown = new Table(old.keys.length * 2);
+		int mask = grown.keys.length - 1;
+		for (int i = 0; i < old.keys.length; i++) {
+			long k = old.keys[i];
+			if (k != 0) {
+				int slot = mix(k) & mask;
+				while (grown.keys[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				grown.keys[slot] = k;
+				grown.values[slot] = old.values[i];
+			}
+		}
+		table = grown;
+		shared = false;
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int needed = (int) Math.min(1 << 30, Math.max(MIN_CAPACITY, expectedSize * 4L / 3 + 1));
+		return Integer.highestOneBit(needed - 1) << 1;
+	}
+
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	private static final class Table {
+
+		final long[] keys;
+		final Object[] values;
+
+		Table(int capacity) {
+			keys = new long[capacity];
+			values = new Object[capacity];
+		}
+
+		private Table(long[] keys, Object[] values) {
+			this.keys = keys;
+			this.values = values;
+		}
+
+		Table copy() {
+			return new Table(keys.clone(), values.clone());
+		}
+	}
+
+	public static final class Snapshot<V> {
+
+		private final Table table;
+		private final int size;
+		private final Object zeroValue;
+
+		private Snapshot(Table table, int size, Object zeroValue) {
+			this.table = table;
+			this.size = size;
+			this.zeroValue = zeroValue;
+		}
+
+		public int size() {
+			return size + ((zeroValue != null) ? 1 : 0);
+		}
+	}
+}
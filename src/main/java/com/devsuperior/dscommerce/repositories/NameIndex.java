@@ -0,0 +1,106 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de trigramas (sem diferenciar maiúsculas) para o filtro {@code name} do /products,
+ * equivalente ao {@code UPPER(name) LIKE UPPER('%termo%')} do DSCommerce.
+ *
+ * Cada trigrama aponta para uma lista de ids só de acréscimo. Remoções e renomeações não
+ * apagam as entradas antigas; quem consulta confere o nome atual do produto, e o
+ * {@link ProductRepository} troca o índice por um novo quando as entradas obsoletas se acumulam.
+ * Só a thread que escreve no catálogo chama {@link #add}.
+ */
+final class NameIndex {
+
+	private final Map<Long, Posting> postings = new ConcurrentHashMap<>();
+	// nomes adicionados, lido só por quem escreve
+	private long added;
+
+	static String normalize(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	void add(long id, String name) {
+		added++;
+		String normalized = normalize(name);
+		Set<Long> seen = new HashSet<>();
+		for (int i = 0; i + 3 <= normalized.length(); i++) {
+			long key = trigram(normalized, i);
+			if (seen.add(key)) {
+				postings.computeIfAbsent(key, k -> new Posting()).append(id);
+			}
+		}
+	}
+
+	long added() {
+		return added;
+	}
+
+	/**
+	 * Ids que podem conter o termo, sem repetição e em ordem crescente,
+	 * ou {@code null} quando o termo é curto demais para usar o índice.
+	 */
+	long[] candidates(String normalizedTerm) {
+		if (normalizedTerm.length() < 3) {
+			return null;
+		}
+		Posting smallest = null;
+		for (int i = 0; i + 3 <= normalizedTerm.length(); i++) {
+			Posting posting = postings.get(trigram(normalizedTerm, i));
+			if (posting == null) {
+				return new long[0];
+			}
+			if (smallest == null || posting.size() < smallest.size()) {
+				smallest = posting;
+			}
+		}
+		long[] ids = smallest.copy();
+		Arrays.sort(ids);
+		int distinct = 0;
+		for (int i = 0; i < ids.length; i++) {
+			if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+				ids[distinct++] = ids[i];
+			}
+		}
+		return Arrays.copyOf(ids, distinct);
+	}
+
+	private static long trigram(String s, int i) {
+		return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+	}
+
+	/**
+	 * Lista de ids só de acréscimo com um único escritor; o array é trocado antes de o
+	 * tamanho avançar, então um leitor nunca enxerga um tamanho maior que o seu array.
+	 */
+	private static final class Posting {
+
+		private volatile long[] ids = new long[4];
+		private volatile int size;
+
+		void append(long id) {
+			long[] current = ids;
+			if (size == current.length) {
+				current = Arrays.copyOf(current, current.length * 2);
+				ids = current;
+			}
+			current[size] = id;
+			size = size + 1;
+		}
+
+		int size() {
+			return size;
+		}
+
+		long[] copy() {
+			int n = size;
+			return Arrays.copyOf(ids, n);
+		}
+	}
+}
@@ -0,0 +1,255 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Journal só de acréscimo dos pedidos aceitos, com group commit: as threads das requisições
+ * enfileiram o registro já serializado numa fila sem lock, e uma única thread escritora grava
+ * tudo o que estiver na fila e faz um único fsync por lote antes de liberar quem esperava.
+ *
+ * Desligado quando {@code dscommerce.orders.journal} está vazio; nesse caso
+ * {@link #append(Order)} conclui na hora. Depois do {@link #destroy()}, o append falha em vez de
+ * dar como gravado um pedido que não foi.
+ */
+@Component
+public class OrderJournal implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderJournal.class);
+
+	private final ObjectMapper objectMapper;
+	private final Path path;
+	private final int maxBatch;
+
+	private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+	private final LongAdder appended = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+	// append com o de leitura, destroy com o de escrita: nada entra na fila depois que a escrita parou
+	private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+	private FileChannel channel;
+	private Thread writer;
+	private volatile boolean running;
+
+	public OrderJournal(ObjectMapper objectMapper,
+			@Value("${dscommerce.orders.journal:}") String path,
+			@Value("${dscommerce.orders.journal.max-batch:512}") int maxBatch) {
+		this.objectMapper = objectMapper;
+		this.path = path.isBlank() ? null : Path.of(path);
+		this.maxBatch = maxBatch;
+		if (this.path != null) {
+			open();
+		}
+	}
+
+	public boolean isEnabled() {
+		return path != null;
+	}
+
+	/**
+	 * Concluído quando o lote que contém o pedido já foi gravado e sincronizado em disco; falha com
+	 * {@link IllegalStateException} se o journal já foi parado.
+	 */
+	public CompletableFuture<Void> append(Order order) {
+		if (path == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		Pending pending = new Pending(encode(order));
+		stateLock.readLock().lock();
+		try {
+			if (!running) {
+				return CompletableFuture.failedFuture(stopped());
+			}
+			queue.offer(pending);
+		}
+		finally {
+			stateLock.readLock().unlock();
+		}
+		LockSupport.unpark(writer);
+		return pending.future;
+	}
+
+	/**
+	 * Entrega os pedidos gravados, na ordem em que foram aceitos.
+	 */
+	public void replay(Consumer<JournalEntry> consumer) {
+		if (path == null || !Files.exists(path)) {
+			return;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				try {
+					consumer.accept(objectMapper.readValue(line, JournalEntry.class));
+				}
+				catch (JsonProcessingException e) {
+					// última linha incompleta de uma queda durante a escrita
+					logger.warn("Ignoring unreadable order journal line: {}", e.getOriginalMessage());
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public long appendedCount() {
+		return appended.sum();
+	}
+
+	public long batchCount() {
+		return batches.sum();
+	}
+
+	/**
+	 * Para de aceitar pedidos e espera a escritora gravar o que já está na fila; o que sobrar depois
+	 * do prazo falha, para nenhuma requisição ficar esperando para sempre.
+	 */
+	@Override
+	public void destroy() throws Exception {
+		stateLock.writeLock().lock();
+		try {
+			if (!running) {
+				return;
+			}
+			running = false;
+		}
+		finally {
+			stateLock.writeLock().unlock();
+		}
+		LockSupport.unpark(writer);
+		writer.join(TimeUnit.SECONDS.toMillis(10));
+		channel.close();
+		Pending pending;
+		while ((pending = queue.poll()) != null) {
+			pending.future.completeExceptionally(stopped());
+		}
+	}
+
+	private static IllegalStateException stopped() {
+		return new IllegalStateException("Order journal is stopped");
+	}
+
+	private void open() {
+		try {
+			if (path.getParent() != null) {
+				Files.createDirectories(path.getParent());
+			}
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		running = true;
+		writer = new Thread(this::writeLoop, "order-journal-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	private void writeLoop() {
+		List<Pending> batch = new ArrayList<>(maxBatch);
+		while (running || !queue.isEmpty()) {
+			Pending next;
+			while (batch.size() < maxBatch && (next = queue.poll()) != null) {
+				batch.add(next);
+			}
+			if (batch.isEmpty()) {
+				LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(50));
+				continue;
+			}
+			try {
+				int size = 0;
+				for (Pending p : batch) {
+					size += p.record.length;
+				}
+				ByteBuffer buffer = ByteBuffer.allocate(size);
+				for (Pending p : batch) {
+					buffer.put(p.record);
+				}
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(false);
+				appended.add(batch.size());
+				batches.increment();
+				for (Pending p : batch) {
+					p.future.complete(null);
+				}
+			}
+			catch (IOException | RuntimeException e) {
+				for (Pending p : batch) {
+					p.future.completeExceptionally(e);
+				}
+			}
+			batch.clear();
+		}
+	}
+
+	private byte[] encode(Order order) {
+		List<JournalItem> items = new ArrayList<>(order.getItems().size());
+		for (OrderItem item : order.getItems()) {
+			items.add(new JournalItem(item.getProduct().getId(), item.getQuantity(), item.getPrice()));
+		}
+		JournalEntry entry = new JournalEntry(order.getId(), order.getMoment(), order.getStatus().name(),
+				order.getClient().getId(), items);
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(entry);
+			byte[] line = new byte[json.length + 1];
+			System.arraycopy(json, 0, line, 0, json.length);
+			line[json.length] = '\n';
+			return line;
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public record JournalEntry(Long id, Instant moment, String status, Long clientId, List<JournalItem> items) {
+	}
+
+	public record JournalItem(Long productId, Integer quantity, Double price) {
+	}
+
+	private static final class Pending {
+
+		final byte[] record;
+		final CompletableFuture<Void> future = new CompletableFuture<>();
+
+		Pending(byte[] record) {
+			this.record = record;
+		}
+	}
+}
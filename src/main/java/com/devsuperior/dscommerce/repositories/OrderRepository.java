@@ -0,0 +1,136 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+
+/**
+ * Pedidos em memória, em ordem de id. Um pedido gravado não é alterado nem removido, e os ids
+ * novos são sempre maiores que os anteriores, inclusive depois de um {@link #reset(Snapshot)}: por isso o
+ * {@link #snapshot()} guarda só o último id, e o reset remove o que veio depois dele.
+ */
+@Repository
+public class OrderRepository {
+
+	private final EntityStore store;
+	private final NavigableMap<Long, Order> orders = new ConcurrentSkipListMap<>();
+	// produto -> menor id de pedido que o contém
+	private final Map<Long, Long> orderedProducts = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+
+	public OrderRepository() {
+		this(EntityStore.disabled());
+	}
+
+	@Autowired
+	public OrderRepository(EntityStore store) {
+		this.store = store;
+	}
+
+	public Optional<Order> findById(Long id) {
+		return (id == null) ? Optional.empty() : Optional.ofNullable(orders.get(id));
+	}
+
+	// pedidos em ordem de id; fracamente consistente com inserções concorrentes
+	public Iterator<Order> cursor() {
+		return orders.values().iterator();
+	}
+
+	// usado para simular a restrição de chave estrangeira de tb_order_item
+	public boolean existsByProductId(Long productId) {
+		return orderedProducts.containsKey(productId);
+	}
+
+	// id alocado antes de o pedido ir para o journal
+	public long nextId() {
+		return sequence.incrementAndGet();
+	}
+
+	public Order save(Order order) {
+		if (order.getId() == null) {
+			order.setId(sequence.incrementAndGet());
+		}
+		else {
+			sequence.accumulateAndGet(order.getId(), Math::max);
+		}
+		markOrdered(order);
+		store.putOrder(order);
+		orders.put(order.getId(), order);
+		return order;
+	}
+
+	/**
+	 * Carga em lote de pedidos já com id, fora do journal (ex.: dados gerados na subida).
+	 */
+	public void saveAll(Collection<Order> batch) {
+		store.putOrders(batch);
+		restore(batch);
+	}
+
+	/**
+	 * Carrega pedidos lidos do {@link EntityStore} ou do {@link OrderJournal}, sem gravá-los de novo.
+	 */
+	public void restore(Collection<Order> batch) {
+		long maxId = 0;
+		for (Order order : batch) {
+			markOrdered(order);
+			orders.put(order.getId(), order);
+			maxId = Math.max(maxId, order.getId());
+		}
+		sequence.accumulateAndGet(maxId, Math::max);
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(sequence.get());
+	}
+
+	/**
+	 * Remove os pedidos gravados depois do retrato, em tempo proporcional a eles, e os devolve. A sequência
+	 * de ids não volta: o journal e o {@link EntityStore} não voltam junto, e um id reaproveitado
+	 * apareceria duas vezes neles.
+	 */
+	public List<Order> reset(Snapshot snapshot) {
+		long lastId = snapshot.lastId;
+		NavigableMap<Long, Order> newer = orders.tailMap(lastId, false);
+		List<Order> removed = new ArrayList<>(newer.values());
+		for (Order order : removed) {
+			for (OrderItem item : order.getItems()) {
+				orderedProducts.computeIfPresent(item.getProduct().getId(), (k, first) -> (first > lastId) ? null : first);
+			}
+			newer.remove(order.getId());
+		}
+		return removed;
+	}
+
+	/**
+	 * Marca os produtos do pedido como em uso antes de ele ser gravado, para o {@link #existsByProductId(Long)}
+	 * já recusar a remoção deles; o {@link #save(Order)} marca de novo sem efeito.
+	 */
+	public void markOrdered(Order order) {
+		for (OrderItem item : order.getItems()) {
+			orderedProducts.merge(item.getProduct().getId(), order.getId(), Math::min);
+		}
+	}
+
+	public static final class Snapshot {
+
+		private final long lastId;
+
+		private Snapshot(long lastId) {
+			this.lastId = lastId;
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.devsuperior.dscommerce.repositories;
+
+/**
+ * Parâmetros de paginação no formato do Spring Data: {@code page}, {@code size}
+ * e {@code sort=propriedade[,asc|desc]}.
+ */
+public record PageQuery(int page, int size, String sortProperty, boolean descending) {
+
+	public static final int DEFAULT_SIZE = 20;
+	public static final int MAX_SIZE = 2000;
+
+	public PageQuery {
+		page = Math.max(0, page);
+		size = (size <= 0) ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+	}
+
+	public static PageQuery of(int page, int size, String sort) {
+		if (sort == null || sort.isBlank()) {
+			return new PageQuery(page, size, null, false);
+		}
+		String[] parts = sort.split(",");
+		boolean descending = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc");
+		return new PageQuery(page, size, parts[0].trim(), descending);
+	}
+
+	public long offset() {
+		return (long) page * size;
+	}
+}
@@ -0,0 +1,59 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.function.Predicate;
+
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Product;
+
+/**
+ * Filtros do GET /products: trecho do nome, faixa de preço (inclusiva) e categoria.
+ * Qualquer um pode ser nulo; nome vazio equivale a sem filtro de nome.
+ */
+public record ProductFilter(String name, Double minPrice, Double maxPrice, Long categoryId) {
+
+	public static final ProductFilter NONE = new ProductFilter(null, null, null, null);
+
+	public ProductFilter {
+		name = (name == null || name.isEmpty()) ? null : name;
+	}
+
+	public static ProductFilter byName(String name) {
+		return new ProductFilter(name, null, null, null);
+	}
+
+	public boolean hasName() {
+		return name != null;
+	}
+
+	public boolean hasPriceRange() {
+		return minPrice != null || maxPrice != null;
+	}
+
+	public boolean hasCategory() {
+		return categoryId != null;
+	}
+
+	public boolean isEmpty() {
+		return !hasName() && !hasPriceRange() && !hasCategory();
+	}
+
+	/**
+	 * Confere um produto contra todos os filtros (usado na busca e no export).
+	 */
+	public Predicate<Product> predicate() {
+		String term = hasName() ? NameIndex.normalize(name) : null;
+		return p -> (term == null || NameIndex.normalize(p.getName()).contains(term))
+				&& (minPrice == null || p.getPrice() >= minPrice)
+				&& (maxPrice == null || p.getPrice() <= maxPrice)
+				&& (categoryId == null || hasCategory(p, categoryId));
+	}
+
+	private static boolean hasCategory(Product product, Long categoryId) {
+		for (Category category : product.getCategories()) {
+			if (categoryId.equals(category.getId())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,475 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscommerce.dto.PageDTO;
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Product;
+
+/**
+ * Catálogo em memória: produtos por id num {@link LongObjectMap} (leitura otimista, sem boxing do id),
+ * uma {@link SortedView} mantida por chave de ordenação
+ * (id, name, price), uma lista de produtos por categoria (em ordem de id) e um
+ * {@link NameIndex} para o filtro por nome. A faixa de preço é um trecho contíguo
+ * da visão por preço, achado por busca binária.
+ *
+ * As leituras não usam lock: pegam as visões publicadas no momento e fatiam a página.
+ * As escritas são serializadas e atualizam as visões de forma incremental. Os produtos
+ * guardados não devem ser alterados; uma atualização salva uma nova instância.
+ *
+ * Com o {@link EntityStore} ligado, cada escrita também vai para o disco, dentro do mesmo lock.
+ *
+ * {@link #snapshot()} guarda as visões publicadas e o mapa por id em O(1); {@link #reset(Snapshot)}
+ * volta a elas sem mexer no disco. A sequência de ids não volta, para um id novo nunca repetir um já gravado.
+ */
+@Repository
+public class ProductRepository {
+
+	// acima desta fração do catálogo, percorrer a visão ordenada sai mais barato que ordenar os candidatos
+	private static final int SORT_CANDIDATES_DIVISOR = 16;
+	// acima desta fração do catálogo, um lote reconstrói as visões em vez de inserir item a item
+	private static final int REBUILD_DIVISOR = 8;
+
+	private static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId);
+	private static final Comparator<Product> BY_NAME = Comparator.comparing(Product::getName).thenComparing(BY_ID);
+	private static final Comparator<Product> BY_PRICE = Comparator.comparing(Product::getPrice).thenComparing(BY_ID);
+
+	private final EntityStore store;
+	private final LongObjectMap<Product> products = new LongObjectMap<>();
+	private final StampedLock productsLock = new StampedLock();
+	private final AtomicLong sequence = new AtomicLong();
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	private volatile Views views = Views.empty();
+	private volatile NameIndex nameIndex = new NameIndex();
+
+	// produtos removidos ou renomeados que ainda têm entradas no índice de nomes
+	private long obsoleteNames;
+
+	public ProductRepository() {
+		this(EntityStore.disabled());
+	}
+
+	@Autowired
+	public ProductRepository(EntityStore store) {
+		this.store = store;
+	}
+
+	public Optional<Product> findById(Long id) {
+		return (id == null) ? Optional.empty() : Optional.ofNullable(get(id));
+	}
+
+	/**
+	 * Produto com o id, ou {@code null}; sem {@code Optional} nem boxing, para o cálculo de pedidos.
+	 */
+	public Product get(long id) {
+		long stamp = productsLock.tryOptimisticRead();
+		Product product = products.get(id);
+		if (!productsLock.validate(stamp)) {
+			stamp = productsLock.readLock();
+			try {
+				product = products.get(id);
+			}
+			finally {
+				productsLock.unlockRead(stamp);
+			}
+		}
+		return product;
+	}
+
+	public boolean existsById(Long id) {
+		return id != null && get(id) != null;
+	}
+
+	public long count() {
+		return views.byId().size();
+	}
+
+	/**
+	 * Todos os produtos em ordem de id, como estavam no momento da chamada.
+	 */
+	public Iterator<Product> cursor() {
+		return views.byId().iterator();
+	}
+
+	public PageDTO<Product> search(ProductFilter filter, PageQuery query) {
+		Views current = views;
+		SortedView view = current.sortedBy(query.sortProperty());
+		if (filter.isEmpty()) {
+			List<Product> page = view.slice(query.offset(), query.size(), query.descending());
+			return new PageDTO<>(page, query.page(), query.size(), view.size());
+		}
+
+		SortedView byPrice = current.byPrice();
+		int priceFrom = (filter.minPrice() == null) ? 0 : byPrice.rank(priceProbe(filter.minPrice(), Long.MIN_VALUE));
+		int priceTo = (filter.maxPrice() == null) ? byPrice.size()
+				: Math.max(priceFrom, byPrice.rank(priceProbe(filter.maxPrice(), Long.MAX_VALUE)));
+		SortedView category = filter.hasCategory() ? current.category(filter.categoryId()) : null;
+
+		// um único filtro na mesma ordem da visão que o atende: a página sai direto do trecho
+		if (view == byPrice && !filter.hasName() && !filter.hasCategory()) {
+			List<Product> page = byPrice.slice(priceFrom, priceTo, query.offset(), query.size(), query.descending());
+			return new PageDTO<>(page, query.page(), query.size(), priceTo - priceFrom);
+		}
+		if (view == current.byId() && !filter.hasName() && !filter.hasPriceRange()) {
+			List<Product> page = category.slice(query.offset(), query.size(), query.descending());
+			return new PageDTO<>(page, query.page(), query.size(), category.size());
+		}
+
+		Predicate<Product> matches = filter.predicate();
+		long[] nameCandidates = filter.hasName() ? nameIndex.candidates(NameIndex.normalize(filter.name())) : null;
+		int priceCount = filter.hasPriceRange() ? priceTo - priceFrom : Integer.MAX_VALUE;
+		int categoryCount = (category != null) ? category.size() : Integer.MAX_VALUE;
+		int nameCount = (nameCandidates != null) ? nameCandidates.length : Integer.MAX_VALUE;
+		int smallest = Math.min(priceCount, Math.min(categoryCount, nameCount));
+
+		if (smallest > view.size() / SORT_CANDIDATES_DIVISOR) {
+			List<Product> page = new ArrayList<>(query.size());
+			long total = (view == byPrice)
+					? byPrice.scan(priceFrom, priceTo, matches, query.offset(), query.size(), query.descending(), page)
+					: view.scan(matches, query.offset(), query.size(), query.descending(), page);
+			return new PageDTO<>(page, query.page(), query.size(), total);
+		}
+
+		// o menor conjunto de candidatos conduz a busca; os outros filtros são conferidos produto a produto
+		List<Product> matched = new ArrayList<>();
+		if (smallest == nameCount) {
+			for (long id : nameCandidates) {
+				Product p = get(id);
+				if (p != null && matches.test(p)) {
+					matched.add(p);
+				}
+			}
+		}
+		else if (smallest == categoryCount) {
+			category.scan(matches, 0, Integer.MAX_VALUE, false, matched);
+		}
+		else {
+			byPrice.scan(priceFrom, priceTo, matches, 0, Integer.MAX_VALUE, false, matched);
+		}
+		Comparator<Product> comparator = comparator(query.sortProperty());
+		matched.sort(query.descending() ? comparator.reversed() : comparator);
+		int from = (int) Math.min(query.offset(), matched.size());
+		int to = Math.min(from + query.size(), matched.size());
+		return new PageDTO<>(new ArrayList<>(matched.subList(from, to)), query.page(), query.size(), matched.size());
+	}
+
+	public Product save(Product product) {
+		writeLock.lock();
+		try {
+			if (product.getId() == null) {
+				product.setId(sequence.incrementAndGet());
+			}
+			else {
+				sequence.accumulateAndGet(product.getId(), Math::max);
+			}
+			store.putProduct(product);
+			Product previous = put(product);
+			Views current = views;
+			if (previous != null) {
+				current = current.remove(previous);
+				obsoleteNames++;
+			}
+			views = current.insert(product);
+			nameIndex.add(product.getId(), product.getName());
+			compactIfNeeded();
+			return product;
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Grava um lote inteiro com uma única aquisição do lock e publica as visões uma vez só,
+	 * então as leituras por página veem o lote todo ou nada dele. Lotes grandes em relação
+	 * ao catálogo reconstroem as visões em vez de inserir um a um.
+	 */
+	public void saveAll(Collection<Product> batch) {
+		saveAll(batch, true);
+	}
+
+	/**
+	 * Carrega produtos lidos do {@link EntityStore}, sem gravá-los de novo.
+	 */
+	public void restore(Collection<Product> batch) {
+		saveAll(batch, false);
+	}
+
+	private void saveAll(Collection<Product> batch, boolean persist) {
+		writeLock.lock();
+		try {
+			boolean rebuild = batch.size() > products.size() / REBUILD_DIVISOR;
+			Views current = views;
+			for (Product product : batch) {
+				if (product.getId() == null) {
+					product.setId(sequence.incrementAndGet());
+				}
+				else {
+					sequence.accumulateAndGet(product.getId(), Math::max);
+				}
+				Product previous = put(product);
+				if (!rebuild) {
+					if (previous != null) {
+						current = current.remove(previous);
+						obsoleteNames++;
+					}
+					current = current.insert(product);
+					nameIndex.add(product.getId(), product.getName());
+				}
+			}
+			if (persist) {
+				store.putProducts(batch);
+			}
+			if (rebuild) {
+				rebuild();
+			}
+			else {
+				views = current;
+				compactIfNeeded();
+			}
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	public void deleteById(Long id) {
+		writeLock.lock();
+		try {
+			Product previous = (id == null) ? null : remove(id);
+			if (previous != null) {
+				store.deleteProduct(id);
+				views = views.remove(previous);
+				obsoleteNames++;
+				compactIfNeeded();
+			}
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Remove os ids existentes com uma única aquisição do lock e devolve quantos saíram.
+	 */
+	public int deleteAllById(Collection<Long> ids) {
+		writeLock.lock();
+		try {
+			Views current = views;
+			int removed = 0;
+			for (Long id : ids) {
+				Product previous = (id == null) ? null : remove(id);
+				if (previous != null) {
+					store.deleteProduct(id);
+					current = current.remove(previous);
+					obsoleteNames++;
+					removed++;
+				}
+			}
+			views = current;
+			compactIfNeeded();
+			return removed;
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	public Snapshot snapshot() {
+		writeLock.lock();
+		try {
+			long stamp = productsLock.writeLock();
+			try {
+				return new Snapshot(products.snapshot(), views, nameIndex, nameIndex.added(), obsoleteNames);
+			}
+			finally {
+				productsLock.unlockWrite(stamp);
+			}
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Volta o catálogo em memória ao retrato. O índice de nomes do retrato só cresceu desde então;
+	 * os nomes a mais contam como obsoletos (a consulta confere o nome atual) até a próxima compactação.
+	 */
+	public void reset(Snapshot snapshot) {
+		writeLock.lock();
+		try {
+			long stamp = productsLock.writeLock();
+			try {
+				products.restore(snapshot.products);
+			}
+			finally {
+				productsLock.unlockWrite(stamp);
+			}
+			views = snapshot.views;
+			nameIndex = snapshot.nameIndex;
+			obsoleteNames = snapshot.obsoleteNames + (snapshot.nameIndex.added() - snapshot.namesAdded);
+			compactIfNeeded();
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	// chamados com o lock de escrita
+	private Product put(Product product) {
+		long stamp = productsLock.writeLock();
+		try {
+			return products.put(product.getId(), product);
+		}
+		finally {
+			productsLock.unlockWrite(stamp);
+		}
+	}
+
+	private Product remove(long id) {
+		long stamp = productsLock.writeLock();
+		try {
+			return products.remove(id);
+		}
+		finally {
+			productsLock.unlockWrite(stamp);
+		}
+	}
+
+	private void compactIfNeeded() {
+		if (obsoleteNames > Math.max(64, products.size())) {
+			rebuildNameIndex();
+		}
+	}
+
+	private void rebuild() {
+		List<Product> all = products.values();
+		Map<Long, List<Product>> grouped = new HashMap<>();
+		for (Product p : all) {
+			for (Category c : p.getCategories()) {
+				grouped.computeIfAbsent(c.getId(), k -> new ArrayList<>()).add(p);
+			}
+		}
+		Map<Long, SortedView> byCategory = new HashMap<>();
+		grouped.forEach((categoryId, list) -> byCategory.put(categoryId, SortedView.of(list, BY_ID)));
+		views = new Views(SortedView.of(all, BY_ID), SortedView.of(all, BY_NAME), SortedView.of(all, BY_PRICE),
+				byCategory);
+		rebuildNameIndex();
+	}
+
+	private void rebuildNameIndex() {
+		NameIndex fresh = new NameIndex();
+		for (Product p : products.values()) {
+			fresh.add(p.getId(), p.getName());
+		}
+		nameIndex = fresh;
+		obsoleteNames = 0;
+	}
+
+	// posição de busca na visão por preço: antes (ou depois) de todos os produtos com esse preço
+	private static Product priceProbe(double price, long id) {
+		Product probe = new Product();
+		probe.setId(id);
+		probe.setPrice(price);
+		return probe;
+	}
+
+	private static Comparator<Product> comparator(String sortProperty) {
+		if (sortProperty == null) {
+			return BY_ID;
+		}
+		return switch (sortProperty) {
+			case "name" -> BY_NAME;
+			case "price" -> BY_PRICE;
+			default -> BY_ID;
+		};
+	}
+
+	public static final class Snapshot {
+
+		private final LongObjectMap.Snapshot<Product> products;
+		private final Views views;
+		private final NameIndex nameIndex;
+		private final long namesAdded;
+		private final long obsoleteNames;
+
+		private Snapshot(LongObjectMap.Snapshot<Product> products, Views views, NameIndex nameIndex,
+				long namesAdded, long obsoleteNames) {
+			this.products = products;
+			this.views = views;
+			this.nameIndex = nameIndex;
+			this.namesAdded = namesAdded;
+			this.obsoleteNames = obsoleteNames;
+		}
+
+		public int size() {
+			return products.size();
+		}
+	}
+
+	// byCategory nunca é alterado depois de publicado; cada escrita monta um mapa novo
+	private record Views(SortedView byId, SortedView byName, SortedView byPrice, Map<Long, SortedView> byCategory) {
+
+		private static final SortedView NO_PRODUCTS = SortedView.empty(BY_ID);
+
+		static Views empty() {
+			return new Views(SortedView.empty(BY_ID), SortedView.empty(BY_NAME), SortedView.empty(BY_PRICE), Map.of());
+		}
+
+		SortedView sortedBy(String sortProperty) {
+			if (sortProperty == null) {
+				return byId;
+			}
+			return switch (sortProperty) {
+				case "name" -> byName;
+				case "price" -> byPrice;
+				default -> byId;
+			};
+		}
+
+		SortedView category(Long categoryId) {
+			return byCategory.getOrDefault(categoryId, NO_PRODUCTS);
+		}
+
+		Views insert(Product p) {
+			return new Views(byId.insert(p), byName.insert(p), byPrice.insert(p), updateCategories(p, true));
+		}
+
+		Views remove(Product p) {
+			return new Views(byId.remove(p), byName.remove(p), byPrice.remove(p), updateCategories(p, false));
+		}
+
+		private Map<Long, SortedView> updateCategories(Product p, boolean insert) {
+			if (p.getCategories().isEmpty()) {
+				return byCategory;
+			}
+			Map<Long, SortedView> updated = new HashMap<>(byCategory);
+			for (Category c : p.getCategories()) {
+				SortedView posting = updated.getOrDefault(c.getId(), NO_PRODUCTS);
+				posting = insert ? posting.insert(p) : posting.remove(p);
+				if (posting.size() == 0) {
+					updated.remove(c.getId());
+				}
+				else {
+					updated.put(c.getId(), posting);
+				}
+			}
+			return updated;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.LongFunction;
+
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Money;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.entities.Payment;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.User;
+
+/**
+ * Formato binário dos produtos, pedidos e estoque no {@link SegmentStore}. O id é a chave do registro e não
+ * entra nos dados; categorias, cliente e produtos dos itens são gravados só pelo id e resolvidos na leitura.
+ */
+public final class RecordCodec {
+
+	private static final byte VERSION = 1;
+
+	private RecordCodec() {
+	}
+
+	public static byte[] encode(Product product) {
+		byte[] name = utf8(product.getName());
+		byte[] description = utf8(product.getDescription());
+		byte[] imgUrl = utf8(product.getImgUrl());
+		ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + stringSize(name) + stringSize(description) + stringSize(imgUrl)
+				+ 4 + 8 * product.getCategories().size());
+		buffer.put(VERSION);
+		buffer.putDouble(product.getPrice());
+		putString(buffer, name);
+		putString(buffer, description);
+		putString(buffer, imgUrl);
+		buffer.putInt(product.getCategories().size());
+		for (Category category : product.getCategories()) {
+			buffer.putLong(category.getId());
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * Categorias desconhecidas ficam de fora do produto.
+	 */
+	public static Product decodeProduct(long id, byte[] data, LongFunction<Category> categories) {
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		checkVersion(buffer);
+		double price = buffer.getDouble();
+		Product product = new Product(id, getString(buffer), getString(buffer), price, getString(buffer));
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			Category category = categories.apply(buffer.getLong());
+			if (category != null) {
+				product.getCategories().add(category);
+			}
+		}
+		return product;
+	}
+
+	public static byte[] encode(Order order) {
+		ByteBuffer buffer = ByteBuffer.allocate(1 + 12 + 1 + 8 + 1 + ((order.getPayment() != null) ? 20 : 0) + 4
+				+ 20 * order.getItems().size());
+		buffer.put(VERSION);
+		putInstant(buffer, order.getMoment());
+		buffer.put((byte) order.getStatus().ordinal());
+		buffer.putLong(order.getClient().getId());
+		Payment payment = order.getPayment();
+		buffer.put((byte) ((payment != null) ? 1 : 0));
+		if (payment != null) {
+			buffer.putLong(payment.getId());
+			putInstant(buffer, payment.getMoment());
+		}
+		buffer.putInt(order.getItems().size());
+		for (OrderItem item : order.getItems()) {
+			buffer.putLong(item.getProduct().getId());
+			buffer.putInt(item.getQuantity());
+			buffer.putDouble(item.getPrice());
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * Devolve {@code null} quando o cliente ou algum produto dos itens não existe mais.
+	 */
+	public static Order decodeOrder(long id, byte[] data, LongFunction<User> users, LongFunction<Product> products) {
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		checkVersion(buffer);
+		Instant moment = getInstant(buffer);
+		OrderStatus status = OrderStatus.values()[buffer.get()];
+		User client = users.apply(buffer.getLong());
+		Payment payment = null;
+		if (buffer.get() == 1) {
+			payment = new Payment(buffer.getLong(), getInstant(buffer));
+		}
+		if (client == null) {
+			return null;
+		}
+		Order order = new Order(id, moment, status, client, payment);
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			Product product = products.apply(buffer.getLong());
+			int quantity = buffer.getInt();
+			double price = buffer.getDouble();
+			if (product == null) {
+				return null;
+			}
+			order.getItems().add(new OrderItem(product, quantity, Money.cents(price)));
+		}
+		return order;
+	}
+
+	public static byte[] encodeStock(long units) {
+		return ByteBuffer.allocate(1 + 8).put(VERSION).putLong(units).array();
+	}
+
+	public static long decodeStock(byte[] data) {
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		checkVersion(buffer);
+		return buffer.getLong();
+	}
+
+	private static void checkVersion(ByteBuffer buffer) {
+		byte version = buffer.get();
+		if (version != VERSION) {
+			throw new IllegalStateException("Unsupported record version " + version);
+		}
+	}
+
+	private static byte[] utf8(String value) {
+		return (value == null) ? null : value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static int stringSize(byte[] value) {
+		return 4 + ((value == null) ? 0 : value.length);
+	}
+
+	private static void putString(ByteBuffer buffer, byte[] value) {
+		if (value == null) {
+			buffer.putInt(-1);
+			return;
+		}
+		buffer.putInt(value.length);
+		buffer.put(value);
+	}
+
+	private static String getString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+
+	private static void putInstant(ByteBuffer buffer, Instant instant) {
+		buffer.putLong(instant.getEpochSecond());
+		buffer.putInt(instant.getNano());
+	}
+
+	private static Instant getInstant(ByteBuffer buffer) {
+		return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+	}
+}
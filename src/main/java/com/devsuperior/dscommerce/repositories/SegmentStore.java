@@ -0,0 +1,472 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Armazenamento só de acréscimo em arquivos de segmento de tamanho fixo mapeados em memória,
+ * com um índice {@link LongLongMap} em heap de chave para (segmento, posição) do registro mais recente.
+ *
+ * Registro: {@code [int tamanho][int crc32c][byte tipo][long chave][dados]}. O tamanho é gravado
+ * por último e zero marca o fim do segmento; ao abrir, a leitura dos segmentos para no primeiro
+ * registro com CRC inválido (escrita interrompida) e zera o resto daquele segmento.
+ * Remoções gravam um registro de remoção (tombstone).
+ *
+ * {@link #compact()} copia os registros vivos dos segmentos fechados para o segmento ativo e
+ * apaga os arquivos antigos, do mais antigo para o mais novo; um tombstone só é descartado quando
+ * não resta segmento mais antigo que ele.
+ *
+ * Escritas são serializadas; leituras não pegam lock (leitura otimista do índice).
+ */
+public class SegmentStore implements AutoCloseable {
+
+	private static final int HEADER = 17;
+	private static final byte PUT = 1;
+	private static final byte TOMBSTONE = 2;
+	private static final String SUFFIX = ".seg";
+
+	private final Path dir;
+	private final int segmentBytes;
+	private final boolean sync;
+
+	private final LongLongMap index;
+	private final StampedLock indexLock = new StampedLock();
+	private final ReentrantLock writeLock = new ReentrantLock();
+	private final Map<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+
+	private Segment active;
+
+	private SegmentStore(Path dir, int segmentBytes, boolean sync, int expectedKeys) {
+		this.dir = dir;
+		this.segmentBytes = segmentBytes;
+		this.sync = sync;
+		this.index = new LongLongMap(expectedKeys);
+	}
+
+	/**
+	 * Abre (ou cria) o armazenamento no diretório e reconstrói o índice a partir dos segmentos.
+	 *
+	 * @param sync força a gravação em disco a cada escrita; sem ela, uma queda do processo não perde
+	 * nada (as páginas mapeadas ficam com o sistema operacional), mas uma queda da máquina pode perder o final
+	 */
+	public static SegmentStore open(Path dir, int segmentBytes, boolean sync) {
+		return open(dir, segmentBytes, sync, 1024);
+	}
+
+	public static SegmentStore open(Path dir, int segmentBytes, boolean sync, int expectedKeys) {
+		if (segmentBytes < 4096) {
+			throw new IllegalArgumentException("Segment too small: " + segmentBytes);
+		}
+		SegmentStore store = new SegmentStore(dir, segmentBytes, sync, expectedKeys);
+		try {
+			Files.createDirectories(dir);
+			List<Integer> ids = new ArrayList<>();
+			try (Stream<Path> files = Files.list(dir)) {
+				files.map(p -> p.getFileName().toString())
+					.filter(name -> name.endsWith(SUFFIX))
+					.forEach(name -> ids.add(Integer.parseInt(name.substring(0, name.length() - SUFFIX.length()))));
+			}
+			ids.sort(null);
+			for (int id : ids) {
+				store.recover(store.map(id));
+			}
+			if (store.active == null) {
+				store.active = store.map(0);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return store;
+	}
+
+	public int size() {
+		long stamp = indexLock.readLock();
+		try {
+			return index.size();
+		}
+		finally {
+			indexLock.unlockRead(stamp);
+		}
+	}
+
+	public int segmentCount() {
+		return segments.size();
+	}
+
+	/**
+	 * Bytes de registros substituídos ou removidos nos segmentos fechados, que a compactação recupera.
+	 */
+	public long deadBytes() {
+		long dead = 0;
+		for (Segment segment : segments.values()) {
+			if (segment != active) {
+				dead += segment.dead;
+			}
+		}
+		return dead;
+	}
+
+	public long sealedBytes() {
+		long used = 0;
+		for (Segment segment : segments.values()) {
+			if (segment != active) {
+				used += segment.end;
+			}
+		}
+		return used;
+	}
+
+	public boolean contains(long key) {
+		return location(key) != LongLongMap.ABSENT;
+	}
+
+	/**
+	 * Dados gravados para a chave, ou {@code null}.
+	 */
+	public byte[] get(long key) {
+		while (true) {
+			long location = location(key);
+			if (location == LongLongMap.ABSENT) {
+				return null;
+			}
+			Segment segment = segments.get(segmentOf(location));
+			if (segment != null) {
+				return segment.payload(offsetOf(location));
+			}
+			// a compactação acabou de mover o registro: a próxima leitura do índice já aponta a cópia
+		}
+	}
+
+	/**
+	 * Entrega chave e dados de todos os registros vivos, em ordem de segmento e posição.
+	 */
+	public void forEach(BiConsumer<Long, byte[]> consumer) {
+		for (Segment segment : segments.values()) {
+			int offset = 0;
+			while (offset < segment.end) {
+				int size = segment.buffer.getInt(offset);
+				long key = segment.buffer.getLong(offset + 9);
+				if (segment.buffer.get(offset + 8) == PUT && location(key) == locationOf(segment.id, offset)) {
+					consumer.accept(key, segment.payload(offset));
+				}
+				offset += size;
+			}
+		}
+	}
+
+	public void put(long key, byte[] payload) {
+		writeLock.lock();
+		try {
+			long location = append(PUT, key, payload, 0, payload.length);
+			long previous;
+			long stamp = indexLock.writeLock();
+			try {
+				previous = index.put(key, location);
+			}
+			finally {
+				indexLock.unlockWrite(stamp);
+			}
+			discard(previous);
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Grava um tombstone e devolve se a chave existia.
+	 */
+	public boolean delete(long key) {
+		writeLock.lock();
+		try {
+			if (location(key) == LongLongMap.ABSENT) {
+				return false;
+			}
+			long tombstone = append(TOMBSTONE, key, null, 0, 0);
+			long previous;
+			long stamp = indexLock.writeLock();
+			try {
+				previous = index.remove(key);
+			}
+			finally {
+				indexLock.unlockWrite(stamp);
+			}
+			discard(previous);
+			// o próprio tombstone vira espaço morto quando não houver mais segmento antigo a sombrear
+			segments.get(segmentOf(tombstone)).dead += HEADER;
+			return true;
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Força em disco o que foi gravado no segmento ativo (para quem grava em lote sem {@code sync}).
+	 */
+	public void flush() {
+		writeLock.lock();
+		try {
+			active.buffer.force();
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Compacta se o espaço morto dos segmentos fechados passar da fração indicada do que eles ocupam.
+	 */
+	public boolean compactIfNeeded(double deadRatio) {
+		long sealed = sealedBytes();
+		if (sealed == 0 || deadBytes() < sealed * deadRatio) {
+			return false;
+		}
+		compact();
+		return true;
+	}
+
+	/**
+	 * Copia os registros vivos de todos os segmentos fechados para o fim do armazenamento e apaga
+	 * os arquivos deles. Escritas concorrentes continuam; cada registro é copiado com o lock de escrita.
+	 */
+	public void compact() {
+		List<Segment> sealed = new ArrayList<>();
+		writeLock.lock();
+		try {
+			for (Segment segment : segments.values()) {
+				if (segment != active) {
+					sealed.add(segment);
+				}
+			}
+		}
+		finally {
+			writeLock.unlock();
+		}
+		for (Segment segment : sealed) {
+			int offset = 0;
+			while (offset < segment.end) {
+				int size = segment.buffer.getInt(offset);
+				if (segment.buffer.get(offset + 8) == PUT) {
+					moveIfLive(segment, offset, size);
+				}
+				offset += size;
+			}
+			writeLock.lock();
+			try {
+				// depois disto nenhuma entrada do índice aponta para o segmento; leitores atrasados tentam de novo
+				segments.remove(segment.id);
+				segment.channel.close();
+				Files.deleteIfExists(segment.path);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			finally {
+				writeLock.unlock();
+			}
+		}
+		if (!sealed.isEmpty()) {
+			flush();
+		}
+	}
+
+	@Override
+	public void close() {
+		writeLock.lock();
+		try {
+			for (Segment segment : segments.values()) {
+				segment.buffer.force();
+				segment.channel.close();
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	private void moveIfLive(Segment segment, int offset, int size) {
+		long key = segment.buffer.getLong(offset + 9);
+		writeLock.lock();
+		try {
+			if (location(key) != locationOf(segment.id, offset)) {
+				return;
+			}
+			int length = size - HEADER;
+			byte[] payload = new byte[length];
+			segment.buffer.get(offset + HEADER, payload);
+			long location = append(PUT, key, payload, 0, length);
+			long stamp = indexLock.writeLock();
+			try {
+				index.put(key, location);
+			}
+			finally {
+				indexLock.unlockWrite(stamp);
+			}
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	private long location(long key) {
+		long stamp = indexLock.tryOptimisticRead();
+		long location = index.get(key);
+		if (!indexLock.validate(stamp)) {
+			stamp = indexLock.readLock();
+			try {
+				location = index.get(key);
+			}
+			finally {
+				indexLock.unlockRead(stamp);
+			}
+		}
+		return location;
+	}
+
+	private void discard(long previous) {
+		if (previous != LongLongMap.ABSENT) {
+			Segment segment = segments.get(segmentOf(previous));
+			if (segment != null) {
+				segment.dead += segment.buffer.getInt(offsetOf(previous));
+			}
+		}
+	}
+
+	// chamado com o lock de escrita
+	private long append(byte type, long key, byte[] payload, int from, int length) {
+		int size = HEADER + length;
+		if (size > segmentBytes) {
+			throw new IllegalArgumentException("Record of " + size + " bytes does not fit a segment of " + segmentBytes);
+		}
+		if (active.end + size > segmentBytes) {
+			try {
+				active.buffer.force();
+				active = map(active.id + 1);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		Segment segment = active;
+		int offset = segment.end;
+		MappedByteBuffer buffer = segment.buffer;
+		buffer.put(offset + 8, type);
+		buffer.putLong(offset + 9, key);
+		if (length > 0) {
+			buffer.put(offset + HEADER, payload, from, length);
+		}
+		buffer.putInt(offset + 4, checksum(buffer, offset, size));
+		// o tamanho por último: até aqui, quem ler o segmento vê o fim
+		buffer.putInt(offset, size);
+		segment.end = offset + size;
+		if (sync) {
+			buffer.force(offset, size);
+		}
+		return locationOf(segment.id, offset);
+	}
+
+	private Segment map(int id) throws IOException {
+		Path path = dir.resolve(String.format("%08d%s", id, SUFFIX));
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+		Segment segment = new Segment(id, path, channel, buffer);
+		segments.put(id, segment);
+		return segment;
+	}
+
+	// refaz o índice com os registros do segmento; o último segmento lido vira o ativo
+	private void recover(Segment segment) {
+		MappedByteBuffer buffer = segment.buffer;
+		int offset = 0;
+		while (offset + HEADER <= segmentBytes) {
+			int size = buffer.getInt(offset);
+			if (size == 0) {
+				break;
+			}
+			if (size < HEADER || size > segmentBytes - offset || buffer.getInt(offset + 4) != checksum(buffer, offset, size)) {
+				// registro incompleto de uma queda: descarta dele até o fim do segmento
+				for (int i = offset; i < segmentBytes; i++) {
+					buffer.put(i, (byte) 0);
+				}
+				buffer.force();
+				break;
+			}
+			long key = buffer.getLong(offset + 9);
+			if (buffer.get(offset + 8) == PUT) {
+				discard(index.put(key, locationOf(segment.id, offset)));
+			}
+			else {
+				discard(index.remove(key));
+				segment.dead += HEADER;
+			}
+			offset += size;
+		}
+		segment.end = offset;
+		active = segment;
+	}
+
+	private static int checksum(ByteBuffer buffer, int offset, int size) {
+		CRC32C crc = new CRC32C();
+		crc.update(buffer.slice(offset + 8, size - 8));
+		return (int) crc.getValue();
+	}
+
+	private static long locationOf(int segment, int offset) {
+		return ((long) segment << 32) | offset;
+	}
+
+	private static int segmentOf(long location) {
+		return (int) (location >>> 32);
+	}
+
+	private static int offsetOf(long location) {
+		return (int) location;
+	}
+
+	private static final class Segment {
+
+		final int id;
+		final Path path;
+		final FileChannel channel;
+		final MappedByteBuffer buffer;
+
+		// só alterados com o lock de escrita; end é lido pelas varreduras depois de publicado no índice
+		volatile int end;
+		long dead;
+
+		Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+			this.id = id;
+			this.path = path;
+			this.channel = channel;
+			this.buffer = buffer;
+		}
+
+		byte[] payload(int offset) {
+			int length = buffer.getInt(offset) - HEADER;
+			byte[] payload = new byte[length];
+			buffer.get(offset + HEADER, payload);
+			return payload;
+		}
+	}
+}
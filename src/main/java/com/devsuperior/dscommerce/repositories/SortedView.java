@@ -0,0 +1,264 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import com.devsuperior.dscommerce.entities.Product;
+
+/**
+ * Visão ordenada e imutável do catálogo, dividida em blocos de até {@code 2 * CHUNK_SIZE} produtos.
+ *
+ * Uma inserção ou remoção copia só o bloco afetado e o diretório de blocos, e devolve uma
+ * nova visão; quem está lendo a visão anterior não é afetado. Uma página é localizada por
+ * busca binária no total acumulado de cada bloco, então custa O(log n + tamanho da página).
+ */
+final class SortedView {
+
+	static final int CHUNK_SIZE = 512;
+
+	private static final Product[][] NO_CHUNKS = new Product[0][];
+
+	private final Comparator<Product> comparator;
+	private final Product[][] chunks;
+	private final int[] ends;
+
+	private SortedView(Comparator<Product> comparator, Product[][] chunks) {
+		this.comparator = comparator;
+		this.chunks = chunks;
+		this.ends = new int[chunks.length];
+		int acc = 0;
+		for (int i = 0; i < chunks.length; i++) {
+			acc += chunks[i].length;
+			ends[i] = acc;
+		}
+	}
+
+	static SortedView empty(Comparator<Product> comparator) {
+		return new SortedView(comparator, NO_CHUNKS);
+	}
+
+	static SortedView of(Collection<Product> products, Comparator<Product> comparator) {
+		Product[] all = products.toArray(new Product[0]);
+		Arrays.parallelSort(all, comparator);
+		int count = (all.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		Product[][] chunks = new Product[count][];
+		for (int i = 0; i < count; i++) {
+			chunks[i] = Arrays.copyOfRange(all, i * CHUNK_SIZE, Math.min(all.length, (i + 1) * CHUNK_SIZE));
+		}
+		return new SortedView(comparator, chunks);
+	}
+
+	int size() {
+		return ends.length == 0 ? 0 : ends[ends.length - 1];
+	}
+
+	SortedView insert(Product product) {
+		if (chunks.length == 0) {
+			return new SortedView(comparator, new Product[][] { { product } });
+		}
+		int ci = chunkFor(product);
+		Product[] chunk = chunks[ci];
+		int pos = Arrays.binarySearch(chunk, product, comparator);
+		if (pos >= 0) {
+			Product[] replaced = chunk.clone();
+			replaced[pos] = product;
+			return withChunk(ci, replaced);
+		}
+		pos = -pos - 1;
+		Product[] grown = new Product[chunk.length + 1];
+		System.arraycopy(chunk, 0, grown, 0, pos);
+		grown[pos] = product;
+		System.arraycopy(chunk, pos, grown, pos + 1, chunk.length - pos);
+		if (grown.length <= 2 * CHUNK_SIZE) {
+			return withChunk(ci, grown);
+		}
+		// bloco cheio: divide em dois
+		Product[][] split = new Product[chunks.length + 1][];
+		System.arraycopy(chunks, 0, split, 0, ci);
+		split[ci] = Arrays.copyOfRange(grown, 0, grown.length / 2);
+		split[ci + 1] = Arrays.copyOfRange(grown, grown.length / 2, grown.length);
+		System.arraycopy(chunks, ci + 1, split, ci + 2, chunks.length - ci - 1);
+		return new SortedView(comparator, split);
+	}
+
+	/**
+	 * Remove o produto informado; ele precisa ter as mesmas chaves de ordenação da versão guardada.
+	 */
+	SortedView remove(Product product) {
+		if (chunks.length == 0) {
+			return this;
+		}
+		int ci = chunkFor(product);
+		Product[] chunk = chunks[ci];
+		int pos = Arrays.binarySearch(chunk, product, comparator);
+		if (pos < 0) {
+			return this;
+		}
+		if (chunk.length == 1) {
+			Product[][] shrunk = new Product[chunks.length - 1][];
+			System.arraycopy(chunks, 0, shrunk, 0, ci);
+			System.arraycopy(chunks, ci + 1, shrunk, ci, chunks.length - ci - 1);
+			return new SortedView(comparator, shrunk);
+		}
+		Product[] smaller = new Product[chunk.length - 1];
+		System.arraycopy(chunk, 0, smaller, 0, pos);
+		System.arraycopy(chunk, pos + 1, smaller, pos, chunk.length - pos - 1);
+		return withChunk(ci, smaller);
+	}
+
+	List<Product> slice(long offset, int limit, boolean descending) {
+		return slice(0, size(), offset, limit, descending);
+	}
+
+	/**
+	 * Página dentro do trecho [from, to) da visão, com o deslocamento contado a partir
+	 * do início (ou do fim, se decrescente) desse trecho.
+	 */
+	List<Product> slice(int from, int to, long offset, int limit, boolean descending) {
+		int size = to - from;
+		if (offset >= size || limit <= 0) {
+			return List.of();
+		}
+		int count = (int) Math.min(limit, size - offset);
+		int start = from + (descending ? (int) (size - offset - count) : (int) offset);
+		List<Product> result = new ArrayList<>(count);
+		int ci = chunkAt(start);
+		int index = start - (ci == 0 ? 0 : ends[ci - 1]);
+		while (result.size() < count) {
+			Product[] chunk = chunks[ci];
+			int take = Math.min(chunk.length - index, count - result.size());
+			for (int i = 0; i < take; i++) {
+				result.add(chunk[index + i]);
+			}
+			ci++;
+			index = 0;
+		}
+		if (descending) {
+			Collections.reverse(result);
+		}
+		return result;
+	}
+
+	long scan(Predicate<Product> filter, long offset, int limit, boolean descending, List<Product> page) {
+		return scan(0, size(), filter, offset, limit, descending, page);
+	}
+
+	/**
+	 * Percorre o trecho [from, to) em ordem aplicando o filtro; guarda só a janela pedida e devolve o total filtrado.
+	 */
+	long scan(int from, int to, Predicate<Product> filter, long offset, int limit, boolean descending,
+			List<Product> page) {
+		if (from >= to) {
+			return 0;
+		}
+		long matched = 0;
+		int first = chunkAt(from);
+		int last = chunkAt(to - 1);
+		for (int c = 0; c <= last - first; c++) {
+			int ci = descending ? last - c : first + c;
+			Product[] chunk = chunks[ci];
+			int base = (ci == 0) ? 0 : ends[ci - 1];
+			int lo = Math.max(0, from - base);
+			int hi = Math.min(chunk.length, to - base);
+			for (int i = lo; i < hi; i++) {
+				Product p = chunk[descending ? hi - 1 - (i - lo) : i];
+				if (filter.test(p)) {
+					if (matched >= offset && page.size() < limit) {
+						page.add(p);
+					}
+					matched++;
+				}
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * Quantos produtos da visão vêm antes de {@code probe} na ordem dela (busca binária).
+	 */
+	int rank(Product probe) {
+		if (chunks.length == 0) {
+			return 0;
+		}
+		int ci = chunkFor(probe);
+		int pos = Arrays.binarySearch(chunks[ci], probe, comparator);
+		return (ci == 0 ? 0 : ends[ci - 1]) + ((pos >= 0) ? pos : -pos - 1);
+	}
+
+	/**
+	 * Percorre esta versão da visão em ordem, bloco a bloco, sem copiar nada; escritas
+	 * posteriores não afetam o percurso.
+	 */
+	Iterator<Product> iterator() {
+		return new Iterator<>() {
+
+			private int ci;
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return ci < chunks.length;
+			}
+
+			@Override
+			public Product next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Product[] chunk = chunks[ci];
+				Product product = chunk[index++];
+				if (index == chunk.length) {
+					ci++;
+					index = 0;
+				}
+				return product;
+			}
+		};
+	}
+
+	private SortedView withChunk(int ci, Product[] chunk) {
+		Product[][] copy = chunks.clone();
+		copy[ci] = chunk;
+		return new SortedView(comparator, copy);
+	}
+
+	// primeiro bloco cujo último elemento é >= produto (ou o último bloco)
+	private int chunkFor(Product product) {
+		int lo = 0;
+		int hi = chunks.length - 1;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			Product[] chunk = chunks[mid];
+			if (comparator.compare(chunk[chunk.length - 1], product) < 0) {
+				lo = mid + 1;
+			}
+			else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	// bloco que contém a posição absoluta informada
+	private int chunkAt(int position) {
+		int lo = 0;
+		int hi = ends.length - 1;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (ends[mid] <= position) {
+				lo = mid + 1;
+			}
+			else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+}
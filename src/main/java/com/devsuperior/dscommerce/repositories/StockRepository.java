@@ -0,0 +1,312 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Estoque por produto, só para os produtos que controlam estoque (os demais não têm limite).
+ *
+ * Os ids são espalhados em 64 faixas, cada uma com seu lock e seu {@link LongLongMap};
+ * pedidos de produtos em faixas diferentes não disputam o mesmo lock. {@link #reserve(long[], long[])}
+ * baixa todos os itens de um pedido ou nenhum: trava as faixas envolvidas sempre em ordem crescente
+ * de faixa (dois pedidos com os mesmos produtos nunca esperam um pelo outro em ciclo), confere tudo e
+ * só então baixa. {@link #lock(long...)} dá as mesmas faixas a quem precisa se coordenar com a reserva,
+ * como a remoção de um produto.
+ *
+ * Com o {@link EntityStore} ligado, cada mudança também vai para o disco, dentro do lock da faixa (duas
+ * gravações do mesmo produto nunca chegam fora de ordem), e o estoque volta na subida. O
+ * {@link #reset(Snapshot)} só volta a memória.
+ */
+@Repository
+public class StockRepository {
+
+	/**
+	 * Resultado de {@link #reserve(long[], long[])} quando todos os itens foram reservados.
+	 */
+	public static final long RESERVED = -1L;
+
+	private static final int STRIPE_BITS = 6;
+	private static final int STRIPES = 1 << STRIPE_BITS;
+
+	private final EntityStore store;
+	private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+	private final LongLongMap[] units = new LongLongMap[STRIPES];
+
+	public StockRepository() {
+		this(EntityStore.disabled());
+	}
+
+	@Autowired
+	public StockRepository(EntityStore store) {
+		this.store = store;
+		for (int i = 0; i < STRIPES; i++) {
+			locks[i] = new ReentrantLock();
+			units[i] = new LongLongMap();
+		}
+		store.loadStock((productId, stock) -> units[stripe(productId)].put(productId, stock));
+	}
+
+	/**
+	 * Unidades disponíveis, ou {@link LongLongMap#ABSENT} se o produto não controla estoque.
+	 */
+	public long available(long productId) {
+		int stripe = stripe(productId);
+		locks[stripe].lock();
+		try {
+			return units[stripe].get(productId);
+		}
+		finally {
+			locks[stripe].unlock();
+		}
+	}
+
+	/**
+	 * Define o estoque do produto; {@code null} deixa o produto sem controle de estoque.
+	 */
+	public void set(long productId, Integer stock) {
+		int stripe = stripe(productId);
+		locks[stripe].lock();
+		try {
+			put(productId, stock);
+		}
+		finally {
+			locks[stripe].unlock();
+		}
+	}
+
+	public void remove(long productId) {
+		set(productId, null);
+	}
+
+	/**
+	 * Troca o estoque por {@code stock} só se ele ainda for {@code expected}; {@code null} nos dois
+	 * significa "sem controle de estoque". Evita sobrescrever unidades reservadas desde a leitura.
+	 *
+	 * @return se trocou
+	 */
+	public boolean compareAndSet(long productId, Integer expected, Integer stock) {
+		int stripe = stripe(productId);
+		locks[stripe].lock();
+		try {
+			long current = units[stripe].get(productId);
+			if (current != ((expected == null) ? LongLongMap.ABSENT : expected)) {
+				return false;
+			}
+			put(productId, stock);
+			return true;
+		}
+		finally {
+			locks[stripe].unlock();
+		}
+	}
+
+	/**
+	 * Baixa {@code quantities[i]} unidades de {@code productIds[i]} para todos os itens, ou para nenhum.
+	 * Ids repetidos somam as quantidades; produtos sem controle de estoque não baixam nada.
+	 *
+	 * @return {@link #RESERVED}, ou o id do primeiro produto (em ordem de id) sem estoque suficiente
+	 * @throws IllegalArgumentException se alguma quantidade não for positiva
+	 */
+	public long reserve(long[] productIds, long[] quantities) {
+		try (Locked locked = lock(productIds)) {
+			return locked.reserve(productIds, quantities);
+		}
+	}
+
+	/**
+	 * Trava as faixas dos produtos, na mesma ordem que a reserva, até o {@link Locked#close()}. Quem
+	 * precisa conferir e alterar algo desses produtos sem um pedido no meio (ex.: a remoção do produto)
+	 * faz isso com elas travadas.
+	 */
+	public Locked lock(long... productIds) {
+		int[] stripes = stripesOf(productIds);
+		lockAll(stripes);
+		return new Locked(stripes);
+	}
+
+	/**
+	 * Devolve unidades de uma reserva que não virou pedido.
+	 */
+	public void release(long[] productIds, long[] quantities) {
+		long[][] items = aggregate(productIds, quantities);
+		long[] ids = items[0];
+		long[] returned = items[1];
+		int[] stripes = stripesOf(ids);
+		lockAll(stripes);
+		try {
+			for (int i = 0; i < ids.length; i++) {
+				LongLongMap map = units[stripe(ids[i])];
+				long current = map.get(ids[i]);
+				if (current != LongLongMap.ABSENT) {
+					map.put(ids[i], current + returned[i]);
+					store.putStock(ids[i], current + returned[i]);
+				}
+			}
+		}
+		finally {
+			unlockAll(stripes);
+		}
+	}
+
+	/**
+	 * Cópia do estoque de todos os produtos; custa O(produtos com estoque).
+	 */
+	public Snapshot snapshot() {
+		LongLongMap[] copy = new LongLongMap[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			locks[i].lock();
+			try {
+				copy[i] = units[i].copy();
+			}
+			finally {
+				locks[i].unlock();
+			}
+		}
+		return new Snapshot(copy);
+	}
+
+	public void reset(Snapshot snapshot) {
+		for (int i = 0; i < STRIPES; i++) {
+			locks[i].lock();
+			try {
+				units[i] = snapshot.units[i].copy();
+			}
+			finally {
+				locks[i].unlock();
+			}
+		}
+	}
+
+	// chamado com o lock da faixa do produto
+	private void put(long productId, Integer stock) {
+		LongLongMap map = units[stripe(productId)];
+		if (stock == null) {
+			if (map.remove(productId) != LongLongMap.ABSENT) {
+				store.deleteStock(productId);
+			}
+		}
+		else {
+			map.put(productId, stock);
+			store.putStock(productId, stock);
+		}
+	}
+
+	// ids distintos em ordem crescente, com as quantidades somadas
+	private static long[][] aggregate(long[] productIds, long[] quantities) {
+		int n = productIds.length;
+		long[][] pairs = new long[n][];
+		for (int i = 0; i < n; i++) {
+			if (quantities[i] <= 0) {
+				throw new IllegalArgumentException("Non-positive quantity: " + quantities[i]);
+			}
+			pairs[i] = new long[] { productIds[i], quantities[i] };
+		}
+		Arrays.sort(pairs, 0, n, (a, b) -> Long.compare(a[0], b[0]));
+		long[] ids = new long[n];
+		long[] sums = new long[n];
+		int distinct = 0;
+		for (int i = 0; i < n; i++) {
+			if (distinct > 0 && ids[distinct - 1] == pairs[i][0]) {
+				sums[distinct - 1] += pairs[i][1];
+			}
+			else {
+				ids[distinct] = pairs[i][0];
+				sums[distinct] = pairs[i][1];
+				distinct++;
+			}
+		}
+		return new long[][] { Arrays.copyOf(ids, distinct), Arrays.copyOf(sums, distinct) };
+	}
+
+	// faixas distintas em ordem crescente: a ordem única de aquisição que evita deadlock
+	private static int[] stripesOf(long[] ids) {
+		int[] stripes = new int[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			stripes[i] = stripe(ids[i]);
+		}
+		return Arrays.stream(stripes).sorted().distinct().toArray();
+	}
+
+	private void lockAll(int[] stripes) {
+		for (int stripe : stripes) {
+			locks[stripe].lock();
+		}
+	}
+
+	private void unlockAll(int[] stripes) {
+		for (int i = stripes.length - 1; i >= 0; i--) {
+			locks[stripes[i]].unlock();
+		}
+	}
+
+	private static int stripe(long productId) {
+		long h = productId * 0x9E3779B97F4A7C15L;
+		return (int) (h >>> (64 - STRIPE_BITS));
+	}
+
+	/**
+	 * Faixas travadas por {@link StockRepository#lock(long...)}; só aceita produtos dessas faixas.
+	 */
+	public final class Locked implements AutoCloseable {
+
+		private final int[] stripes;
+
+		private Locked(int[] stripes) {
+			this.stripes = stripes;
+		}
+
+		/**
+		 * Como {@link StockRepository#reserve(long[], long[])}, com as faixas já travadas.
+		 */
+		public long reserve(long[] productIds, long[] quantities) {
+			long[][] items = aggregate(productIds, quantities);
+			long[] ids = items[0];
+			long[] wanted = items[1];
+			for (int i = 0; i < ids.length; i++) {
+				long current = units[checkLocked(ids[i])].get(ids[i]);
+				if (current != LongLongMap.ABSENT && current < wanted[i]) {
+					return ids[i];
+				}
+			}
+			for (int i = 0; i < ids.length; i++) {
+				LongLongMap map = units[stripe(ids[i])];
+				long current = map.get(ids[i]);
+				if (current != LongLongMap.ABSENT) {
+					map.put(ids[i], current - wanted[i]);
+					store.putStock(ids[i], current - wanted[i]);
+				}
+			}
+			return RESERVED;
+		}
+
+		public void remove(long productId) {
+			checkLocked(productId);
+			put(productId, null);
+		}
+
+		@Override
+		public void close() {
+			unlockAll(stripes);
+		}
+
+		private int checkLocked(long productId) {
+			int stripe = stripe(productId);
+			if (Arrays.binarySearch(stripes, stripe) < 0) {
+				throw new IllegalStateException("Stock of product " + productId + " is not locked");
+			}
+			return stripe;
+		}
+	}
+
+	public static final class Snapshot {
+
+		private final LongLongMap[] units;
+
+		private Snapshot(LongLongMap[] units) {
+			this.units = units;
+		}
+	}
+}
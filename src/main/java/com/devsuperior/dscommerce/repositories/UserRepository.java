@@ -0,0 +1,65 @@
+package com.devsuperior.dscommerce.repositories;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscommerce.entities.User;
+
+/**
+ * Usuários em mapas que não mudam depois de publicados: cada escrita monta cópias novas,
+ * o que só acontece na carga inicial. Assim o {@link #snapshot()} é só a referência atual.
+ */
+@Repository
+public class UserRepository {
+
+	private volatile Users users = new Users(new HashMap<>(), new HashMap<>());
+
+	public Optional<User> findById(Long id) {
+		return Optional.ofNullable(users.byId().get(id));
+	}
+
+	public Optional<User> findByEmail(String email) {
+		return Optional.ofNullable(users.byEmail().get(email));
+	}
+
+	public User save(User user) {
+		saveAll(List.of(user));
+		return user;
+	}
+
+	public synchronized void saveAll(Collection<User> batch) {
+		Users current = users;
+		Map<Long, User> byId = new HashMap<>(current.byId());
+		Map<String, User> byEmail = new HashMap<>(current.byEmail());
+		for (User user : batch) {
+			byId.put(user.getId(), user);
+			byEmail.put(user.getEmail(), user);
+		}
+		users = new Users(byId, byEmail);
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(users);
+	}
+
+	public void reset(Snapshot snapshot) {
+		users = snapshot.users;
+	}
+
+	private record Users(Map<Long, User> byId, Map<String, User> byEmail) {
+	}
+
+	public static final class Snapshot {
+
+		private final Users users;
+
+		private Snapshot(Users users) {
+			this.users = users;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.devsuperior.dscommerce.security;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.devsuperior.dscommerce.services.exceptions.ForbiddenException;
+import com.devsuperior.dscommerce.services.exceptions.UnauthorizedException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Papel do resource server: lê o Bearer token e aplica o {@link RequiresRole} do handler.
+ *
+ * Um token inválido responde 401 mesmo em rotas públicas, como no Spring Security.
+ */
+@Component
+public class AuthInterceptor implements HandlerInterceptor {
+
+	private final TokenService tokenService;
+
+	public AuthInterceptor(TokenService tokenService) {
+		this.tokenService = tokenService;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		String header = request.getHeader("Authorization");
+		AuthenticatedUser user = null;
+		if (header != null && header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+			user = tokenService.verify(header.substring(7).trim())
+					.orElseThrow(() -> new UnauthorizedException("Token inválido"));
+			request.setAttribute(AuthenticatedUser.ATTRIBUTE, user);
+		}
+
+		if (handler instanceof HandlerMethod method) {
+			RequiresRole required = method.getMethodAnnotation(RequiresRole.class);
+			if (required != null) {
+				if (user == null) {
+					throw new UnauthorizedException("Token ausente");
+				}
+				if (!hasAnyRole(user, required.value())) {
+					throw new ForbiddenException("Access denied");
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean hasAnyRole(AuthenticatedUser user, String[] roles) {
+		for (String role : roles) {
+			if (user.hasRole(role)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
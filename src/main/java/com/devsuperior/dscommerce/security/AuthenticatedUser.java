@@ -0,0 +1,15 @@
+package com.devsuperior.dscommerce.security;
+
+import java.util.List;
+
+/**
+ * Usuário dono do token da requisição atual.
+ */
+public record AuthenticatedUser(Long userId, String username, List<String> roles) {
+
+	public static final String ATTRIBUTE = AuthenticatedUser.class.getName();
+
+	public boolean hasRole(String role) {
+		return roles.contains(role);
+	}
+}
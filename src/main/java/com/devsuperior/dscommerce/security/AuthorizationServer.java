@@ -0,0 +1,68 @@
+package com.devsuperior.dscommerce.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+
+/**
+ * Grant type "password" do /oauth2/token, com o cliente autenticado por HTTP Basic.
+ */
+@Component
+public class AuthorizationServer {
+
+	@Value("${security.client-id}")
+	private String clientId;
+
+	@Value("${security.client-secret}")
+	private String clientSecret;
+
+	private final UserRepository userRepository;
+	private final TokenService tokenService;
+
+	public AuthorizationServer(UserRepository userRepository, TokenService tokenService) {
+		this.userRepository = userRepository;
+		this.tokenService = tokenService;
+	}
+
+	public TokenService.IssuedToken passwordGrant(String authorization, String grantType, String username,
+			String password) {
+		authenticateClient(authorization);
+		if (!"password".equals(grantType)) {
+			throw new OAuth2AuthenticationException(HttpStatus.BAD_REQUEST, "unsupported_grant_type");
+		}
+		User user = (username == null) ? null : userRepository.findByEmail(username).orElse(null);
+		if (user == null || password == null || !constantTimeEquals(user.getPassword(), password)) {
+			throw new OAuth2AuthenticationException(HttpStatus.BAD_REQUEST, "invalid_grant");
+		}
+		return tokenService.issue(user);
+	}
+
+	private void authenticateClient(String authorization) {
+		if (authorization == null || !authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+			throw new OAuth2AuthenticationException(HttpStatus.UNAUTHORIZED, "invalid_client");
+		}
+		String decoded;
+		try {
+			decoded = new String(Base64.getDecoder().decode(authorization.substring(6).trim()), StandardCharsets.UTF_8);
+		}
+		catch (IllegalArgumentException e) {
+			throw new OAuth2AuthenticationException(HttpStatus.UNAUTHORIZED, "invalid_client");
+		}
+		int colon = decoded.indexOf(':');
+		if (colon < 0 || !constantTimeEquals(clientId, decoded.substring(0, colon))
+				|| !constantTimeEquals(clientSecret, decoded.substring(colon + 1))) {
+			throw new OAuth2AuthenticationException(HttpStatus.UNAUTHORIZED, "invalid_client");
+		}
+	}
+
+	private static boolean constantTimeEquals(String expected, String actual) {
+		return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+	}
+}
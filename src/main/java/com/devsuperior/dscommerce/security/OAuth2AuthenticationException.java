@@ -0,0 +1,22 @@
+package com.devsuperior.dscommerce.security;
+
+import org.springframework.http.HttpStatus;
+
+@SuppressWarnings("serial")
+public class OAuth2AuthenticationException extends RuntimeException {
+
+	private final HttpStatus status;
+
+	public OAuth2AuthenticationException(HttpStatus status, String errorCode) {
+		super(errorCode);
+		this.status = status;
+	}
+
+	public HttpStatus getStatus() {
+		return status;
+	}
+
+	public String getErrorCode() {
+		return getMessage();
+	}
+}
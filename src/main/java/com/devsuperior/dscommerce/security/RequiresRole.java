@@ -0,0 +1,17 @@
+package com.devsuperior.dscommerce.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Equivalente ao {@code @PreAuthorize("hasAnyRole(...)")} do DSCommerce:
+ * sem token válido responde 401, sem nenhum dos papéis responde 403.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresRole {
+
+	String[] value();
+}
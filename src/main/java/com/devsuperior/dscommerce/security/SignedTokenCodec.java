@@ -0,0 +1,98 @@
+package com.devsuperior.dscommerce.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Token compacto no formato JWT assinado com HS256: {@code header.payload.assinatura} em Base64 URL.
+ *
+ * O payload leva o id e o e-mail do usuário, os papéis e a expiração, então o resource server
+ * valida o token só com a chave, sem consultar nada.
+ */
+public class SignedTokenCodec {
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+	private static final String HEADER = ENCODER.encodeToString(
+			"{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+	private final ObjectMapper objectMapper;
+	private final SecretKeySpec key;
+	private final ThreadLocal<Mac> macs;
+
+	public SignedTokenCodec(ObjectMapper objectMapper, byte[] secret) {
+		this.objectMapper = objectMapper;
+		this.key = new SecretKeySpec(secret, ALGORITHM);
+		this.macs = ThreadLocal.withInitial(this::newMac);
+	}
+
+	public String encode(AuthenticatedUser user, long expiresAtSeconds) {
+		Payload payload = new Payload(user.userId(), user.username(), user.roles(), expiresAtSeconds);
+		try {
+			String signingInput = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(payload));
+			return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Claims do token, se a assinatura confere e ele ainda não expirou em {@code nowMillis}.
+	 */
+	public Optional<TokenClaims> decode(String token, long nowMillis) {
+		int first = token.indexOf('.');
+		int second = token.indexOf('.', first + 1);
+		if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+			return Optional.empty();
+		}
+		try {
+			byte[] signature = DECODER.decode(token.substring(second + 1));
+			if (!MessageDigest.isEqual(signature, sign(token.substring(0, second)))) {
+				return Optional.empty();
+			}
+			Payload payload = objectMapper.readValue(DECODER.decode(token.substring(first + 1, second)), Payload.class);
+			long expiresAt = payload.exp() * 1000L;
+			if (nowMillis >= expiresAt) {
+				return Optional.empty();
+			}
+			return Optional.of(new TokenClaims(new AuthenticatedUser(payload.uid(), payload.sub(),
+					List.copyOf(payload.authorities())), expiresAt));
+		}
+		catch (IllegalArgumentException | IOException e) {
+			return Optional.empty();
+		}
+	}
+
+	private byte[] sign(String signingInput) {
+		return macs.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			return mac;
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public record TokenClaims(AuthenticatedUser user, long expiresAt) {
+	}
+
+	private record Payload(Long uid, String sub, List<String> authorities, long exp) {
+	}
+}
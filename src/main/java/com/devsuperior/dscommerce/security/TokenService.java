@@ -0,0 +1,102 @@
+package com.devsuperior.dscommerce.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.entities.Role;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.security.SignedTokenCodec.TokenClaims;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Emite tokens assinados ({@link SignedTokenCodec}) e os valida localmente.
+ *
+ * Tokens já verificados ficam num mapa pequeno, por até {@code security.jwt.cache.ttl-seconds}
+ * (nunca além da expiração do token), para a mesma assinatura não ser recalculada a cada requisição.
+ * Sem {@code security.jwt.secret}, a chave é gerada na subida e os tokens valem só para esta instância.
+ */
+@Service
+public class TokenService {
+
+	private final SignedTokenCodec codec;
+	private final long durationSeconds;
+	private final long cacheTtlMillis;
+	private final int cacheMaxEntries;
+
+	private final Map<String, CachedClaims> verified = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public TokenService(ObjectMapper objectMapper,
+			@Value("${security.jwt.secret:}") String secret,
+			@Value("${security.jwt.duration:86400}") long durationSeconds,
+			@Value("${security.jwt.cache.ttl-seconds:300}") long cacheTtlSeconds,
+			@Value("${security.jwt.cache.max-entries:10000}") int cacheMaxEntries) {
+		this.codec = new SignedTokenCodec(objectMapper, secret.isBlank() ? randomKey() : secret.getBytes(StandardCharsets.UTF_8));
+		this.durationSeconds = durationSeconds;
+		this.cacheTtlMillis = cacheTtlSeconds * 1000L;
+		this.cacheMaxEntries = cacheMaxEntries;
+	}
+
+	public IssuedToken issue(User user) {
+		List<String> roles = user.getRoles().stream().map(Role::getAuthority).toList();
+		AuthenticatedUser authenticated = new AuthenticatedUser(user.getId(), user.getEmail(), roles);
+		long expiresAtSeconds = System.currentTimeMillis() / 1000L + durationSeconds;
+		String value = codec.encode(authenticated, expiresAtSeconds);
+		return new IssuedToken(value, durationSeconds, expiresAtSeconds * 1000L, authenticated);
+	}
+
+	public Optional<AuthenticatedUser> verify(String value) {
+		long now = System.currentTimeMillis();
+		CachedClaims cached = verified.get(value);
+		if (cached != null) {
+			if (now < cached.validUntil()) {
+				hits.increment();
+				return Optional.of(cached.user());
+			}
+			verified.remove(value, cached);
+		}
+		misses.increment();
+		Optional<TokenClaims> claims = codec.decode(value, now);
+		claims.ifPresent(c -> remember(value, c, now));
+		return claims.map(TokenClaims::user);
+	}
+
+	public long cacheHits() {
+		return hits.sum();
+	}
+
+	public long cacheMisses() {
+		return misses.sum();
+	}
+
+	private void remember(String value, TokenClaims claims, long now) {
+		if (verified.size() >= cacheMaxEntries) {
+			verified.values().removeIf(c -> now >= c.validUntil());
+			if (verified.size() >= cacheMaxEntries) {
+				return;
+			}
+		}
+		verified.put(value, new CachedClaims(claims.user(), Math.min(claims.expiresAt(), now + cacheTtlMillis)));
+	}
+
+	private static byte[] randomKey() {
+		byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		return key;
+	}
+
+	public record IssuedToken(String value, long expiresIn, long expiresAt, AuthenticatedUser user) {
+	}
+
+	private record CachedClaims(AuthenticatedUser user, long validUntil) {
+	}
+}
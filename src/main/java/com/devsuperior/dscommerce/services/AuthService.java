@@ -0,0 +1,44 @@
+package com.devsuperior.dscommerce.services;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+import com.devsuperior.dscommerce.security.AuthenticatedUser;
+import com.devsuperior.dscommerce.services.exceptions.ForbiddenException;
+import com.devsuperior.dscommerce.services.exceptions.UnauthorizedException;
+
+@Service
+public class AuthService {
+
+	private final UserRepository repository;
+
+	public AuthService(UserRepository repository) {
+		this.repository = repository;
+	}
+
+	public User authenticated() {
+		AuthenticatedUser principal = principal();
+		return repository.findById(principal.userId())
+				.orElseThrow(() -> new UnauthorizedException("Usuário não encontrado"));
+	}
+
+	public void validateSelfOrAdmin(Long userId) {
+		AuthenticatedUser principal = principal();
+		if (!principal.hasRole("ROLE_ADMIN") && !principal.userId().equals(userId)) {
+			throw new ForbiddenException("Access denied");
+		}
+	}
+
+	private AuthenticatedUser principal() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		Object principal = (attributes == null) ? null
+				: attributes.getAttribute(AuthenticatedUser.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (principal == null) {
+			throw new UnauthorizedException("Token ausente");
+		}
+		return (AuthenticatedUser) principal;
+	}
+}
@@ -0,0 +1,29 @@
+package com.devsuperior.dscommerce.services;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.services.ResponseCache.CachedResponse;
+
+@Service
+public class CategoryService {
+
+	private final CategoryRepository repository;
+	private final ResponseCache cache;
+
+	public CategoryService(CategoryRepository repository, ResponseCache cache) {
+		this.repository = repository;
+		this.cache = cache;
+	}
+
+	public List<CategoryDTO> findAll() {
+		return repository.findAll().stream().map(CategoryDTO::new).toList();
+	}
+
+	public CachedResponse findAllResponse() {
+		return cache.get("/categories", this::findAll);
+	}
+}
@@ -0,0 +1,51 @@
+package com.devsuperior.dscommerce.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Escreve um objeto JSON por linha (NDJSON) à medida que percorre o cursor, descarregando
+ * a saída a cada {@value #FLUSH_EVERY} linhas: a memória usada não depende do tamanho da exportação.
+ */
+@Component
+public class NdjsonWriter {
+
+	public static final String MEDIA_TYPE = "application/x-ndjson";
+
+	private static final int FLUSH_EVERY = 256;
+
+	private final ObjectMapper objectMapper;
+
+	public NdjsonWriter(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	public <T> long write(Iterator<T> cursor, Predicate<? super T> filter, Function<? super T, ?> toDto,
+			OutputStream out) throws IOException {
+		long written = 0;
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			while (cursor.hasNext()) {
+				T row = cursor.next();
+				if (!filter.test(row)) {
+					continue;
+				}
+				generator.writeObject(toDto.apply(row));
+				generator.writeRaw('\n');
+				if (++written % FLUSH_EVERY == 0) {
+					generator.flush();
+				}
+			}
+		}
+		return written;
+	}
+}
@@ -0,0 +1,121 @@
+package com.devsuperior.dscommerce.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.dto.OrderItemDTO;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.LongLongMap;
+import com.devsuperior.dscommerce.repositories.OrderJournal;
+import com.devsuperior.dscommerce.repositories.OrderRepository;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.repositories.StockRepository;
+import com.devsuperior.dscommerce.services.exceptions.InsufficientStockException;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscommerce.services.exceptions.ServiceUnavailableException;
+
+@Service
+public class OrderService {
+
+	private final OrderRepository repository;
+	private final ProductRepository productRepository;
+	private final StockRepository stockRepository;
+	private final OrderJournal journal;
+	private final AuthService authService;
+	private final NdjsonWriter ndjsonWriter;
+	private final ResponseCache cache;
+
+	public OrderService(OrderRepository repository, ProductRepository productRepository,
+			StockRepository stockRepository, OrderJournal journal, AuthService authService,
+			NdjsonWriter ndjsonWriter, ResponseCache cache) {
+		this.repository = repository;
+		this.productRepository = productRepository;
+		this.stockRepository = stockRepository;
+		this.journal = journal;
+		this.authService = authService;
+		this.ndjsonWriter = ndjsonWriter;
+		this.cache = cache;
+	}
+
+	public OrderDTO findById(Long id) {
+		Order order = repository.findById(id).orElseThrow(
+				() -> new ResourceNotFoundException("Recurso não encontrado"));
+		authService.validateSelfOrAdmin(order.getClient().getId());
+		return new OrderDTO(order);
+	}
+
+	/**
+	 * Todos os pedidos em NDJSON, em ordem de id, opcionalmente só os de um status.
+	 */
+	public long export(OrderStatus status, OutputStream out) throws IOException {
+		return ndjsonWriter.write(repository.cursor(), o -> status == null || o.getStatus() == status,
+				OrderDTO::new, out);
+	}
+
+	/**
+	 * Reserva o estoque de todos os itens de uma vez antes de gravar o pedido; sem estoque para algum
+	 * deles, nada é reservado (409). Com as faixas de estoque dos produtos travadas, confere que eles
+	 * ainda existem e marca o pedido neles, então um DELETE concorrente ou vê o pedido (400) ou remove
+	 * o produto antes (404 aqui). Se a gravação falhar, a reserva é devolvida; a marca fica, e o produto
+	 * só deixa de poder ser removido sem precisar.
+	 */
+	public OrderDTO insert(OrderDTO dto) {
+		User user = authService.authenticated();
+		Order order = new Order(null, Instant.now(), OrderStatus.WAITING_PAYMENT, user, null);
+		long[] productIds = new long[dto.getItems().size()];
+		long[] quantities = new long[productIds.length];
+		int i = 0;
+		for (OrderItemDTO itemDto : dto.getItems()) {
+			// produtos salvos não são alterados, então o preço lido é um retrato consistente
+			Product product = (itemDto.getProductId() == null) ? null : productRepository.get(itemDto.getProductId());
+			if (product == null) {
+				throw new ResourceNotFoundException("Recurso não encontrado");
+			}
+			order.getItems().add(new OrderItem(product, itemDto.getQuantity(), product.getPriceCents()));
+			productIds[i] = product.getId();
+			quantities[i++] = itemDto.getQuantity();
+		}
+
+		try (StockRepository.Locked locked = stockRepository.lock(productIds)) {
+			for (long productId : productIds) {
+				if (!productRepository.existsById(productId)) {
+					throw new ResourceNotFoundException("Recurso não encontrado");
+				}
+			}
+			long missing = locked.reserve(productIds, quantities);
+			if (missing != StockRepository.RESERVED) {
+				throw new InsufficientStockException("Estoque insuficiente para o produto " + missing);
+			}
+			order.setId(repository.nextId());
+			repository.markOrdered(order);
+		}
+		try {
+			journal.append(order).join();
+			repository.save(order);
+		}
+		catch (RuntimeException e) {
+			stockRepository.release(productIds, quantities);
+			// journal parado: a aplicação está encerrando, o pedido pode ser refeito em outra instância
+			if (e instanceof CompletionException && e.getCause() instanceof IllegalStateException) {
+				throw new ServiceUnavailableException("Servidor encerrando, tente novamente", 1);
+			}
+			throw e;
+		}
+		// o GET /products/{id} em cache mostra o estoque: só os produtos que controlam estoque mudaram
+		for (long productId : productIds) {
+			if (stockRepository.available(productId) != LongLongMap.ABSENT) {
+				cache.invalidate(ProductService.cacheKey(productId));
+			}
+		}
+		return new OrderDTO(order);
+	}
+}
@@ -0,0 +1,258 @@
+package com.devsuperior.dscommerce.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.dto.BatchItemDTO;
+import com.devsuperior.dscommerce.dto.BatchResultDTO;
+import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.dto.PageDTO;
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.dto.ProductMinDTO;
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.repositories.LongLongMap;
+import com.devsuperior.dscommerce.repositories.OrderRepository;
+import com.devsuperior.dscommerce.repositories.PageQuery;
+import com.devsuperior.dscommerce.repositories.ProductFilter;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.repositories.StockRepository;
+import com.devsuperior.dscommerce.services.ResponseCache.CachedResponse;
+import com.devsuperior.dscommerce.services.exceptions.BatchTooLargeException;
+import com.devsuperior.dscommerce.services.exceptions.DatabaseException;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscommerce.services.exceptions.StockConflictException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class ProductService {
+
+	// chaves do GET /products/{id} no ResponseCache
+	static final String CACHE_PREFIX = "/products/";
+
+	private final ProductRepository repository;
+	private final StockRepository stockRepository;
+	private final CategoryRepository categoryRepository;
+	private final OrderRepository orderRepository;
+	private final ResponseCache cache;
+	private final NdjsonWriter ndjsonWriter;
+	private final Validator validator;
+	private final int batchMaxItems;
+
+	public ProductService(ProductRepository repository, StockRepository stockRepository,
+			CategoryRepository categoryRepository,
+			OrderRepository orderRepository, ResponseCache cache, NdjsonWriter ndjsonWriter, Validator validator,
+			@Value("${dscommerce.batch.max-items:1000}") int batchMaxItems) {
+		this.repository = repository;
+		this.stockRepository = stockRepository;
+		this.categoryRepository = categoryRepository;
+		this.orderRepository = orderRepository;
+		this.cache = cache;
+		this.ndjsonWriter = ndjsonWriter;
+		this.validator = validator;
+		this.batchMaxItems = batchMaxItems;
+	}
+
+	public ProductDTO findById(Long id) {
+		Product product = repository.findById(id).orElseThrow(
+				() -> new ResourceNotFoundException("Recurso não encontrado"));
+		return new ProductDTO(product, stock(product.getId()));
+	}
+
+	public CachedResponse findByIdResponse(Long id, Representation representation) {
+		return cache.get(cacheKey(id), representation, () -> findById(id));
+	}
+
+	public PageDTO<ProductMinDTO> findAll(ProductFilter filter, PageQuery query) {
+		PageDTO<Product> result = repository.search(filter, query);
+		return new PageDTO<>(result.getContent().stream().map(ProductMinDTO::new).toList(),
+				result.getNumber(), result.getSize(), result.getTotalElements());
+	}
+
+	/**
+	 * Catálogo inteiro em NDJSON, em ordem de id, opcionalmente com preço mínimo e/ou categoria.
+	 */
+	public long export(Double minPrice, Long categoryId, OutputStream out) throws IOException {
+		Predicate<Product> filter = new ProductFilter(null, minPrice, null, categoryId).predicate();
+		return ndjsonWriter.write(repository.cursor(), filter, ProductDTO::new, out);
+	}
+
+	public ProductDTO insert(ProductDTO dto) {
+		Product entity = new Product();
+		copyDtoToEntity(dto, entity);
+		entity = repository.save(entity);
+		stockRepository.set(entity.getId(), dto.getStock());
+		cache.invalidate(cacheKey(entity.getId()));
+		return new ProductDTO(entity, dto.getStock());
+	}
+
+	/**
+	 * Sem {@code stock}, o estoque fica como está. Com ele, o estoque só é trocado se ainda for o
+	 * {@code expectedStock} informado (ausente: produto sem controle de estoque); senão responde 409 sem
+	 * alterar nada, em vez de apagar as unidades reservadas por pedidos desde a leitura do cliente.
+	 */
+	public ProductDTO update(Long id, ProductDTO dto) {
+		Product current = repository.findById(id).orElseThrow(
+				() -> new ResourceNotFoundException("Recurso não encontrado"));
+		Product entity = new Product();
+		entity.setId(current.getId());
+		copyDtoToEntity(dto, entity);
+		if (dto.getStock() != null && !stockRepository.compareAndSet(id, dto.getExpectedStock(), dto.getStock())) {
+			throw new StockConflictException("O estoque do produto mudou: atual " + stock(id) + ", esperado "
+					+ dto.getExpectedStock());
+		}
+		entity = repository.save(entity);
+		cache.invalidate(cacheKey(id));
+		return new ProductDTO(entity, stock(id));
+	}
+
+	/**
+	 * Confere e remove com a faixa de estoque do produto travada, a mesma que o {@code POST /orders}
+	 * trava para reservar e marcar o pedido: um pedido concorrente não entra entre a conferência e a remoção.
+	 */
+	public void delete(Long id) {
+		try (StockRepository.Locked locked = stockRepository.lock(id)) {
+			if (!repository.existsById(id)) {
+				throw new ResourceNotFoundException("Recurso não encontrado");
+			}
+			if (orderRepository.existsByProductId(id)) {
+				throw new DatabaseException("Falha de integridade referencial");
+			}
+			repository.deleteById(id);
+			locked.remove(id);
+		}
+		cache.invalidate(cacheKey(id));
+	}
+
+	/**
+	 * Valida cada item com as mesmas regras do POST unitário e grava os válidos de uma vez.
+	 * Itens inválidos (422) ou com categoria inexistente (404) não impedem os demais.
+	 */
+	public BatchResultDTO insertAll(List<ProductDTO> dtos) {
+		checkBatchSize(dtos.size());
+		List<BatchItemDTO> results = new ArrayList<>(dtos.size());
+		List<BatchItemDTO> accepted = new ArrayList<>();
+		List<Product> entities = new ArrayList<>();
+		List<Integer> stocks = new ArrayList<>();
+		for (int i = 0; i < dtos.size(); i++) {
+			BatchItemDTO item = new BatchItemDTO(i, null, 201, null);
+			results.add(item);
+			ProductDTO dto = dtos.get(i);
+			if (dto == null) {
+				item.setResult(null, 400, "Corpo da requisição inválido");
+				continue;
+			}
+			if (!validate(dto, item)) {
+				item.setResult(null, 422, "Dados inválidos");
+				continue;
+			}
+			Product entity = new Product();
+			try {
+				copyDtoToEntity(dto, entity);
+			}
+			catch (ResourceNotFoundException e) {
+				item.setResult(null, 404, e.getMessage());
+				continue;
+			}
+			accepted.add(item);
+			entities.add(entity);
+			stocks.add(dto.getStock());
+		}
+
+		repository.saveAll(entities);
+		for (int i = 0; i < entities.size(); i++) {
+			Long id = entities.get(i).getId();
+			accepted.get(i).setResult(id, 201, null);
+			stockRepository.set(id, stocks.get(i));
+			cache.invalidate(cacheKey(id));
+		}
+		return new BatchResultDTO(results);
+	}
+
+	/**
+	 * Remove de uma vez os ids que podem sair; os inexistentes (404) e os que já estão
+	 * em pedidos (400) ficam com o erro que o DELETE unitário daria. Como no DELETE unitário,
+	 * a conferência e a remoção acontecem com as faixas de estoque de todos os ids travadas.
+	 */
+	public BatchResultDTO deleteAll(List<Long> ids) {
+		checkBatchSize(ids.size());
+		List<BatchItemDTO> results = new ArrayList<>(ids.size());
+		Set<Long> deletable = new LinkedHashSet<>();
+		long[] lockIds = ids.stream().filter(Objects::nonNull).mapToLong(Long::longValue).toArray();
+		try (StockRepository.Locked locked = stockRepository.lock(lockIds)) {
+			for (int i = 0; i < ids.size(); i++) {
+				Long id = ids.get(i);
+				// um id repetido responde como o segundo DELETE responderia
+				if (!repository.existsById(id) || deletable.contains(id)) {
+					results.add(new BatchItemDTO(i, id, 404, "Recurso não encontrado"));
+				}
+				else if (orderRepository.existsByProductId(id)) {
+					results.add(new BatchItemDTO(i, id, 400, "Falha de integridade referencial"));
+				}
+				else {
+					deletable.add(id);
+					results.add(new BatchItemDTO(i, id, 204, null));
+				}
+			}
+
+			repository.deleteAllById(deletable);
+			for (Long id : deletable) {
+				locked.remove(id);
+			}
+		}
+		for (Long id : deletable) {
+			cache.invalidate(cacheKey(id));
+		}
+		return new BatchResultDTO(results);
+	}
+
+	private void checkBatchSize(int size) {
+		if (size > batchMaxItems) {
+			throw new BatchTooLargeException("O lote deve ter no máximo " + batchMaxItems + " itens");
+		}
+	}
+
+	private boolean validate(ProductDTO dto, BatchItemDTO item) {
+		Set<ConstraintViolation<ProductDTO>> violations = validator.validate(dto);
+		violations.stream()
+				.sorted(Comparator.comparing((ConstraintViolation<ProductDTO> v) -> v.getPropertyPath().toString())
+						.thenComparing(ConstraintViolation::getMessage))
+				.forEach(v -> item.addError(v.getPropertyPath().toString(), v.getMessage()));
+		return violations.isEmpty();
+	}
+
+	private Integer stock(long productId) {
+		long units = stockRepository.available(productId);
+		return (units == LongLongMap.ABSENT) ? null : (int) units;
+	}
+
+	static String cacheKey(Long id) {
+		return CACHE_PREFIX + id;
+	}
+
+	private void copyDtoToEntity(ProductDTO dto, Product entity) {
+		entity.setName(dto.getName());
+		entity.setDescription(dto.getDescription());
+		entity.setPrice(dto.getPrice());
+		entity.setImgUrl(dto.getImgUrl());
+		entity.getCategories().clear();
+		for (CategoryDTO catDto : dto.getCategories()) {
+			Category cat = categoryRepository.findById(catDto.getId()).orElseThrow(
+					() -> new ResourceNotFoundException("Categoria não encontrada"));
+			entity.getCategories().add(cat);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.devsuperior.dscommerce.services;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Forma pedida para a resposta de um GET: formato negociado pelo {@code Accept} (JSON, CBOR ou Smile)
+ * e campos pedidos em {@code fields=} (ex.: {@code id,name,categories.name}; vazio = todos).
+ *
+ * Os campos ficam sem repetição e em ordem alfabética, então pedidos equivalentes têm a mesma
+ * {@link #variant()} e dividem a mesma entrada no {@link ResponseCache}.
+ */
+public record Representation(Format format, List<String> fields) {
+
+	public static final Representation DEFAULT = new Representation(Format.JSON, List.of());
+
+	public enum Format {
+
+		JSON(MediaType.APPLICATION_JSON),
+		CBOR(MediaType.APPLICATION_CBOR),
+		SMILE(new MediaType("application", "x-jackson-smile"));
+
+		private final MediaType mediaType;
+
+		Format(MediaType mediaType) {
+			this.mediaType = mediaType;
+		}
+
+		public MediaType mediaType() {
+			return mediaType;
+		}
+	}
+
+	public Representation {
+		fields = List.copyOf(fields);
+	}
+
+	public static Representation of(String accept, String fields) {
+		Format format = negotiate(accept);
+		List<String> selected = (fields == null) ? List.of()
+				: Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).distinct().sorted().toList();
+		return (format == Format.JSON && selected.isEmpty()) ? DEFAULT : new Representation(format, selected);
+	}
+
+	public boolean isDefault() {
+		return format == Format.JSON && fields.isEmpty();
+	}
+
+	public String variant() {
+		return fields.isEmpty() ? format.name() : format.name() + ":" + String.join(",", fields);
+	}
+
+	// formato binário só quando o cliente o prefere explicitamente; qualquer outro Accept recebe JSON
+	private static Format negotiate(String accept) {
+		if (accept == null || accept.isBlank()) {
+			return Format.JSON;
+		}
+		try {
+			List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+			MimeTypeUtils.sortBySpecificity(accepted);
+			for (MediaType type : accepted) {
+				if (type.getQualityValue() == 0) {
+					continue;
+				}
+				for (Format format : Format.values()) {
+					if (type.equalsTypeAndSubtype(format.mediaType())) {
+						return format;
+					}
+				}
+			}
+		}
+		catch (InvalidMediaTypeException e) {
+			// Accept malformado: segue com o padrão
+		}
+		return Format.JSON;
+	}
+}
@@ -0,0 +1,145 @@
+package com.devsuperior.dscommerce.services;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.config.OrderJournalRecovery;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.repositories.EntityStore;
+import com.devsuperior.dscommerce.repositories.LongLongMap;
+import com.devsuperior.dscommerce.repositories.OrderRepository;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.repositories.StockRepository;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Retrato do catálogo, dos pedidos e dos usuários tirado logo depois da carga inicial, e a volta a
+ * ele pelo {@code POST /test/reset}, para as suítes repetirem sem reiniciar a aplicação.
+ * Só existe com {@code dscommerce.test.reset-enabled=true}.
+ *
+ * Tirar o retrato e voltar a ele custa O(1) (produtos e usuários) ou O(pedidos criados desde então);
+ * o estoque, que volta junto com os produtos, é copiado (O(produtos com estoque)). Os pedidos descartados
+ * devolvem o estoque que reservaram.
+ *
+ * Só a memória volta: o journal de pedidos fica como está, e as sequências de ids não voltam, para um
+ * pedido novo não repetir o id de um que já está no journal. Com o {@link EntityStore} ligado o reset fica
+ * desligado, porque o catálogo em memória voltaria e o do disco não.
+ */
+@Service
+public class ResetService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResetService.class);
+
+	private enum Resource {
+		PRODUCTS, ORDERS, USERS
+	}
+
+	private final ProductRepository productRepository;
+	private final StockRepository stockRepository;
+	private final OrderRepository orderRepository;
+	private final UserRepository userRepository;
+	private final ResponseCache cache;
+	private final boolean enabled;
+
+	private ProductRepository.Snapshot products;
+	private StockRepository.Snapshot stock;
+	private OrderRepository.Snapshot orders;
+	private UserRepository.Snapshot users;
+
+	// depender da recuperação do journal garante que o retrato já tem a carga inicial completa
+	public ResetService(OrderJournalRecovery recovery, ProductRepository productRepository,
+			StockRepository stockRepository, OrderRepository orderRepository, UserRepository userRepository, ResponseCache cache,
+			EntityStore store, @Value("${dscommerce.test.reset-enabled:false}") boolean enabled) {
+		this.productRepository = productRepository;
+		this.stockRepository = stockRepository;
+		this.orderRepository = orderRepository;
+		this.userRepository = userRepository;
+		this.cache = cache;
+		if (enabled && store.isEnabled()) {
+			logger.warn("Reset disabled: dscommerce.storage.dir is set and reset only rolls back memory");
+			enabled = false;
+		}
+		this.enabled = enabled;
+	}
+
+	@PostConstruct
+	public void snapshot() {
+		if (!enabled) {
+			return;
+		}
+		products = productRepository.snapshot();
+		stock = stockRepository.snapshot();
+		orders = orderRepository.snapshot();
+		users = userRepository.snapshot();
+		logger.info("State snapshot taken: {} products (reset enabled)", products.size());
+	}
+
+	/**
+	 * Volta os recursos informados (todos, se vazio) ao retrato. Só o catálogo tem respostas em cache que
+	 * dependem desses dados ({@code GET /products/{id}}, que mostra o estoque); as de categorias não mudam
+	 * e ficam. Os pedidos voltam antes dos produtos: com os dois, o estoque termina igual ao do retrato.
+	 */
+	public synchronized void reset(Collection<String> names) {
+		if (!enabled) {
+			throw new ResourceNotFoundException("Recurso não encontrado");
+		}
+		Set<Resource> resources = parse(names);
+		if (resources.contains(Resource.ORDERS)) {
+			for (Order order : orderRepository.reset(orders)) {
+				release(order);
+			}
+		}
+		if (resources.contains(Resource.PRODUCTS)) {
+			productRepository.reset(products);
+			stockRepository.reset(stock);
+			cache.invalidatePrefix(ProductService.CACHE_PREFIX);
+		}
+		if (resources.contains(Resource.USERS)) {
+			userRepository.reset(users);
+		}
+	}
+
+	private void release(Order order) {
+		List<OrderItem> items = order.getItems();
+		long[] productIds = new long[items.size()];
+		long[] quantities = new long[productIds.length];
+		for (int i = 0; i < productIds.length; i++) {
+			productIds[i] = items.get(i).getProduct().getId();
+			quantities[i] = items.get(i).getQuantity();
+		}
+		stockRepository.release(productIds, quantities);
+		for (long productId : productIds) {
+			if (stockRepository.available(productId) != LongLongMap.ABSENT) {
+				cache.invalidate(ProductService.cacheKey(productId));
+			}
+		}
+	}
+
+	private static Set<Resource> parse(Collection<String> names) {
+		if (names == null || names.isEmpty()) {
+			return EnumSet.allOf(Resource.class);
+		}
+		Set<Resource> resources = EnumSet.noneOf(Resource.class);
+		for (String name : names) {
+			try {
+				resources.add(Resource.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+			}
+			catch (IllegalArgumentException e) {
+				throw new ResourceNotFoundException("Recurso não encontrado");
+			}
+		}
+		return resources;
+	}
+}
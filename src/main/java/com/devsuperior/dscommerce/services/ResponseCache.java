@@ -0,0 +1,217 @@
+package com.devsuperior.dscommerce.services;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Respostas já renderizadas dos recursos de leitura frequente, com ETag forte
+ * (SHA-256 do corpo), limitadas por número de entradas e por bytes, com descarte LRU.
+ * Cada {@link Representation} (formato e campos) de um recurso é uma entrada própria.
+ *
+ * As escritas chamam {@link #invalidate(String)} depois de gravar, o que descarta todas as
+ * representações do recurso. Uma resposta montada enquanto alguma invalidação acontecia não
+ * é guardada, para não voltar um dado antigo ao cache.
+ */
+@Component
+public class ResponseCache {
+
+	private final ResponseRenderer renderer;
+	private final int maxEntries;
+	private final long maxBytes;
+
+	private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+	// chaves das representações não padrão guardadas de cada recurso
+	private final Map<String, Set<String>> variants = new HashMap<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final AtomicLong invalidations = new AtomicLong();
+	private long bytes;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public ResponseCache(ResponseRenderer renderer,
+			@Value("${dscommerce.cache.max-entries:10000}") int maxEntries,
+			@Value("${dscommerce.cache.max-bytes:16777216}") long maxBytes) {
+		this.renderer = renderer;
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+	}
+
+	public CachedResponse get(String key, Supplier<?> loader) {
+		return get(key, Representation.DEFAULT, loader);
+	}
+
+	/**
+	 * Resposta guardada para a chave nessa representação ou, na falta dela, o resultado do loader
+	 * renderizado. Exceções do loader (ex.: recurso inexistente) passam direto e nada é guardado.
+	 */
+	public CachedResponse get(String key, Representation representation, Supplier<?> loader) {
+		String entryKey = representation.isDefault() ? key : key + "?" + representation.variant();
+		lock.lock();
+		try {
+			CachedResponse cached = entries.get(entryKey);
+			if (cached != null) {
+				hits.increment();
+				return cached;
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+		misses.increment();
+
+		long stamp = invalidations.get();
+		CachedResponse fresh = render(loader.get(), representation);
+		lock.lock();
+		try {
+			if (invalidations.get() == stamp && fresh.body().length <= maxBytes) {
+				CachedResponse previous = entries.put(entryKey, fresh);
+				bytes += fresh.body().length - ((previous != null) ? previous.body().length : 0);
+				if (!representation.isDefault()) {
+					variants.computeIfAbsent(key, k -> new HashSet<>()).add(entryKey);
+				}
+				evictIfNeeded();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+		return fresh.asMiss();
+	}
+
+	public void invalidate(String key) {
+		lock.lock();
+		try {
+			invalidations.incrementAndGet();
+			remove(key);
+			Set<String> keys = variants.remove(key);
+			if (keys != null) {
+				keys.forEach(this::remove);
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Descarta as respostas de todos os recursos cuja chave começa com o prefixo
+	 * (ex.: {@code /products/} depois de voltar o catálogo a um retrato).
+	 */
+	public void invalidatePrefix(String prefix) {
+		lock.lock();
+		try {
+			invalidations.incrementAndGet();
+			List<String> keys = new ArrayList<>();
+			for (String entryKey : entries.keySet()) {
+				if (entryKey.startsWith(prefix)) {
+					keys.add(entryKey);
+				}
+			}
+			keys.forEach(this::remove);
+			variants.keySet().removeIf(key -> key.startsWith(prefix));
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public CacheStats stats() {
+		lock.lock();
+		try {
+			return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), bytes);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void remove(String entryKey) {
+		CachedResponse removed = entries.remove(entryKey);
+		if (removed != null) {
+			bytes -= removed.body().length;
+		}
+	}
+
+	private void evictIfNeeded() {
+		Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+			Map.Entry<String, CachedResponse> entry = eldest.next();
+			bytes -= entry.getValue().body().length;
+			eldest.remove();
+			forgetVariant(entry.getKey());
+			evictions.increment();
+		}
+	}
+
+	private void forgetVariant(String entryKey) {
+		int separator = entryKey.indexOf('?');
+		if (separator < 0) {
+			return;
+		}
+		String key = entryKey.substring(0, separator);
+		Set<String> keys = variants.get(key);
+		if (keys != null && keys.remove(entryKey) && keys.isEmpty()) {
+			variants.remove(key);
+		}
+	}
+
+	private CachedResponse render(Object value, Representation representation) {
+		byte[] body = renderer.render(value, representation);
+		return new CachedResponse(body, etag(body), representation.format().mediaType(), true);
+	}
+
+	private static String etag(byte[] body) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+			return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public record CachedResponse(byte[] body, String etag, MediaType contentType, boolean hit) {
+
+		CachedResponse asMiss() {
+			return new CachedResponse(body, etag, contentType, false);
+		}
+
+		/**
+		 * Se o {@code If-None-Match} do cliente já cobre este corpo (comparação fraca, como pede o GET).
+		 */
+		public boolean matches(String ifNoneMatch) {
+			if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+				return false;
+			}
+			for (String tag : ifNoneMatch.split(",")) {
+				tag = tag.trim();
+				if (tag.equals("*") || tag.equals(etag) || (tag.startsWith("W/") && tag.substring(2).equals(etag))) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	public record CacheStats(long hits, long misses, long evictions, int entries, long bytes) {
+	}
+}
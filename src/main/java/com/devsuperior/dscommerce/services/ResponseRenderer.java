@@ -0,0 +1,100 @@
+package com.devsuperior.dscommerce.services;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.services.Representation.Format;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Serializa DTOs na {@link Representation} pedida. Os mappers de CBOR e Smile saem do mesmo
+ * builder do ObjectMapper do Spring, então datas e demais configurações ficam iguais às do JSON.
+ */
+@Component
+public class ResponseRenderer {
+
+	private final ObjectMapper json;
+	private final Map<Format, ObjectMapper> mappers = new EnumMap<>(Format.class);
+
+	public ResponseRenderer(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+		this.json = objectMapper;
+		mappers.put(Format.JSON, objectMapper);
+		mappers.put(Format.CBOR, builder.factory(new CBORFactory()).build());
+		mappers.put(Format.SMILE, builder.factory(new SmileFactory()).build());
+	}
+
+	public byte[] render(Object value, Representation representation) {
+		ObjectMapper mapper = mappers.get(representation.format());
+		try {
+			if (representation.fields().isEmpty()) {
+				return mapper.writeValueAsBytes(value);
+			}
+			JsonNode tree = json.valueToTree(value);
+			project(tree, FieldTree.of(representation.fields()));
+			return mapper.writeValueAsBytes(tree);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// mantém só os campos pedidos; em listas, a seleção vale para cada elemento
+	private static void project(JsonNode node, FieldTree selection) {
+		if (selection.isLeaf()) {
+			return;
+		}
+		if (node instanceof ArrayNode array) {
+			for (JsonNode element : array) {
+				project(element, selection);
+			}
+		}
+		else if (node instanceof ObjectNode object) {
+			object.retain(selection.children().keySet());
+			selection.children().forEach((name, child) -> {
+				JsonNode value = object.get(name);
+				if (value != null) {
+					project(value, child);
+				}
+			});
+		}
+	}
+
+	// árvore dos caminhos pedidos; um nó sem filhos mantém o valor inteiro
+	private static final class FieldTree {
+
+		private final Map<String, FieldTree> children = new LinkedHashMap<>();
+		private boolean whole;
+
+		static FieldTree of(List<String> paths) {
+			FieldTree root = new FieldTree();
+			for (String path : paths) {
+				FieldTree node = root;
+				for (String part : path.split("\\.")) {
+					node = node.children.computeIfAbsent(part, k -> new FieldTree());
+				}
+				node.whole = true;
+			}
+			return root;
+		}
+
+		Map<String, FieldTree> children() {
+			return children;
+		}
+
+		// "categories" pedido inteiro prevalece sobre "categories.name"
+		boolean isLeaf() {
+			return whole || children.isEmpty();
+		}
+	}
+}
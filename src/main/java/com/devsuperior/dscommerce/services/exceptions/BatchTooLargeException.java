@@ -0,0 +1,9 @@
+package com.devsuperior.dscommerce.services.exceptions;
+
+@SuppressWarnings("serial")
+public class BatchTooLargeException extends RuntimeException {
+
+	public BatchTooLargeException(String msg) {
+		super(msg);
+	}
+}
@@ -0,0 +1,9 @@
+package com.devsuperior.dscommerce.services.exceptions;
+
+@SuppressWarnings("serial")
+public class DatabaseException extends RuntimeException {
+
+	public DatabaseException(String msg) {
+		super(msg);
+	}
+}
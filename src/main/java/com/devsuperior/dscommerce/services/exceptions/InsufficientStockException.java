@@ -0,0 +1,9 @@
+package com.devsuperior.dscommerce.services.exceptions;
+
+@SuppressWarnings("serial")
+public class InsufficientStockException extends RuntimeException {
+
+	public InsufficientStockException(String msg) {
+		super(msg);
+	}
+}
@@ -0,0 +1,16 @@
+package com.devsuperior.dscommerce.services.exceptions;
+
+@SuppressWarnings("serial")
+public class ServiceUnavailableException extends RuntimeException {
+
+	private final long retryAfterSeconds;
+
+	public ServiceUnavailableException(String msg, long retryAfterSeconds) {
+		super(msg);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
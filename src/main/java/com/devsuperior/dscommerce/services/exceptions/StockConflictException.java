@@ -0,0 +1,9 @@
+package com.devsuperior.dscommerce.services.exceptions;
+
+@SuppressWarnings("serial")
+public class StockConflictException extends RuntimeException {
+
+	public StockConflictException(String msg) {
+		super(msg);
+	}
+}
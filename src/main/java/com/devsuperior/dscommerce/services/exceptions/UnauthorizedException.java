@@ -0,0 +1,9 @@
+package com.devsuperior.dscommerce.services.exceptions;
+
+@SuppressWarnings("serial")
+public class UnauthorizedException extends RuntimeException {
+
+	public UnauthorizedException(String msg) {
+		super(msg);
+	}
+}
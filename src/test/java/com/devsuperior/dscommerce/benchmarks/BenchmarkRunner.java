@@ -0,0 +1,27 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Roda os benchmarks deste pacote com o profiler de GC (gc.alloc.rate.norm = bytes por operação).
+ *
+ * Argumento opcional: regex dos benchmarks (padrão: todos). Resultado em {@code target/jmh-result.json}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = (args.length > 0) ? args[0] : ".*";
+        Options options = new OptionsBuilder()
+            .include(BenchmarkRunner.class.getPackageName() + ".*" + include)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("target/jmh-result.json")
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,189 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.path.json.JsonPath;
+
+/**
+ * Custo do lado do cliente nas suítes usadas como geradoras de carga: montar o corpo como
+ * Map aninhado, serializar (json-simple x Jackson x {@link PayloadTemplate}) e extrair dados da resposta
+ * (GPath do RestAssured x JSON Pointer pré-compilado sobre a árvore do Jackson).
+ *
+ * Os corpos têm o formato real de {@code GET /products?size=25} e {@code GET /orders/{id}}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientPayloadBenchmark {
+
+    private static final JsonPointer CONTENT = JsonPointer.compile("/content");
+    private static final JsonPointer PRICE = JsonPointer.compile("/price");
+    private static final JsonPointer NAME = JsonPointer.compile("/name");
+    private static final JsonPointer TOTAL = JsonPointer.compile("/total");
+    private static final JsonPointer CLIENT_NAME = JsonPointer.compile("/client/name");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, Object> productPayload;
+    private PayloadTemplate productTemplate;
+    private String productPage;
+    private String order;
+
+    @Setup
+    public void setup() throws IOException {
+        productPayload = buildProductPayload();
+        productTemplate = PayloadTemplate.of(productPayload);
+        productPage = objectMapper.writeValueAsString(productPageBody());
+        order = objectMapper.writeValueAsString(orderBody());
+    }
+
+    /* montagem e serialização do corpo do POST /products */
+
+    @Benchmark
+    public Map<String, Object> buildProductMap() {
+        return buildProductPayload();
+    }
+
+    @Benchmark
+    public String serializeJsonSimple() {
+        return new JSONObject(productPayload).toJSONString();
+    }
+
+    @Benchmark
+    public byte[] serializeJackson() throws IOException {
+        return objectMapper.writeValueAsBytes(productPayload);
+    }
+
+    @Benchmark
+    public String buildAndSerializeJsonSimple() {
+        return new JSONObject(buildProductPayload()).toJSONString();
+    }
+
+    @Benchmark
+    public byte[] templateBytes() {
+        return productTemplate.bytes();
+    }
+
+    @Benchmark
+    public byte[] templateWithName() {
+        return productTemplate.with("name", "Me").bytes();
+    }
+
+    /* extração da resposta */
+
+    @Benchmark
+    public List<String> gpathFindAllPriceGreaterThan2000() {
+        return JsonPath.from(productPage).getList("content.findAll {it.price > 2000.0}.name");
+    }
+
+    @Benchmark
+    public List<String> pointerFindAllPriceGreaterThan2000() throws IOException {
+        JsonNode content = objectMapper.readTree(productPage).at(CONTENT);
+        List<String> names = new ArrayList<>();
+        for (JsonNode product : content) {
+            if (product.at(PRICE).asDouble() > 2000.0) {
+                names.add(product.at(NAME).asText());
+            }
+        }
+        return names;
+    }
+
+    @Benchmark
+    public Object gpathOrderFields() {
+        JsonPath path = JsonPath.from(order);
+        return new Object[] { path.getFloat("total"), path.getString("client.name") };
+    }
+
+    @Benchmark
+    public Object pointerOrderFields() throws IOException {
+        JsonNode root = objectMapper.readTree(order);
+        return new Object[] { (float) root.at(TOTAL).asDouble(), root.at(CLIENT_NAME).asText() };
+    }
+
+    // mesmo formato do postProductInstance do ProductControllerRA
+    private static Map<String, Object> buildProductPayload() {
+        Map<String, Object> category1 = new HashMap<>();
+        category1.put("id", 2);
+        Map<String, Object> category2 = new HashMap<>();
+        category2.put("id", 3);
+
+        List<Map<String, Object>> categories = new ArrayList<>();
+        categories.add(category1);
+        categories.add(category2);
+
+        Map<String, Object> product = new HashMap<>();
+        product.put("name", "Meu produto");
+        product.put("description", "uiuiuiuiuiuiui");
+        product.put("imgUrl", "img/image");
+        product.put("price", 50.0);
+        product.put("categories", categories);
+        return product;
+    }
+
+    private static Map<String, Object> productPageBody() {
+        double[] prices = { 90.5, 2190.0, 1250.0, 1200.0, 100.99, 1350.0, 1350.0, 1850.0, 1950.0, 1700.0, 1450.0,
+                1850.0, 1350.0, 2250.0, 2200.0, 2340.0, 1280.0, 1450.0, 1750.0, 1650.0, 1680.0, 1850.0, 2250.0, 2350.0,
+                4170.0 };
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (int i = 0; i < prices.length; i++) {
+            Map<String, Object> p = new HashMap<>();
+            p.put("id", i + 1);
+            p.put("name", "PC Gamer " + (i + 1));
+            p.put("price", prices[i]);
+            p.put("imgUrl", "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/"
+                    + (i + 1) + "-big.jpg");
+            content.add(p);
+        }
+        Map<String, Object> page = new HashMap<>();
+        page.put("content", content);
+        page.put("number", 0);
+        page.put("size", 25);
+        page.put("totalElements", 25);
+        page.put("totalPages", 1);
+        page.put("first", true);
+        page.put("last", true);
+        return page;
+    }
+
+    private static Map<String, Object> orderBody() {
+        Map<String, Object> client = Map.of("id", 1, "name", "Maria Brown");
+        Map<String, Object> payment = Map.of("id", 1, "moment", "2022-07-25T15:00:00Z");
+        List<Map<String, Object>> items = List.of(
+                Map.of("productId", 1, "name", "The Lord of the Rings", "price", 90.5, "quantity", 2, "subTotal", 181.0),
+                Map.of("productId", 3, "name", "Macbook Pro", "price", 1250.0, "quantity", 1, "subTotal", 1250.0));
+        Map<String, Object> order = new HashMap<>();
+        order.put("id", 1);
+        order.put("moment", "2022-07-25T13:00:00Z");
+        order.put("status", "PAID");
+        order.put("client", client);
+        order.put("payment", payment);
+        order.put("items", items);
+        order.put("total", 1431.0);
+        return order;
+    }
+}
@@ -0,0 +1,123 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devsuperior.dscommerce.config.DatasetGenerator;
+import com.devsuperior.dscommerce.dto.OrderItemDTO;
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+
+/**
+ * Total de um pedido a partir dos pares productId/quantity, sobre um catálogo de 100 mil produtos:
+ * <ul>
+ * <li>{@code boxedDouble}: o caminho anterior (mapa de {@code Long}, {@code Optional} e subtotal {@code Double} por item);</li>
+ * <li>{@code bigDecimal}: a mesma busca somando em {@code BigDecimal};</li>
+ * <li>{@code primitiveCents}: {@link ProductRepository#get(long)} e centavos em {@code long};</li>
+ * <li>{@code orderTotalCents}: {@link Order#getTotalCents()} de um pedido já montado.</li>
+ * </ul>
+ * {@code gc.alloc.rate.norm} mostra os bytes alocados por pedido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    private static final int CATALOG = 100_000;
+
+    @Param({ "1", "10", "100" })
+    public int items;
+
+    private ProductRepository repository;
+    private Map<Long, Product> boxed;
+    private List<OrderItemDTO> request;
+    private long[] productIds;
+    private int[] quantities;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        Category category = new Category(1L, "Livros");
+        List<Product> products = new DatasetGenerator(42, CATALOG).products(category, category, category);
+        repository = new ProductRepository();
+        repository.saveAll(products);
+        boxed = new ConcurrentHashMap<>();
+        products.forEach(p -> boxed.put(p.getId(), p));
+
+        SplittableRandom random = new SplittableRandom(3);
+        request = new ArrayList<>(items);
+        productIds = new long[items];
+        quantities = new int[items];
+        order = new Order(1L, Instant.now(), OrderStatus.WAITING_PAYMENT, null, null);
+        for (int i = 0; i < items; i++) {
+            Product product = products.get(random.nextInt(CATALOG));
+            int quantity = 1 + random.nextInt(5);
+            // como chegam do JSON da requisição
+            request.add(new OrderItemDTO(Long.valueOf(product.getId()), null, null, Integer.valueOf(quantity), null));
+            productIds[i] = product.getId();
+            quantities[i] = quantity;
+            order.getItems().add(new OrderItem(product, quantity, product.getPriceCents()));
+        }
+    }
+
+    @Benchmark
+    public Double boxedDouble() {
+        Double total = 0.0;
+        for (OrderItemDTO item : request) {
+            Product product = Optional.ofNullable(boxed.get(item.getProductId())).orElseThrow();
+            Double subTotal = product.getPrice() * item.getQuantity();
+            total += subTotal;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItemDTO item : request) {
+            Product product = Optional.ofNullable(boxed.get(item.getProductId())).orElseThrow();
+            total = total.add(BigDecimal.valueOf(product.getPrice()).multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long primitiveCents() {
+        long total = 0;
+        for (int i = 0; i < productIds.length; i++) {
+            total += repository.get(productIds[i]).getPriceCents() * quantities[i];
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long orderTotalCents() {
+        return order.getTotalCents();
+    }
+}
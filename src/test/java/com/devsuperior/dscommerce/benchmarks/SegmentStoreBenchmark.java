@@ -0,0 +1,136 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devsuperior.dscommerce.config.DatasetGenerator;
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.repositories.RecordCodec;
+import com.devsuperior.dscommerce.repositories.SegmentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link SegmentStore} com {@code records} produtos do {@link DatasetGenerator}:
+ * <ul>
+ * <li>{@code coldStart}: abrir os segmentos e reconstruir o índice (ms por abertura);</li>
+ * <li>{@code coldStartJson}: o mesmo catálogo relido de um arquivo JSON por linha, como no journal de pedidos;</li>
+ * <li>{@code lookup}: busca por id aleatório e decodificação do produto (ns por busca, 4 threads).</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SegmentStoreBenchmark {
+
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    @Param({ "1000000" })
+    public int records;
+
+    private Path dir;
+    private Path json;
+    private SegmentStore store;
+    private Category[] categories;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("segment-store-bench");
+        json = dir.resolve("products.json");
+        categories = new Category[] { null, new Category(1L, "Livros"), new Category(2L, "Eletronicos"),
+            new Category(3L, "Computadores") };
+        List<Product> products = new DatasetGenerator(42, records).products(categories[1], categories[2], categories[3]);
+
+        ObjectMapper mapper = new ObjectMapper();
+        try (SegmentStore writer = SegmentStore.open(dir.resolve("segments"), SEGMENT_BYTES, false);
+                BufferedWriter out = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+            for (Product p : products) {
+                writer.put(p.getId(), RecordCodec.encode(p));
+                List<Long> categoryIds = new ArrayList<>();
+                p.getCategories().forEach(c -> categoryIds.add(c.getId()));
+                out.write(mapper.writeValueAsString(new JsonProduct(p.getId(), p.getName(), p.getDescription(),
+                        p.getPrice(), p.getImgUrl(), categoryIds)));
+                out.write('\n');
+            }
+        }
+        store = SegmentStore.open(dir.resolve("segments"), SEGMENT_BYTES, false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public int coldStart() {
+        try (SegmentStore reopened = SegmentStore.open(dir.resolve("segments"), SEGMENT_BYTES, false)) {
+            return reopened.size();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public int coldStartJson() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<Long, JsonProduct> byId = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(json, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonProduct product = mapper.readValue(line, JsonProduct.class);
+                byId.put(product.id(), product);
+            }
+        }
+        return byId.size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Threads(4)
+    public Product lookup() {
+        long id = DatasetGenerator.FIRST_ID + ThreadLocalRandom.current().nextInt(records);
+        return RecordCodec.decodeProduct(id, store.get(id), categoryId -> categories[(int) categoryId]);
+    }
+
+    public record JsonProduct(Long id, String name, String description, Double price, String imgUrl, List<Long> categories) {
+    }
+}
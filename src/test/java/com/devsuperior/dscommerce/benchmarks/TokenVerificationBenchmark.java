@@ -0,0 +1,77 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devsuperior.dscommerce.entities.Role;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.security.AuthenticatedUser;
+import com.devsuperior.dscommerce.security.SignedTokenCodec;
+import com.devsuperior.dscommerce.security.SignedTokenCodec.TokenClaims;
+import com.devsuperior.dscommerce.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Custo de validar o Bearer token de cada requisição: HMAC + leitura do payload a cada chamada
+ * ({@code uncached}) x consulta ao cache de tokens já verificados do {@link TokenService} ({@code cached}).
+ *
+ * Cópia nova da String do token a cada chamada, como chega do header HTTP.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TokenVerificationBenchmark {
+
+    private static final String SECRET = "segredo-do-benchmark";
+
+    private TokenService tokenService;
+    private SignedTokenCodec codec;
+    private char[] token;
+    private char[] invalidToken;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        tokenService = new TokenService(objectMapper, SECRET, 86400, 300, 10_000);
+        codec = new SignedTokenCodec(objectMapper, SECRET.getBytes(StandardCharsets.UTF_8));
+
+        User user = new User(2L, "Alex Green", "alex@gmail.com", "977777777", null, "123456");
+        user.addRole(new Role(1L, "ROLE_CLIENT"));
+        user.addRole(new Role(2L, "ROLE_ADMIN"));
+        String value = tokenService.issue(user).value();
+        token = value.toCharArray();
+        invalidToken = (value + "789").toCharArray();
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> cached() {
+        return tokenService.verify(new String(token));
+    }
+
+    @Benchmark
+    public Optional<TokenClaims> uncached() {
+        return codec.decode(new String(token), System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> invalid() {
+        return tokenService.verify(new String(invalidToken));
+    }
+}
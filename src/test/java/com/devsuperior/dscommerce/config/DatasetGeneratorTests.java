@@ -0,0 +1,84 @@
+package com.devsuperior.dscommerce.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.Role;
+import com.devsuperior.dscommerce.entities.User;
+
+class DatasetGeneratorTests {
+
+	private final Category books = new Category(1L, "Livros");
+	private final Category electronics = new Category(2L, "Eletronicos");
+	private final Category computers = new Category(3L, "Computadores");
+	private final Role client = new Role(1L, "ROLE_CLIENT");
+
+	@Test
+	void sameSeedAndScaleShouldGenerateSameData() {
+		List<String> first = fingerprint(new DatasetGenerator(7L, 20_000));
+		List<String> second = fingerprint(new DatasetGenerator(7L, 20_000));
+		assertEquals(first, second);
+		assertNotEquals(first, fingerprint(new DatasetGenerator(8L, 20_000)));
+	}
+
+	@Test
+	void generatedDataShouldNotChangeWhatTheSeedFixturesAssert() {
+		DatasetGenerator generator = new DatasetGenerator(42L, 20_000);
+		List<Product> products = generator.products(books, electronics, computers);
+		List<User> users = generator.users(client);
+		List<Order> orders = generator.orders(products, users);
+
+		assertEquals(20_000, products.size());
+		assertEquals(200, users.size());
+		assertEquals(2_000, orders.size());
+		for (Product p : products) {
+			String name = p.getName().toLowerCase(Locale.ROOT);
+			assertTrue(p.getId() >= DatasetGenerator.FIRST_ID);
+			assertTrue(p.getName().compareTo("PC Gamer Tera") > 0, p.getName());
+			assertFalse(name.contains("gamer") || name.contains("macbook") || name.contains("tv"), p.getName());
+			assertTrue(p.getPrice() > 0);
+		}
+		for (Order o : orders) {
+			assertTrue(o.getId() >= DatasetGenerator.FIRST_ID);
+			assertTrue(o.getClient().getId() >= DatasetGenerator.FIRST_ID);
+			for (OrderItem item : o.getItems()) {
+				assertTrue(item.getProduct().getId() >= DatasetGenerator.FIRST_ID);
+			}
+		}
+
+		// pedidos concentrados: os 1% de produtos mais vendidos aparecem em boa parte dos itens
+		Map<Long, Long> sales = orders.stream().flatMap(o -> o.getItems().stream())
+				.collect(Collectors.groupingBy(i -> i.getProduct().getId(), Collectors.counting()));
+		long total = sales.values().stream().mapToLong(Long::longValue).sum();
+		long top = sales.values().stream().sorted((a, b) -> Long.compare(b, a)).limit(products.size() / 100)
+				.mapToLong(Long::longValue).sum();
+		assertTrue(top * 5 > total, "top 1% products: " + top + " of " + total + " items");
+	}
+
+	private List<String> fingerprint(DatasetGenerator generator) {
+		List<Product> products = generator.products(books, electronics, computers);
+		List<User> users = generator.users(client);
+		Function<Order, String> order = o -> o.getId() + "|" + o.getMoment() + "|" + o.getStatus() + "|"
+				+ o.getClient().getId() + "|" + o.getItems().stream()
+						.map(i -> i.getProduct().getId() + "x" + i.getQuantity()).toList();
+		return List.of(
+				products.stream().map(p -> p.getId() + "|" + p.getName() + "|" + p.getPrice() + "|"
+						+ p.getCategories().stream().map(Category::getId).toList()).toList().toString(),
+				users.stream().map(u -> u.getId() + "|" + u.getName() + "|" + u.getEmail()).toList().toString(),
+				generator.orders(products, users).stream().map(order).toList().toString());
+	}
+}
@@ -0,0 +1,182 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.devsuperior.dscommerce.tests.EmbeddedServer;
+import com.devsuperior.dscommerce.tests.LatencyHistogram;
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+/**
+ * Controle de admissão de POST /orders e POST /oauth2/token com instâncias próprias: rajada acima da
+ * taxa por cliente (429) e carga acima do limite de concorrência (503). Os números da carga vão para
+ * target/admission-report.txt.
+ *
+ * A carga compara latências com o relógio, então só roda com {@code -Dadmission.seconds=<segundos>};
+ * opcional: {@code admission.clients} (4, o tamanho padrão do pool HTTP do cliente).
+ */
+public class AdmissionControlRA {
+
+    private static final long LATENCY_MILLIS = 200;
+
+    private static final PayloadTemplate NEW_ORDER = PayloadTemplate.of(Map.of(
+            "items", List.of(Map.of("productId", 1, "quantity", 1))));
+
+    @Test
+    @EnabledIfSystemProperty(named = "admission.seconds", matches = "\\d+")
+    public void ordersOverConcurrencyLimitShouldBeRejectedFastWhileAcceptedStayBounded() throws Exception {
+        Duration duration = Duration.ofSeconds(Long.getLong("admission.seconds"));
+        int clients = Integer.getInteger("admission.clients", 4);
+
+        try (ConfigurableApplicationContext context = EmbeddedServer.start(
+                "dscommerce.admission.orders.max-concurrent=1",
+                "dscommerce.simulated-latency-millis=" + LATENCY_MILLIS)) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String token = TokenUtil.obtainAccessTokenFrom(baseUri, "maria@gmail.com", "123456");
+
+            // aquecimento: a primeira passada paga JIT e conexões, só a segunda é medida
+            run(baseUri, token, clients, Duration.ofSeconds(1));
+            Result result = run(baseUri, token, clients, duration);
+            LatencyHistogram accepted = result.accepted();
+            LatencyHistogram rejected = result.rejected();
+
+            String report = String.format("max-concurrent=1, simulated latency %dms, %d clients, %ds%n"
+                    + "%-9s %8s %9s %9s %9s%n%s%s",
+                    LATENCY_MILLIS, clients, duration.toSeconds(),
+                    "status", "count", "p50(ms)", "p99(ms)", "max(ms)",
+                    line("201", accepted), line("503", rejected));
+            System.out.print(report);
+            Files.createDirectories(Path.of("target"));
+            Files.writeString(Path.of("target", "admission-report.txt"), report);
+
+            assertEquals(0, result.unexpected(), report);
+            assertTrue(accepted.count() > 0, report);
+            assertTrue(rejected.count() > 0, report);
+            assertEquals(0, result.missingRetryAfter(), report);
+            // quem entra não espera atrás de uma fila: só a espera simulada e uma folga
+            assertTrue(accepted.percentile(99) < (LATENCY_MILLIS + 500) * 1000, report);
+            // quem é recusado não espera a vaga: volta antes do tempo que a vaga fica ocupada
+            assertTrue(rejected.percentile(99) < LATENCY_MILLIS * 1000, report);
+        }
+    }
+
+    @Test
+    public void tokenRequestsOverClientRateShouldReturnTooManyRequests() {
+        // uma ficha a cada 1000 s: nenhuma volta durante o teste, por mais lenta que seja a máquina
+        try (ConfigurableApplicationContext context = EmbeddedServer.start(
+                "dscommerce.admission.token.rate-per-second=0.001",
+                "dscommerce.admission.token.burst=3")) {
+            String baseUri = EmbeddedServer.baseUri(context);
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals(200, postToken(baseUri).statusCode());
+            }
+            for (int i = 0; i < 5; i++) {
+                Response response = postToken(baseUri);
+                assertEquals(429, response.statusCode());
+                assertEquals(429, (int) response.path("status"));
+                String retryAfter = response.header("Retry-After");
+                assertNotNull(retryAfter);
+                assertTrue(Long.parseLong(retryAfter) >= 1);
+            }
+        }
+    }
+
+    private static Result run(String baseUri, String token, int clients, Duration duration) throws Exception {
+        LatencyHistogram accepted = new LatencyHistogram();
+        LatencyHistogram rejected = new LatencyHistogram();
+        LongAdder missingRetryAfter = new LongAdder();
+        LongAdder unexpected = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        Response response = postOrder(baseUri, token);
+                        long micros = (System.nanoTime() - start) / 1000;
+                        if (response.statusCode() == 201) {
+                            accepted.record(micros);
+                        }
+                        else if (response.statusCode() == 503) {
+                            rejected.record(micros);
+                            if (response.header("Retry-After") == null) {
+                                missingRetryAfter.increment();
+                            }
+                            // um cliente bem-comportado espera antes de tentar de novo
+                            TimeUnit.MILLISECONDS.sleep(20);
+                        }
+                        else {
+                            unexpected.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        return new Result(accepted, rejected, missingRetryAfter.sum(), unexpected.sum());
+    }
+
+    private static Response postOrder(String baseUri, String token) {
+        return given(spec(baseUri))
+            .header("Authorization", "Bearer " + token)
+            .body(NEW_ORDER.bytes())
+            .contentType(ContentType.JSON)
+            .post("/orders");
+    }
+
+    private static Response postToken(String baseUri) {
+        return given(spec(baseUri))
+            .auth()
+            .preemptive()
+            .basic("myclientid", "myclientsecret")
+            .contentType("application/x-www-form-urlencoded")
+            .formParam("username", "maria@gmail.com")
+            .formParam("password", "123456")
+            .formParam("grant_type", "password")
+        .when()
+            .post("/oauth2/token");
+    }
+
+    private static String line(String status, LatencyHistogram histogram) {
+        return String.format("%-9s %8d %9.2f %9.2f %9.2f%n", status, histogram.count(),
+                histogram.percentile(50) / 1000.0, histogram.percentile(99) / 1000.0, histogram.max() / 1000.0);
+    }
+
+    private record Result(LatencyHistogram accepted, LatencyHistogram rejected, long missingRetryAfter,
+            long unexpected) {
+    }
+}
@@ -1,26 +1,52 @@
 package com.devsuperior.dscommerce.controllers;
 
-import static io.restassured.RestAssured.baseURI;
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static com.devsuperior.dscommerce.tests.Resources.PRODUCTS;
+import static com.devsuperior.dscommerce.tests.Resources.READ_ONLY;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.notNullValue;
 
-import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
+import com.devsuperior.dscommerce.tests.LatencyBudget;
+
+@LatencyBudget
 public class CategoryControllerRA {
 	
-	@BeforeEach
-	public void setup() {
-		baseURI = "http://localhost:8080";
-	}
-	
 	@Test
+	@Tag(READ_ONLY)
 	public void findAllShouldReturnListOfCategories() {
-		given()
+		given(spec())
 			.get("/categories")
 		.then()
 			.statusCode(200)
 			.body("id", hasItems(1, 2, 3))
 			.body("name", hasItems("Livros", "Eletronicos", "Computadores"));
 	}
+
+	@Test
+	@Tag(READ_ONLY)
+	// testes que alteram e resetam o catálogo não rodam junto: o 304 depende da resposta seguir em cache
+	@ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+	public void findAllShouldReturn304NotModifiedWhenETagMatches() {
+		String etag = given(spec())
+			.get("/categories")
+		.then()
+			.statusCode(200)
+			.header("ETag", notNullValue())
+			.extract().header("ETag");
+
+		given(spec())
+			.header("If-None-Match", etag)
+			.get("/categories")
+		.then()
+			.statusCode(304)
+			.header("ETag", equalTo(etag))
+			.header("X-Cache", equalTo("HIT"));
+	}
 }
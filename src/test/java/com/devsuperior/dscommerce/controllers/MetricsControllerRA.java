@@ -0,0 +1,93 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static com.devsuperior.dscommerce.tests.Resources.ORDERS;
+import static com.devsuperior.dscommerce.tests.Resources.READ_ONLY;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.notNullValue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import com.devsuperior.dscommerce.tests.LatencyBudget;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+
+@LatencyBudget
+public class MetricsControllerRA {
+
+    private static final String SERVER_TIMING =
+            "auth;dur=\\d+\\.\\d{3}, app;dur=\\d+\\.\\d{3}, ser;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}";
+
+    private String adminToken, clientToken;
+
+    @BeforeEach
+    public void setUp() {
+        adminToken = TokenUtil.obtainAccessToken("alex@gmail.com", "123456");
+        clientToken = TokenUtil.obtainAccessToken("maria@gmail.com", "123456");
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
+    public void responsesShouldCarryServerTimingPhases() {
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .get("/orders/{id}", 1)
+        .then()
+            .statusCode(200)
+            .header("Server-Timing", matchesPattern(SERVER_TIMING));
+
+        // erros e respostas sem corpo também são medidos
+        given(spec())
+            .get("/orders/{id}", 1)
+        .then()
+            .statusCode(401)
+            .header("Server-Timing", matchesPattern(SERVER_TIMING));
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
+    public void findAllShouldReturnRouteMetricsWhenAdminLogged() {
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .get("/orders/{id}", 1)
+        .then()
+            .statusCode(200);
+
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .get("/metrics")
+        .then()
+            .statusCode(200)
+            .body("route", hasItem("GET /orders/{id}"))
+            .body("find { it.route == 'GET /orders/{id}' }.count", greaterThanOrEqualTo(1))
+            .body("find { it.route == 'GET /orders/{id}' }.total.p99", notNullValue())
+            .body("find { it.route == 'GET /orders/{id}' }.app.p50", notNullValue());
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    public void findAllShouldReturnForbiddenWhenClientLogged() {
+        given(spec())
+            .header("Authorization", "Bearer " + clientToken)
+            .get("/metrics")
+        .then()
+            .statusCode(403);
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    public void findAllShouldReturnUnauthorizedWhenNoToken() {
+        given(spec())
+            .get("/metrics")
+        .then()
+            .statusCode(401);
+    }
+}
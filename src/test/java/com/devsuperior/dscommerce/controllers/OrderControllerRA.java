@@ -1,36 +1,71 @@
 package com.devsuperior.dscommerce.controllers;
 
-import static io.restassured.RestAssured.baseURI;
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static com.devsuperior.dscommerce.tests.Resources.MUTATING;
+import static com.devsuperior.dscommerce.tests.Resources.ORDERS;
+import static com.devsuperior.dscommerce.tests.Resources.PRODUCTS;
+import static com.devsuperior.dscommerce.tests.Resources.READ_ONLY;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.json.JSONException;
-import org.json.simple.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
+import com.devsuperior.dscommerce.tests.LatencyBudget;
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.devsuperior.dscommerce.tests.ResetState;
 import com.devsuperior.dscommerce.tests.TokenUtil;
 
 import io.restassured.http.ContentType;
 
+@LatencyBudget
+@ResetState
 public class OrderControllerRA {
 
     private String clientUsername, adminUsername, adminOnlyUsername, userPassword;
     private String clientToken, adminToken, adminOnlyToken, invalidToken;
     private Long existingId, nonExistingId;
-    private Map<String, Object> postOrderInstance;
+
+    // corpo do POST /orders serializado uma única vez
+    private static final PayloadTemplate postOrderInstance;
+
+    static {
+        // Criando Map para representar as categories
+        Map<String, Object> category1 = new HashMap<>();
+        category1.put("productId", 1);
+        category1.put("quantity", 2);
+        Map<String, Object> category2 = new HashMap<>();
+        category2.put("productId", 5);
+        category2.put("quantity", 1);
+        
+        List<Map<String, Object>> categories = new ArrayList<>();
+        categories.add(category1);
+        categories.add(category2);
+
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("items", categories);
+        postOrderInstance = PayloadTemplate.of(order);
+    }
 
     @BeforeEach
     public void setUp() {
         
-        baseURI = "http://localhost:8080"; // base URI for the application
         nonExistingId = 100L;
         
         // Validando Tokens de login dos usuários 
@@ -43,30 +78,17 @@ public class OrderControllerRA {
         adminToken = TokenUtil.obtainAccessToken(adminUsername, userPassword);
         adminOnlyToken = TokenUtil.obtainAccessToken(adminOnlyUsername, userPassword);
         invalidToken = adminToken + "789";
-
-        // Criando Map para representar as categories
-        Map<String, Object> category1 = new HashMap<>();
-        category1.put("productId", 1);
-        category1.put("quantity", 2);
-        Map<String, Object> category2 = new HashMap<>();
-        category2.put("productId", 5);
-        category2.put("quantity", 1);
-        
-        List<Map<String, Object>> categories = new ArrayList<>();
-        categories.add(category1);
-        categories.add(category2);
-
-        postOrderInstance = new HashMap<>();
-        postOrderInstance.put("items", categories);
     }
 
     /* findById */
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
     public void findByIdShouldReturnOrderWhenExistingIdAndAdminLogged() {
 
         existingId = 2L;
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + adminToken)
             .get("/orders/{id}", existingId)
         .then()
@@ -81,11 +103,13 @@ public class OrderControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
     public void findByIdShouldReturnOrderWhenBelongClientAndClientLogged() {
         
         existingId = 1L;
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + clientToken)
             .get("/orders/{id}", existingId)
         .then()
@@ -100,11 +124,36 @@ public class OrderControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
+    public void findByIdShouldReturnOnlyRequestedFieldsWhenFieldsIsGiven() {
+
+        existingId = 1L;
+
+        Map<String, Object> order = given(spec())
+            .header("Authorization", "Bearer " + clientToken)
+            .get("/orders/{id}?fields=id,total,items.name", existingId)
+        .then()
+            .statusCode(200)
+            .body("id", is(1))
+            .body("total", is(1431.0F))
+            .body("items.name", hasItems("The Lord of the Rings", "Macbook Pro"))
+            .extract().jsonPath().getMap("$");
+
+        assertEquals(Set.of("id", "total", "items"), order.keySet());
+        for (Object item : (List<?>) order.get("items")) {
+            assertEquals(Set.of("name"), ((Map<?, ?>) item).keySet());
+        }
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
     public void findByIdShouldReturn403ForbiddenWhenNDoesotBelongClientAndClientLogged() {
         
         existingId = 2L;
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + clientToken)
             .get("/orders/{id}", existingId)
         .then()
@@ -114,9 +163,11 @@ public class OrderControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
     public void findByIdShouldReturn404NotFoundWhenNonExistingOrderIdAndAdminLogged() {
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + adminToken)
             .get("/orders/{id}", nonExistingId)
         .then()
@@ -125,9 +176,11 @@ public class OrderControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
     public void findByIdShouldReturn404NotFoundWhenNonExistingOrderIdAndClientLogged() {
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + clientToken)
             .get("/orders/{id}", nonExistingId)
         .then()
@@ -136,25 +189,59 @@ public class OrderControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
     public void findByIdShouldReturn401UnauthorizedWhenNotLogged() {
 
         existingId = 1L;
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + invalidToken)
             .get("/orders/{id}", existingId)
         .then()
             .statusCode(401);
     }
 
+    /* export */
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
+    public void exportShouldStreamOrdersByStatusWhenAdminLogged() {
+
+        List<String> paid = given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .get("/orders/export?status=PAID")
+        .then()
+            .statusCode(200)
+            .contentType("application/x-ndjson")
+            .extract().asString().lines().toList();
+
+        assertTrue(paid.get(0).startsWith("{\"id\":1,"));
+        assertTrue(paid.stream().allMatch(line -> line.contains("\"status\":\"PAID\"")));
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
+    public void exportShouldReturn403ForbiddenWhenClientLogged() {
+
+        given(spec())
+            .header("Authorization", "Bearer " + clientToken)
+            .get("/orders/export")
+        .then()
+            .statusCode(403);
+    }
+
     /* insert */
     @Test
+    @Tag(MUTATING)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ_WRITE)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void insertShouldReturnOrderWhenClientLogged() {
 
-        // Converter objeto Map para JSON
-        JSONObject newOrder = new JSONObject(postOrderInstance);
+        byte[] newOrder = postOrderInstance.bytes();
 
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + clientToken)
             .body(newOrder)
@@ -172,14 +259,13 @@ public class OrderControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
     public void insertShouldReturn422UnprocessableEntityWhenInvalidDataAdminLogged() {
 
-        postOrderInstance.remove("items");
-
-        // Converter objeto Map para JSON
-        JSONObject newOrder = new JSONObject(postOrderInstance);
+        byte[] newOrder = postOrderInstance.without("items").bytes();
 
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + clientToken)
             .body(newOrder)
@@ -193,14 +279,35 @@ public class OrderControllerRA {
     }
 
     @Test
-    public void insertShouldReturn401UnauthorizedWhenNotLogged() {
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
+    public void insertShouldReturn422UnprocessableEntityWhenItemQuantityIsMissingOrNotPositive() {
+
+        byte[] newOrder = PayloadTemplate.of(Map.of("items", List.of(
+                Map.of("productId", 1),
+                Map.of("productId", 5, "quantity", -5)))).bytes();
 
-        postOrderInstance.remove("items");
+        given(spec())
+            .header("Authorization", "Bearer " + clientToken)
+            .body(newOrder)
+            .contentType(ContentType.JSON)
+            .accept(ContentType.JSON)
+        .when()
+            .post("/orders")
+        .then()
+            .statusCode(422)
+            .body("errors.fieldName", containsInAnyOrder("items[0].quantity", "items[1].quantity"))
+            .body("errors.message", containsInAnyOrder("Campo requerido", "A quantidade deve ser positiva"));
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
+    public void insertShouldReturn401UnauthorizedWhenNotLogged() {
 
-        // Converter objeto Map para JSON
-        JSONObject newOrder = new JSONObject(postOrderInstance);
+        byte[] newOrder = postOrderInstance.without("items").bytes();
 
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + invalidToken)
             .body(newOrder)
@@ -213,10 +320,12 @@ public class OrderControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
 	public void insertShouldReturnForbiddenWhenAdminLogged() throws JSONException {
-		JSONObject newOrder = new JSONObject(postOrderInstance);
+		byte[] newOrder = postOrderInstance.bytes();
 		
-		given()
+		given(spec())
 			.header("Content-type", "application/json")
 			.header("Authorization", "Bearer " + adminOnlyToken)
 			.contentType(ContentType.JSON)
@@ -0,0 +1,94 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static com.devsuperior.dscommerce.tests.Resources.ORDERS;
+import static com.devsuperior.dscommerce.tests.Resources.PRODUCTS;
+import static com.devsuperior.dscommerce.tests.Resources.READ_ONLY;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import com.devsuperior.dscommerce.tests.TokenUtil;
+
+/**
+ * Bytes no fio de GET /products/{id} e GET /orders/{id} em cada formato (JSON, CBOR, Smile),
+ * com o corpo inteiro e com {@code fields=}. O relatório vai para target/payload-size-report.txt.
+ */
+public class PayloadSizeRA {
+
+    private static final Map<String, String> FORMATS = new LinkedHashMap<>();
+
+    static {
+        FORMATS.put("json", "application/json");
+        FORMATS.put("cbor", "application/cbor");
+        FORMATS.put("smile", "application/x-jackson-smile");
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ)
+    public void projectionAndBinaryFormatsShouldShrinkPayloads() throws IOException {
+
+        String adminToken = TokenUtil.obtainAccessToken("alex@gmail.com", "123456");
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-64s %8s %8s %8s%n", "resource", "json", "cbor", "smile"));
+        StringBuilder failures = new StringBuilder();
+
+        String[][] cases = {
+            { "/products/2", null },
+            { "/products/2", "id,name,price" },
+            { "/orders/1", null },
+            { "/orders/1", "id,status,total,items.productId,items.quantity" },
+        };
+        Map<String, Integer> fullSizes = new LinkedHashMap<>();
+        for (String[] c : cases) {
+            String path = c[0];
+            String fields = c[1];
+            Map<String, Integer> sizes = new LinkedHashMap<>();
+            for (Map.Entry<String, String> format : FORMATS.entrySet()) {
+                int size = given(spec())
+                    .header("Authorization", "Bearer " + adminToken)
+                    .accept(format.getValue())
+                    .queryParams((fields == null) ? Map.of() : Map.of("fields", fields))
+                    .get(path)
+                .then()
+                    .statusCode(200)
+                    .contentType(format.getValue())
+                    .extract().asByteArray().length;
+                sizes.put(format.getKey(), size);
+
+                String fullKey = path + " " + format.getKey();
+                if (fields == null) {
+                    fullSizes.put(fullKey, size);
+                }
+                else if (size >= fullSizes.get(fullKey)) {
+                    failures.append(String.format("%s?fields=%s not smaller in %s%n", path, fields, format.getKey()));
+                }
+            }
+            if (fields == null && (sizes.get("cbor") >= sizes.get("json") || sizes.get("smile") >= sizes.get("json"))) {
+                failures.append(String.format("%s not smaller in cbor/smile than in json%n", path));
+            }
+            String label = (fields == null) ? path : path + "?fields=" + fields;
+            sb.append(String.format("%-64s %8d %8d %8d%n", label, sizes.get("json"), sizes.get("cbor"), sizes.get("smile")));
+        }
+
+        String report = sb.toString();
+        System.out.print(report);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "payload-size-report.txt"), report);
+
+        assertTrue(failures.isEmpty(), failures + report);
+    }
+}
@@ -0,0 +1,103 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.devsuperior.dscommerce.tests.EmbeddedServer;
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+
+import io.restassured.http.ContentType;
+
+/**
+ * POST /products um a um x POST /products/batch: insere a mesma quantidade de produtos dos dois
+ * jeitos e compara produtos gravados por segundo. O relatório vai para target/batch-throughput-report.txt.
+ *
+ * Usa uma instância própria e só roda com {@code -Dbatch.products=<quantidade>}; opcional:
+ * {@code batch.size} (100). O resultado de cada item fica com os testes do {@link ProductControllerRA}.
+ */
+public class ProductBatchThroughputRA {
+
+    private static final PayloadTemplate NEW_PRODUCT = PayloadTemplate.of(Map.of(
+            "name", "Produto de carga",
+            "description", "Produto gerado pelo teste de lote",
+            "price", 50.0,
+            "categories", List.of(Map.of("id", 2))));
+
+    @Test
+    @EnabledIfSystemProperty(named = "batch.products", matches = "\\d+")
+    public void reportBatchAgainstSingleInsertThroughput() throws IOException {
+        int total = Integer.getInteger("batch.products");
+        int batchSize = Integer.getInteger("batch.size", 100);
+
+        try (ConfigurableApplicationContext context = EmbeddedServer.start()) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String token = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+
+            // aquecimento dos dois caminhos antes de medir
+            insertOneByOne(baseUri, token, batchSize);
+            insertInBatches(baseUri, token, batchSize, batchSize);
+
+            long start = System.nanoTime();
+            insertOneByOne(baseUri, token, total);
+            double singleRate = total / ((System.nanoTime() - start) / 1e9);
+
+            start = System.nanoTime();
+            insertInBatches(baseUri, token, total, batchSize);
+            double batchRate = total / ((System.nanoTime() - start) / 1e9);
+
+            String report = String.format("%d products%n%-26s %12s%n%-26s %12.1f%n%-26s %12.1f%n%-26s %11.1fx%n",
+                    total, "mode", "products/s", "POST /products", singleRate,
+                    "POST /products/batch(" + batchSize + ")", batchRate, "speedup", batchRate / singleRate);
+            System.out.print(report);
+            Files.createDirectories(Path.of("target"));
+            Files.writeString(Path.of("target", "batch-throughput-report.txt"), report);
+        }
+    }
+
+    private static void insertOneByOne(String baseUri, String token, int count) {
+        byte[] body = NEW_PRODUCT.bytes();
+        for (int i = 0; i < count; i++) {
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + token)
+                .body(body)
+                .contentType(ContentType.JSON)
+            .when()
+                .post("/products")
+            .then()
+                .statusCode(201);
+        }
+    }
+
+    private static void insertInBatches(String baseUri, String token, int count, int batchSize) {
+        for (int sent = 0; sent < count; sent += batchSize) {
+            int size = Math.min(batchSize, count - sent);
+            List<PayloadTemplate> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(NEW_PRODUCT);
+            }
+            int succeeded = given(spec(baseUri))
+                .header("Authorization", "Bearer " + token)
+                .body(PayloadTemplate.array(items))
+                .contentType(ContentType.JSON)
+            .when()
+                .post("/products/batch")
+            .then()
+                .statusCode(200)
+                .extract().path("succeeded");
+            assertEquals(size, succeeded);
+        }
+    }
+}
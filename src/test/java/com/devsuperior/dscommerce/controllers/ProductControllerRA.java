@@ -1,35 +1,83 @@
 package com.devsuperior.dscommerce.controllers;
 
-import static io.restassured.RestAssured.baseURI;
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static com.devsuperior.dscommerce.tests.Resources.MUTATING;
+import static com.devsuperior.dscommerce.tests.Resources.PRODUCTS;
+import static com.devsuperior.dscommerce.tests.Resources.READ_ONLY;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import org.json.simple.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
+import com.devsuperior.dscommerce.tests.Dataset;
+import com.devsuperior.dscommerce.tests.LatencyBudget;
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.devsuperior.dscommerce.tests.ResetState;
 import com.devsuperior.dscommerce.tests.TokenUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 
+@LatencyBudget
+@ResetState
 public class ProductControllerRA {
 
     private String clientUsername, adminUsername, userPassword;
     private String clientToken, adminToken, invalidToken;
     private Long existingId, nonExistingId, dependentId;
-    private Map<String, Object> postProductInstance;
+
+    // corpo do POST /products serializado uma única vez; os casos inválidos só trocam um campo
+    private static final PayloadTemplate postProductInstance;
+
+    static {
+        // Criando Map para representar as categories
+        Map<String, Object> category1 = new HashMap<>();
+        category1.put("id", 2);
+        Map<String, Object> category2 = new HashMap<>();
+        category2.put("id", 3);
+        
+        List<Map<String, Object>> categories = new ArrayList<>();
+        categories.add(category1);
+        categories.add(category2);
+
+        Map<String, Object> product = new LinkedHashMap<>();
+        product.put("name", "Meu produto");
+        product.put("description", "uiuiuiuiuiuiui");
+        product.put("imgUrl", "img/image");
+        product.put("price", 50.0);
+        product.put("categories", categories);
+        postProductInstance = PayloadTemplate.of(product);
+    }
 
     @BeforeEach
     public void setUp() {
         
-        baseURI = "http://localhost:8080"; // base URI for the application
         nonExistingId = 100L;
         dependentId = 3L;
         
@@ -41,31 +89,16 @@ public class ProductControllerRA {
         clientToken = TokenUtil.obtainAccessToken(clientUsername, userPassword);
         adminToken = TokenUtil.obtainAccessToken(adminUsername, userPassword);
         invalidToken = adminToken + "789";
-
-        // Criando Map para representar as categories
-        Map<String, Object> category1 = new HashMap<>();
-        category1.put("id", 2);
-        Map<String, Object> category2 = new HashMap<>();
-        category2.put("id", 3);
-        
-        List<Map<String, Object>> categories = new ArrayList<>();
-        categories.add(category1);
-        categories.add(category2);
-
-        postProductInstance = new HashMap<>();
-        postProductInstance.put("name", "Meu produto");
-        postProductInstance.put("description", "uiuiuiuiuiuiui");
-        postProductInstance.put("imgUrl", "img/image");
-        postProductInstance.put("price", 50.0);
-        postProductInstance.put("categories", categories);
     }
 
     /* findById */
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void findByIdShouldReturnProductWhenExistingId() {
         existingId = 2L;
 
-        given()
+        given(spec())
             .get("/products/{id}", existingId)
         .then()
             .statusCode(200)
@@ -77,11 +110,95 @@ public class ProductControllerRA {
             .body("categories.name", hasItems("Eletronicos", "Computadores"));      
     }
 
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    public void findByIdShouldServeCachedProductAndReturn304WhenETagMatches() {
+        existingId = 2L;
+
+        String etag = given(spec())
+            .get("/products/{id}", existingId)
+        .then()
+            .statusCode(200)
+            .extract().header("ETag");
+
+        int hits = 0;
+        for (int i = 0; i < 20; i++) {
+            String cache = given(spec())
+                .get("/products/{id}", existingId)
+            .then()
+                .statusCode(200)
+                .header("ETag", equalTo(etag))
+                .extract().header("X-Cache");
+            if ("HIT".equals(cache)) {
+                hits++;
+            }
+        }
+        assertEquals(20, hits);
+
+        given(spec())
+            .header("If-None-Match", etag)
+            .get("/products/{id}", existingId)
+        .then()
+            .statusCode(304)
+            .header("X-Cache", equalTo("HIT"));
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    public void findByIdShouldReturnOnlyRequestedFieldsWhenFieldsIsGiven() {
+        existingId = 2L;
+
+        Map<String, Object> product = given(spec())
+            .get("/products/{id}?fields=name,categories.name", existingId)
+        .then()
+            .statusCode(200)
+            .header("Vary", equalTo("Accept"))
+            .body("name", equalTo("Smart TV"))
+            .body("categories.name", hasItems("Eletronicos", "Computadores"))
+            .extract().jsonPath().getMap("$");
+
+        assertEquals(Set.of("name", "categories"), product.keySet());
+        for (Object category : (List<?>) product.get("categories")) {
+            assertEquals(Set.of("name"), ((Map<?, ?>) category).keySet());
+        }
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    public void findByIdShouldEncodeCborAndSmileWhenAccepted() throws IOException {
+        existingId = 2L;
+
+        JsonNode json = new ObjectMapper().readTree(given(spec()).get("/products/{id}", existingId).asByteArray());
+
+        byte[] cbor = given(spec())
+            .accept("application/cbor")
+            .get("/products/{id}", existingId)
+        .then()
+            .statusCode(200)
+            .contentType("application/cbor")
+            .extract().asByteArray();
+        assertEquals(json, new CBORMapper().readTree(cbor));
+
+        byte[] smile = given(spec())
+            .accept("application/x-jackson-smile")
+            .get("/products/{id}", existingId)
+        .then()
+            .statusCode(200)
+            .contentType("application/x-jackson-smile")
+            .extract().asByteArray();
+        assertEquals(json, new SmileMapper().readTree(smile));
+    }
+
     /* findAll */
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void findAllShouldReturnProductPageWhenNameIsEmpty() {
         
-        given()
+        given(spec())
             .get("/products?sort=name")
         .then()
             .statusCode(200)
@@ -89,11 +206,13 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void findAllShouldReturnProductWhenProductNameIsNotEmpty() {
 
         String productName = "Macbook";
 
-        given()
+        given(spec())
             .get("/products?name={productName}", productName)
         .then()
             .statusCode(200)
@@ -102,25 +221,114 @@ public class ProductControllerRA {
             .body("content.price[0]", is(1250.0F));
     }
 
-    @Test // Busca todos os produtos que tem o preço maior que 2000.0
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ) // Busca todos os produtos que tem o preço maior que 2000.0
     public void findAllShouldReturnProductWhenPriceGreatherThan2000() {
 
-        given()
-            .get("/products?size=25")
+        // o filtro é feito no servidor: nenhum produto custa exatamente 2000.0 e a página só traz os 7 que passam
+        given(spec())
+            .get("/products?minPrice=2000.0&sort=price&size=5")
+        .then()
+            .statusCode(200)
+            .body("totalElements", Dataset.total(7))
+            .body("size", is(5))
+            .body("content.size()", is(5))
+            .body("content.price", everyItem(greaterThan(2000.0F)));
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    public void findAllShouldPageProductsPricedAbove2000InPriceOrder() {
+        // com dados gerados, outros produtos entram entre os da carga fixa: o teste aparece como ignorado
+        assumeTrue(Dataset.seedOnly(), "ordem exata só vale para a carga fixa (DATASET_SCALE=0)");
+
+        given(spec())
+            .get("/products?minPrice=2000.0&sort=price&size=5")
+        .then()
+            .statusCode(200)
+            .body("content.name", contains("Smart TV", "PC Gamer Weed", "PC Gamer Hera", "PC Gamer Min", "PC Gamer Max"));
+
+        given(spec())
+            .get("/products?minPrice=2000.0&sort=price&size=5&page=1")
+        .then()
+            .statusCode(200)
+            .body("content.name", contains("PC Gamer Boo", "PC Gamer Foo"));
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    public void findAllShouldCombinePriceRangeAndCategoryFilters() {
+
+        // nenhum produto gerado tem "gamer" no nome, então esta combinação é exata em qualquer escala
+        given(spec())
+            .get("/products?categoryId=3&minPrice=1700&maxPrice=1800&name=gamer")
+        .then()
+            .statusCode(200)
+            .body("totalElements", is(2))
+            .body("content.id", contains(10, 19));
+
+        given(spec())
+            .get("/products?categoryId=2&minPrice=1000")
+        .then()
+            .statusCode(200)
+            .body("totalElements", Dataset.total(1))
+            .body("content.price", everyItem(greaterThan(999.99F)));
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    public void findAllShouldSortCategoryByPriceDescending() {
+        assumeTrue(Dataset.seedOnly(), "lista exata só vale para a carga fixa (DATASET_SCALE=0)");
+
+        given(spec())
+            .get("/products?categoryId=1&sort=price,desc")
+        .then()
+            .statusCode(200)
+            .body("totalElements", is(2))
+            .body("content.name", contains("Rails for Dummies", "The Lord of the Rings"));
+    }
+
+    /* export */
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    public void exportShouldStreamProductsFilteredByMinPriceAndCategory() {
+
+        String expensive = given(spec())
+            .get("/products/export?minPrice={minPrice}", 2000.0)
+        .then()
+            .statusCode(200)
+            .contentType("application/x-ndjson")
+            .extract().asString();
+        List<String> lines = expensive.lines().toList();
+        assertThat(lines.size(), Dataset.total(7));
+        assertTrue(expensive.contains("\"name\":\"PC Gamer Boo\""));
+        assertTrue(expensive.contains("\"name\":\"PC Gamer Weed\""));
+
+        // a exportação sai em ordem de id, então os livros da carga fixa vêm primeiro em qualquer escala
+        List<String> books = given(spec())
+            .get("/products/export?category={category}", 1)
         .then()
             .statusCode(200)
-            .body("content.findAll {it.price > 2000.0}.name", hasItems("PC Gamer Boo", "PC Gamer Weed"))
-            .body("content.findAll {it.price > 2000.0}.size()", equalTo(7));
+            .extract().asString().lines().toList();
+        assertThat(books.size(), Dataset.total(2));
+        assertTrue(books.get(0).contains("\"name\":\"The Lord of the Rings\""));
+        assertTrue(books.get(1).contains("\"name\":\"Rails for Dummies\""));
     }
 
     /* insert */
     @Test
+    @Tag(MUTATING)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ_WRITE)
     public void insertShouldReturnProductWhenAdminLogged() {
 
-        // Converter objeto Map para JSON
-        JSONObject newProduct = new JSONObject(postProductInstance);
+        byte[] newProduct = postProductInstance.bytes();
 
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + adminToken)
             .body(newProduct)
@@ -138,12 +346,13 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void insertShouldReturn403ForbiddenWhenClientLogged() {
 
-        // Converter objeto Map para JSON
-        JSONObject newProduct = new JSONObject(postProductInstance);
+        byte[] newProduct = postProductInstance.bytes();
 
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + clientToken)
             .body(newProduct)
@@ -156,12 +365,13 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void insertShouldReturn401UnauthorizedWhenNotLogged() {
 
-        // Converter objeto Map para JSON
-        JSONObject newProduct = new JSONObject(postProductInstance);
+        byte[] newProduct = postProductInstance.bytes();
 
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + invalidToken)
             .body(newProduct)
@@ -174,14 +384,13 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void insertShouldReturn422UnprocessableEntityWhenAdminLoggedAndProductInvalidName() {
 
-        postProductInstance.put("name", "Me"); // invalid name
+        byte[] newProduct = postProductInstance.with("name", "Me").bytes(); // invalid name
 
-        // Converter objeto Map para JSON
-        JSONObject newProduct = new JSONObject(postProductInstance);
-
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + adminToken)
             .body(newProduct)
@@ -195,14 +404,13 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void insertShouldReturn422UnprocessableEntityWhenAdminLoggedAndInvalidDescription() {
 
-        postProductInstance.put("description", "short"); // invalid description
-
-        // Converter objeto Map para JSON
-        JSONObject newProduct = new JSONObject(postProductInstance);
+        byte[] newProduct = postProductInstance.with("description", "short").bytes(); // invalid description
 
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + adminToken)
             .body(newProduct)
@@ -216,14 +424,13 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void insertShouldReturn422UnprocessableEntityWhenAdminLoggedAndNegativePrice() {
 
-        postProductInstance.put("price", -10);
-
-        // Converter objeto Map para JSON
-        JSONObject newProduct = new JSONObject(postProductInstance);
+        byte[] newProduct = postProductInstance.with("price", -10).bytes();
 
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + adminToken)
             .body(newProduct)
@@ -237,13 +444,13 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void insertShouldReturn422UnprocessableEntityWhenAdminLoggedAndPriceIsZero() {
 
-        postProductInstance.put("price", 0);
-        // Converter objeto Map para JSON
-        JSONObject newProduct = new JSONObject(postProductInstance);
+        byte[] newProduct = postProductInstance.with("price", 0).bytes();
 
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + adminToken)
             .body(newProduct)
@@ -257,14 +464,13 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void insertShouldReturn422UnprocessableEntityWhenAdminLoggedAndProductHasNoCategory() {
 
-        postProductInstance.remove("categories");
+        byte[] newProduct = postProductInstance.without("categories").bytes();
 
-        // Converter objeto Map para JSON
-        JSONObject newProduct = new JSONObject(postProductInstance);
-
-        given()
+        given(spec())
             .header("Content-type", "application/json")
             .header("Authorization", "Bearer " + adminToken)
             .body(newProduct)
@@ -277,13 +483,169 @@ public class ProductControllerRA {
             .body("errors.message[0]", equalTo("Deve ter pelo menos uma categoria"));
     }
     
+    /* cache de GET /products/{id} */
+    @Test
+    @Tag(MUTATING)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ_WRITE)
+    public void writesShouldInvalidateCachedProduct() {
+
+        Long id = given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .body(postProductInstance.bytes())
+            .contentType(ContentType.JSON)
+        .when()
+            .post("/products")
+        .then()
+            .statusCode(201)
+            .extract().jsonPath().getLong("id");
+
+        given(spec())
+            .get("/products/{id}", id)
+        .then()
+            .statusCode(200)
+            .header("X-Cache", equalTo("MISS"));
+        String etag = given(spec())
+            .get("/products/{id}", id)
+        .then()
+            .statusCode(200)
+            .header("X-Cache", equalTo("HIT"))
+            .extract().header("ETag");
+
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .body(postProductInstance.with("name", "Meu produto alterado").bytes())
+            .contentType(ContentType.JSON)
+        .when()
+            .put("/products/{id}", id)
+        .then()
+            .statusCode(200);
+
+        given(spec())
+            .header("If-None-Match", etag)
+            .get("/products/{id}", id)
+        .then()
+            .statusCode(200)
+            .header("X-Cache", equalTo("MISS"))
+            .header("ETag", not(equalTo(etag)))
+            .body("name", equalTo("Meu produto alterado"));
+
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .delete("/products/{id}", id)
+        .then()
+            .statusCode(204);
+
+        given(spec())
+            .header("If-None-Match", etag)
+            .get("/products/{id}", id)
+        .then()
+            .statusCode(404);
+    }
+
+    /* batch */
+    @Test
+    @Tag(MUTATING)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ_WRITE)
+    public void insertBatchShouldReturnResultPerItemWhenAdminLogged() {
+
+        List<Map<String, Object>> unknownCategory = List.of(Map.of("id", 999));
+        byte[] batch = PayloadTemplate.array(List.of(
+                postProductInstance.with("name", "Produto em lote 1"),
+                postProductInstance.with("name", "Me"), // invalid name
+                postProductInstance.with("price", -50.0), // invalid price
+                postProductInstance.with("categories", unknownCategory),
+                postProductInstance.with("name", "Produto em lote 2")));
+
+        Response response = given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .body(batch)
+            .contentType(ContentType.JSON)
+            .accept(ContentType.JSON)
+        .when()
+            .post("/products/batch")
+        .then()
+            .statusCode(200)
+            .body("succeeded", is(2))
+            .body("failed", is(3))
+            .body("results.index", contains(0, 1, 2, 3, 4))
+            .body("results.status", contains(201, 422, 422, 404, 201))
+            .body("results[1].errors.message", contains("Nome precisar ter de 3 a 80 caracteres"))
+            .body("results[2].errors.message", contains("O preço deve ser positivo"))
+            .body("results[3].error", equalTo("Categoria não encontrada"))
+            .extract().response();
+
+        Long firstId = response.jsonPath().getLong("results[0].id");
+        given(spec())
+        .when()
+            .get("/products/{id}", firstId)
+        .then()
+            .statusCode(200)
+            .body("name", equalTo("Produto em lote 1"))
+            .body("categories.id", hasItems(2, 3));
+    }
+
+    @Test
+    @Tag(MUTATING)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ_WRITE)
+    public void deleteBatchShouldReturnResultPerItemWhenAdminLogged() {
+
+        Long newId = given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .body(PayloadTemplate.array(List.of(postProductInstance)))
+            .contentType(ContentType.JSON)
+        .when()
+            .post("/products/batch")
+        .then()
+            .statusCode(200)
+            .extract().jsonPath().getLong("results[0].id");
+
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .body(List.of(newId, nonExistingId, dependentId, newId))
+            .contentType(ContentType.JSON)
+            .accept(ContentType.JSON)
+        .when()
+            .delete("/products/batch")
+        .then()
+            .statusCode(200)
+            .body("succeeded", is(1))
+            .body("results.status", contains(204, 404, 400, 404))
+            .body("results[1].error", equalTo("Recurso não encontrado"))
+            .body("results[2].error", equalTo("Falha de integridade referencial"));
+
+        given(spec())
+        .when()
+            .get("/products/{id}", newId)
+        .then()
+            .statusCode(404);
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    public void insertBatchShouldReturn403ForbiddenWhenClientLogged() {
+
+        given(spec())
+            .header("Authorization", "Bearer " + clientToken)
+            .body(PayloadTemplate.array(List.of(postProductInstance)))
+            .contentType(ContentType.JSON)
+            .accept(ContentType.JSON)
+        .when()
+            .post("/products/batch")
+        .then()
+            .statusCode(403);
+    }
+
     /* delete */
-     @Test
+    @Test
+    @Tag(MUTATING)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ_WRITE)
     public void deleteShould204NoContentWhenAdminLogged() {
 
         existingId = 22L;
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + adminToken)
         .when()
             .delete("/products/{id}", existingId)
@@ -292,9 +654,11 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void deleteShould404NotFoundWhenNonExistingProductIdAndAdminLogged() {
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + adminToken)
         .when()
             .delete("/products/{id}", nonExistingId)
@@ -304,9 +668,11 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void deleteShould400WhenDependentProductIdAndAdminLogged() {
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + adminToken)
         .when()
             .delete("/products/{id}", dependentId)
@@ -316,11 +682,13 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void deleteShould403ForbiddenWhenClientLogged() {
 
         existingId = 22L;
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + clientToken)
         .when()
             .delete("/products/{id}", existingId)
@@ -329,9 +697,11 @@ public class ProductControllerRA {
     }
 
     @Test
+    @Tag(READ_ONLY)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
     public void deleteShould401UnauthorizedWhenNotLogged() {
 
-        given()
+        given(spec())
             .header("Authorization", "Bearer " + invalidToken)
         .when()
             .delete("/products/{id}", dependentId)
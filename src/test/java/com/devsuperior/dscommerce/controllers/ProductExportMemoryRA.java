@@ -0,0 +1,108 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.tests.EmbeddedServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * GET /products/export lido linha a linha num catálogo pequeno e num 10x maior: a memória retida
+ * no meio da leitura (cliente e servidor estão na mesma JVM) não pode crescer com o catálogo.
+ *
+ * Usa uma instância própria, para os produtos gerados não aparecerem nas outras suítes. A medida depende
+ * do coletor atender o {@code System.gc()}, então só roda com {@code -Dexport.largeCatalog=<produtos>};
+ * opcional: {@code export.smallCatalog} (10000).
+ */
+public class ProductExportMemoryRA {
+
+    // folga para ruído de GC; um export montado em memória ocuparia dezenas de MB a mais
+    private static final long MAX_GROWTH_BYTES = 8L * 1024 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @EnabledIfSystemProperty(named = "export.largeCatalog", matches = "\\d+")
+    public void exportShouldKeepMemoryFlatAsCatalogGrows() throws IOException {
+        int small = Integer.getInteger("export.smallCatalog", 10_000);
+        int large = Integer.getInteger("export.largeCatalog");
+
+        try (ConfigurableApplicationContext context = EmbeddedServer.start()) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            ProductRepository products = context.getBean(ProductRepository.class);
+            Category computers = context.getBean(CategoryRepository.class).findById(3L).orElseThrow();
+
+            grow(products, computers, small);
+            long smallRetained = retainedWhileStreaming(baseUri, (int) products.count());
+
+            grow(products, computers, large);
+            long largeRetained = retainedWhileStreaming(baseUri, (int) products.count());
+
+            assertTrue(largeRetained - smallRetained < MAX_GROWTH_BYTES,
+                    String.format("retained %d KB with %d products, %d KB with %d products",
+                            smallRetained / 1024, small, largeRetained / 1024, large));
+        }
+    }
+
+    private long retainedWhileStreaming(String baseUri, int expected) throws IOException {
+        long baseline = usedHeapAfterGc();
+        long midway = baseline;
+        int count = 0;
+        long lastId = 0;
+
+        InputStream body = given(spec(baseUri))
+            .get("/products/export")
+            .asInputStream();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode product = objectMapper.readTree(line);
+                long id = product.get("id").asLong();
+                assertTrue(id > lastId, "export out of id order at " + id);
+                lastId = id;
+                if (++count == expected / 2) {
+                    midway = usedHeapAfterGc();
+                }
+            }
+        }
+        assertEquals(expected, count);
+        return Math.max(0, midway - baseline);
+    }
+
+    private static void grow(ProductRepository products, Category category, int size) {
+        List<Product> batch = new ArrayList<>();
+        for (long i = products.count(); i < size; i++) {
+            Product p = new Product(null, "Produto gerado " + i, "Produto gerado para o teste de exportação",
+                    100.0 + (i % 5000), "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg");
+            p.getCategories().add(category);
+            batch.add(p);
+        }
+        products.saveAll(batch);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
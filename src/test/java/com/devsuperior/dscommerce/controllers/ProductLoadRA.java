@@ -0,0 +1,52 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.devsuperior.dscommerce.tests.load.LoadReport;
+import com.devsuperior.dscommerce.tests.load.LoadRunner;
+import com.devsuperior.dscommerce.tests.load.ProductScenarios;
+
+/**
+ * Teste de carga do catálogo com os cenários do ProductControllerRA.
+ *
+ * Só roda com {@code -Dload.duration=<segundos>}. Opcionais: {@code load.concurrency},
+ * {@code load.rate} (req/s, loop aberto) e {@code load.maxErrorRate} (padrão 0.01).
+ */
+@EnabledIfSystemProperty(named = "load.duration", matches = "\\d+")
+public class ProductLoadRA {
+
+    @Test
+    public void catalogWorkloadShouldStayBelowErrorBudget() throws IOException {
+
+        ProductScenarios scenarios = new ProductScenarios();
+
+        LoadReport report = LoadRunner.builder()
+            .duration(Duration.ofSeconds(Long.getLong("load.duration")))
+            .concurrency(Integer.getInteger("load.concurrency", Runtime.getRuntime().availableProcessors()))
+            .targetRate(Double.parseDouble(System.getProperty("load.rate", "0")))
+            .step(scenarios.findById(40))
+            .step(scenarios.findAllPage(20))
+            .step(scenarios.findAllByName(20))
+            .step(scenarios.findAllSortedByName(10))
+            .step(scenarios.insert(5))
+            .step(scenarios.delete(5))
+            .build()
+            .run();
+
+        String formatted = report.format();
+        System.out.print(formatted);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "load-report.txt"), formatted);
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+        assertTrue(report.errorRate() <= maxErrorRate, "error rate above budget:\n" + formatted);
+    }
+}
@@ -0,0 +1,211 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static com.devsuperior.dscommerce.tests.Resources.MUTATING;
+import static com.devsuperior.dscommerce.tests.Resources.ORDERS;
+import static com.devsuperior.dscommerce.tests.Resources.PRODUCTS;
+import static com.devsuperior.dscommerce.tests.Resources.READ_ONLY;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.devsuperior.dscommerce.tests.EmbeddedServer;
+import com.devsuperior.dscommerce.tests.LatencyBudget;
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+
+import io.restassured.http.ContentType;
+
+@LatencyBudget
+public class ResetControllerRA {
+
+    private static final PayloadTemplate NEW_PRODUCT = PayloadTemplate.of(Map.of(
+            "name", "Produto descartado no reset",
+            "description", "Produto criado depois do retrato da subida",
+            "price", 99.9,
+            "categories", List.of(Map.of("id", 1))));
+
+    private static final PayloadTemplate STOCKED_PRODUCT = PayloadTemplate.of(Map.of(
+            "name", "Produto com estoque no reset",
+            "description", "Produto cujo estoque volta quando os pedidos voltam",
+            "price", 10.0,
+            "stock", 5,
+            "categories", List.of(Map.of("id", 1))));
+
+    private static final PayloadTemplate NEW_ORDER = PayloadTemplate.of(Map.of(
+            "items", List.of(Map.of("productId", 2, "quantity", 1))));
+
+    private String adminToken, clientToken;
+
+    @TempDir
+    Path storage;
+
+    @BeforeEach
+    public void setUp() {
+        adminToken = TokenUtil.obtainAccessToken("alex@gmail.com", "123456");
+        clientToken = TokenUtil.obtainAccessToken("maria@gmail.com", "123456");
+    }
+
+    @Test
+    @Tag(MUTATING)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ_WRITE)
+    public void resetShouldRestoreDeletedProductAndDiscardInsertedOne() {
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .delete("/products/{id}", 22)
+        .then()
+            .statusCode(204);
+        int insertedId = insertProduct();
+
+        reset("products");
+
+        given(spec())
+            .get("/products/{id}", 22)
+        .then()
+            .statusCode(200)
+            .body("id", is(22));
+        given(spec())
+            .get("/products/{id}", insertedId)
+        .then()
+            .statusCode(404);
+
+        // a sequência de ids não volta: o id descartado pode estar no disco e não é reaproveitado
+        assertTrue(insertProduct() > insertedId);
+        reset("products");
+    }
+
+    @Test
+    @Tag(MUTATING)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ_WRITE)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ)
+    public void resetShouldDiscardOrdersCreatedAfterStartup() {
+        int orderId = given(spec())
+            .header("Authorization", "Bearer " + clientToken)
+            .body(NEW_ORDER.bytes())
+            .contentType(ContentType.JSON)
+            .post("/orders")
+        .then()
+            .statusCode(201)
+            .extract().path("id");
+
+        reset("orders");
+
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .get("/orders/{id}", orderId)
+        .then()
+            .statusCode(404);
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .get("/orders/{id}", 1)
+        .then()
+            .statusCode(200);
+    }
+
+    @Test
+    @Tag(MUTATING)
+    @ResourceLock(value = ORDERS, mode = ResourceAccessMode.READ_WRITE)
+    @ResourceLock(value = PRODUCTS, mode = ResourceAccessMode.READ_WRITE)
+    public void resetOfOrdersShouldReturnTheStockTheyReserved() {
+        int productId = given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .body(STOCKED_PRODUCT.bytes())
+            .contentType(ContentType.JSON)
+            .post("/products")
+        .then()
+            .statusCode(201)
+            .extract().path("id");
+        given(spec())
+            .header("Authorization", "Bearer " + clientToken)
+            .body(PayloadTemplate.of(Map.of("items", List.of(Map.of("productId", productId, "quantity", 2)))).bytes())
+            .contentType(ContentType.JSON)
+            .post("/orders")
+        .then()
+            .statusCode(201);
+        given(spec())
+            .get("/products/{id}", productId)
+        .then()
+            .body("stock", is(3));
+
+        reset("orders");
+
+        given(spec())
+            .get("/products/{id}", productId)
+        .then()
+            .statusCode(200)
+            .body("stock", is(5));
+        reset("products");
+    }
+
+    @Test
+    @Tag(READ_ONLY)
+    public void resetShouldReturnForbiddenWhenClientLogged() {
+        given(spec())
+            .header("Authorization", "Bearer " + clientToken)
+            .post("/test/reset")
+        .then()
+            .statusCode(403);
+    }
+
+    @Test
+    public void resetShouldReturnNotFoundWhenDisabled() {
+        try (ConfigurableApplicationContext context = EmbeddedServer.start()) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String token = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + token)
+                .post("/test/reset")
+            .then()
+                .statusCode(404);
+        }
+    }
+
+    @Test
+    public void resetShouldReturnNotFoundWhenStorageIsEnabled() {
+        // o reset só volta a memória; com o disco ligado os dois divergiriam
+        try (ConfigurableApplicationContext context = EmbeddedServer.start("dscommerce.test.reset-enabled=true",
+                "dscommerce.storage.dir=" + storage)) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String token = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + token)
+                .post("/test/reset")
+            .then()
+                .statusCode(404);
+        }
+    }
+
+    private int insertProduct() {
+        return given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .body(NEW_PRODUCT.bytes())
+            .contentType(ContentType.JSON)
+            .post("/products")
+        .then()
+            .statusCode(201)
+            .extract().path("id");
+    }
+
+    private void reset(String resources) {
+        given(spec())
+            .header("Authorization", "Bearer " + adminToken)
+            .queryParam("resources", resources)
+            .post("/test/reset")
+        .then()
+            .statusCode(204);
+    }
+}
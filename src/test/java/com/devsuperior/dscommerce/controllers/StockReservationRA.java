@@ -0,0 +1,272 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.devsuperior.dscommerce.tests.EmbeddedServer;
+import com.devsuperior.dscommerce.tests.LatencyHistogram;
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+
+/**
+ * Promoção relâmpago numa instância própria: dois produtos "quentes" com estoque recebem pedidos
+ * simultâneos, metade com os itens numa ordem e metade na outra (mais um produto sem estoque).
+ * Exatamente {@code estoque} pedidos entram (201), os demais recebem 409 e o estoque termina em zero.
+ *
+ * A vazão por nível de concorrência (target/stock-report.txt) só roda com {@code -Dstock.orders=<pedidos
+ * por nível>}; opcional: {@code stock.concurrency} (padrão 1,2,4; o pool HTTP do cliente precisa
+ * comportar o maior nível, {@code -Dhttp.pool.size}).
+ */
+public class StockReservationRA {
+
+    private static final int DEFAULT_ORDERS = 200;
+    private static final int DEFAULT_CONCURRENCY = 4;
+
+    @Test
+    public void hotProductShouldNotOversellUnderConcurrentOrders() throws Exception {
+        try (ConfigurableApplicationContext context = EmbeddedServer.start()) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String adminToken = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+            String clientToken = TokenUtil.obtainAccessTokenFrom(baseUri, "maria@gmail.com", "123456");
+
+            Result result = run(baseUri, adminToken, clientToken, DEFAULT_ORDERS, DEFAULT_CONCURRENCY);
+
+            assertEquals(0, result.unexpected());
+            assertEquals(DEFAULT_ORDERS / 2, result.accepted());
+            assertEquals(DEFAULT_ORDERS / 2, result.rejected());
+        }
+    }
+
+    @Test
+    public void updateShouldKeepStockWhenAbsentAndRejectStaleExpectedStock() throws Exception {
+        try (ConfigurableApplicationContext context = EmbeddedServer.start()) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String adminToken = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+            String clientToken = TokenUtil.obtainAccessTokenFrom(baseUri, "maria@gmail.com", "123456");
+            int productId = insertProduct(baseUri, adminToken, 5);
+
+            // um cliente que não conhece o estoque não tira o limite do produto
+            update(baseUri, adminToken, productId, Map.of())
+                .statusCode(200)
+                .body("stock", is(5));
+
+            // um pedido entre a leitura (5) e a escrita: o PUT com o valor lido não apaga a reserva
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + clientToken)
+                .body(order(productId, productId).bytes())
+                .contentType(ContentType.JSON)
+                .post("/orders")
+            .then()
+                .statusCode(201);
+            update(baseUri, adminToken, productId, Map.of("stock", 10, "expectedStock", 5))
+                .statusCode(409);
+            update(baseUri, adminToken, productId, Map.of("stock", 10))
+                .statusCode(409);
+            update(baseUri, adminToken, productId, Map.of("stock", 10, "expectedStock", 3))
+                .statusCode(200)
+                .body("stock", is(10))
+                .body("expectedStock", is((Object) null));
+        }
+    }
+
+    @Test
+    public void deleteRacingAnOrderShouldEitherSeeTheOrderOrWinBeforeIt() throws Exception {
+        try (ConfigurableApplicationContext context = EmbeddedServer.start()) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String adminToken = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+            String clientToken = TokenUtil.obtainAccessTokenFrom(baseUri, "maria@gmail.com", "123456");
+
+            ExecutorService executor = Executors.newFixedThreadPool(DEFAULT_CONCURRENCY);
+            try {
+                for (int n = 0; n < 50; n++) {
+                    int productId = insertProduct(baseUri, adminToken, 5);
+                    byte[] body = PayloadTemplate.of(Map.of("items",
+                            List.of(Map.of("productId", productId, "quantity", 1)))).bytes();
+                    Future<Integer> order = executor.submit(() -> given(spec(baseUri))
+                        .header("Authorization", "Bearer " + clientToken)
+                        .body(body)
+                        .contentType(ContentType.JSON)
+                        .post("/orders")
+                        .statusCode());
+                    Future<Integer> delete = executor.submit(() -> given(spec(baseUri))
+                        .header("Authorization", "Bearer " + adminToken)
+                        .delete("/products/{id}", productId)
+                        .statusCode());
+
+                    // pedido antes (201 e o DELETE recusado) ou remoção antes (204 e o pedido sem o produto)
+                    String outcome = order.get() + "/" + delete.get();
+                    assertTrue(outcome.equals("201/400") || outcome.equals("404/204"), outcome);
+                }
+            }
+            finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "stock.orders", matches = "\\d+")
+    public void reportThroughputAsContentionRises() throws Exception {
+        int orders = Integer.getInteger("stock.orders");
+        int stock = orders / 2;
+        int[] levels = Arrays.stream(System.getProperty("stock.concurrency", "1,2,4").split(","))
+            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+        try (ConfigurableApplicationContext context = EmbeddedServer.start()) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String adminToken = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+            String clientToken = TokenUtil.obtainAccessTokenFrom(baseUri, "maria@gmail.com", "123456");
+
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%d orders per level for 2 hot products with stock %d each%n%n", orders, stock));
+            sb.append(String.format("%11s %8s %8s %10s %9s %9s %9s%n",
+                    "concurrency", "201", "409", "orders/s", "p50(ms)", "p99(ms)", "max(ms)"));
+
+            // aquecimento: a primeira rodada paga JIT e conexões e fica fora do relatório
+            run(baseUri, adminToken, clientToken, orders / 4, levels[levels.length - 1]);
+
+            for (int concurrency : levels) {
+                Result result = run(baseUri, adminToken, clientToken, orders, concurrency);
+                LatencyHistogram latencies = result.latencies();
+                sb.append(String.format("%11d %8d %8d %10.1f %9.2f %9.2f %9.2f%n", concurrency, result.accepted(),
+                        result.rejected(), result.throughput(), latencies.percentile(50) / 1000.0,
+                        latencies.percentile(99) / 1000.0, latencies.max() / 1000.0));
+
+                assertEquals(0, result.unexpected(), sb.toString());
+                assertEquals(stock, result.accepted(), sb.toString());
+                assertEquals(orders - stock, result.rejected(), sb.toString());
+            }
+
+            String report = sb.toString();
+            System.out.print(report);
+            Files.createDirectories(Path.of("target"));
+            Files.writeString(Path.of("target", "stock-report.txt"), report);
+        }
+    }
+
+    // dois produtos novos com estoque orders / 2; no fim, o estoque dos dois tem que estar zerado
+    private static Result run(String baseUri, String adminToken, String clientToken, int orders, int concurrency)
+            throws Exception {
+        int hotA = insertProduct(baseUri, adminToken, orders / 2);
+        int hotB = insertProduct(baseUri, adminToken, orders / 2);
+        byte[][] bodies = {
+                order(hotA, hotB).bytes(),
+                order(hotB, hotA).bytes() };
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        LongAdder accepted = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder unexpected = new LongAdder();
+        AtomicInteger next = new AtomicInteger();
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < concurrency; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int n = next.getAndIncrement(); n < orders; n = next.getAndIncrement()) {
+                        long begin = System.nanoTime();
+                        int status = given(spec(baseUri))
+                            .header("Authorization", "Bearer " + clientToken)
+                            .body(bodies[n & 1])
+                            .contentType(ContentType.JSON)
+                            .post("/orders")
+                            .statusCode();
+                        latencies.record((System.nanoTime() - begin) / 1000);
+                        switch (status) {
+                            case 201 -> accepted.increment();
+                            case 409 -> rejected.increment();
+                            default -> unexpected.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (int id : new int[] { hotA, hotB }) {
+            given(spec(baseUri))
+                .get("/products/{id}", id)
+            .then()
+                .statusCode(200)
+                .body("stock", is(0));
+        }
+        return new Result(latencies, accepted.sum(), rejected.sum(), unexpected.sum(), orders / seconds);
+    }
+
+    private static ValidatableResponse update(String baseUri, String adminToken, int productId,
+            Map<String, Object> stock) throws IOException {
+        Map<String, Object> body = new HashMap<>(stock);
+        body.put("name", "Produto da promoção");
+        body.put("description", "Produto com estoque limitado");
+        body.put("price", 10.0);
+        body.put("categories", List.of(Map.of("id", 1)));
+        return given(spec(baseUri))
+            .header("Authorization", "Bearer " + adminToken)
+            .body(PayloadTemplate.of(body).bytes())
+            .contentType(ContentType.JSON)
+            .put("/products/{id}", productId)
+        .then();
+    }
+
+    private static int insertProduct(String baseUri, String adminToken, int stock) throws IOException {
+        return given(spec(baseUri))
+            .header("Authorization", "Bearer " + adminToken)
+            .body(PayloadTemplate.of(Map.of(
+                    "name", "Produto da promoção",
+                    "description", "Produto com estoque limitado",
+                    "price", 10.0,
+                    "stock", stock,
+                    "categories", List.of(Map.of("id", 1)))).bytes())
+            .contentType(ContentType.JSON)
+            .post("/products")
+        .then()
+            .statusCode(201)
+            .body("stock", is(stock))
+            .extract().path("id");
+    }
+
+    // o produto 2 não controla estoque: entra em todo pedido sem limitar nada
+    private static PayloadTemplate order(int first, int second) {
+        return PayloadTemplate.of(Map.of("items", List.of(
+                Map.of("productId", first, "quantity", 1),
+                Map.of("productId", 2, "quantity", 1),
+                Map.of("productId", second, "quantity", 1))));
+    }
+
+    private record Result(LatencyHistogram latencies, long accepted, long rejected, long unexpected,
+            double throughput) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.devsuperior.dscommerce.tests.EmbeddedServer;
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+
+import io.restassured.http.ContentType;
+
+/**
+ * Sobe uma instância com {@code dscommerce.storage.dir}, altera produtos e pedidos, derruba e sobe
+ * outra no mesmo diretório: o que foi gravado volta (estoque incluso, já sem as unidades reservadas), o que foi
+ * removido continua removido.
+ */
+public class StorageRestartRA {
+
+    private static final PayloadTemplate NEW_PRODUCT = PayloadTemplate.of(Map.of(
+            "name", "Produto persistido",
+            "description", "Produto que precisa sobreviver ao restart",
+            "price", 321.5,
+            "stock", 10,
+            "categories", List.of(Map.of("id", 2))));
+
+    private static final PayloadTemplate NEW_ORDER = PayloadTemplate.of(Map.of(
+            "items", List.of(Map.of("productId", 1, "quantity", 2), Map.of("productId", 5, "quantity", 1))));
+
+    @TempDir
+    Path storage;
+
+    @Test
+    public void productsAndOrdersShouldSurviveRestart() {
+        String property = "dscommerce.storage.dir=" + storage;
+        int productId;
+        int orderId;
+
+        try (ConfigurableApplicationContext context = EmbeddedServer.start(property)) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String adminToken = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+            String clientToken = TokenUtil.obtainAccessTokenFrom(baseUri, "maria@gmail.com", "123456");
+
+            productId = given(spec(baseUri))
+                .header("Authorization", "Bearer " + adminToken)
+                .body(NEW_PRODUCT.bytes())
+                .contentType(ContentType.JSON)
+            .when()
+                .post("/products")
+            .then()
+                .statusCode(201)
+                .extract().path("id");
+
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + adminToken)
+            .when()
+                .delete("/products/{id}", 22)
+            .then()
+                .statusCode(204);
+
+            orderId = given(spec(baseUri))
+                .header("Authorization", "Bearer " + clientToken)
+                .body(NEW_ORDER.bytes())
+                .contentType(ContentType.JSON)
+            .when()
+                .post("/orders")
+            .then()
+                .statusCode(201)
+                .extract().path("id");
+
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + clientToken)
+                .body(PayloadTemplate.of(Map.of("items", List.of(Map.of("productId", productId, "quantity", 3)))).bytes())
+                .contentType(ContentType.JSON)
+            .when()
+                .post("/orders")
+            .then()
+                .statusCode(201);
+        }
+
+        try (ConfigurableApplicationContext context = EmbeddedServer.start(property)) {
+            String baseUri = EmbeddedServer.baseUri(context);
+            String clientToken = TokenUtil.obtainAccessTokenFrom(baseUri, "maria@gmail.com", "123456");
+
+            given(spec(baseUri))
+                .get("/products/{id}", productId)
+            .then()
+                .statusCode(200)
+                .body("name", is("Produto persistido"))
+                .body("price", is(321.5F))
+                .body("stock", is(7))
+                .body("categories[0].id", is(2));
+
+            given(spec(baseUri))
+                .get("/products/{id}", 22)
+            .then()
+                .statusCode(404);
+
+            given(spec(baseUri))
+                .get("/products?name=PC Gamer&size=30")
+            .then()
+                .statusCode(200)
+                .body("totalElements", is(20));
+
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + clientToken)
+            .when()
+                .get("/orders/{id}", orderId)
+            .then()
+                .statusCode(200)
+                .body("client.name", is("Maria Brown"))
+                .body("total", is(281.99F));
+
+            // produtos com pedido continuam protegidos pela restrição de integridade depois do restart
+            String adminToken = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + adminToken)
+            .when()
+                .delete("/products/{id}", 5)
+            .then()
+                .statusCode(400);
+        }
+    }
+}
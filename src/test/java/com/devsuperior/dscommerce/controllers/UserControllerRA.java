@@ -1,6 +1,7 @@
 package com.devsuperior.dscommerce.controllers;
 
-import static io.restassured.RestAssured.baseURI;
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static com.devsuperior.dscommerce.tests.Resources.READ_ONLY;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItems;
@@ -8,12 +9,15 @@ import static org.hamcrest.CoreMatchers.is;
 
 import org.json.JSONException;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import com.devsuperior.dscommerce.tests.LatencyBudget;
 import com.devsuperior.dscommerce.tests.TokenUtil;
 
 import io.restassured.http.ContentType;
 
+@LatencyBudget
 public class UserControllerRA {
 	
 	private String clientUsername, adminUsername, userPassword;
@@ -21,7 +25,6 @@ public class UserControllerRA {
 	
 	@BeforeEach
 	public void setup() throws JSONException {
-		baseURI = "http://localhost:8080";
 		
 		clientUsername = "maria@gmail.com";
 		adminUsername = "alex@gmail.com";
@@ -33,8 +36,9 @@ public class UserControllerRA {
 	}
 	
 	@Test
+	@Tag(READ_ONLY)
 	public void getMeShouldReturnUserWhenAdminLogged() throws JSONException {
-		given()
+		given(spec())
 			.header("Content-type", "application/json")
 			.header("Authorization", "Bearer " + adminToken)
 			.accept(ContentType.JSON)
@@ -51,8 +55,9 @@ public class UserControllerRA {
 	}
 	
 	@Test
+	@Tag(READ_ONLY)
 	public void getMeShouldReturnUserWhenClientLogged() throws JSONException {
-		given()
+		given(spec())
 			.header("Content-type", "application/json")
 			.header("Authorization", "Bearer " + clientToken)
 			.accept(ContentType.JSON)
@@ -69,8 +74,9 @@ public class UserControllerRA {
 	}
 	
 	@Test
+	@Tag(READ_ONLY)
 	public void getMeShouldReturn401UnauthorizedWhenInvalidToken() throws JSONException {
-		given()
+		given(spec())
 			.header("Content-type", "application/json")
 			.header("Authorization", "Bearer " + invalidToken)
 			.accept(ContentType.JSON)
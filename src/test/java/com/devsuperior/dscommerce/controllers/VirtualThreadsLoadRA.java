@@ -0,0 +1,92 @@
+package com.devsuperior.dscommerce.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.devsuperior.dscommerce.tests.EmbeddedServer;
+import com.devsuperior.dscommerce.tests.LatencyHistogram;
+import com.devsuperior.dscommerce.tests.load.LoadReport;
+import com.devsuperior.dscommerce.tests.load.LoadRunner;
+import com.devsuperior.dscommerce.tests.load.OrderScenarios;
+import com.devsuperior.dscommerce.tests.load.ProductScenarios;
+
+/**
+ * Pool de threads do Tomcat x virtual threads: sobe uma instância em cada modo, com a mesma espera
+ * simulada de serviço externo, e roda os cenários de produtos e pedidos em concorrência crescente.
+ *
+ * Só roda em Java 21+ com {@code -Dvt.duration=<segundos por nível>}. Opcionais: {@code vt.concurrency}
+ * (padrão 50,200,400), {@code vt.latencyMillis} (50) e {@code vt.tomcatMaxThreads} (200). O pool HTTP
+ * do cliente precisa comportar o maior nível ({@code -Dhttp.pool.size}).
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "vt.duration", matches = "\\d+")
+public class VirtualThreadsLoadRA {
+
+    @Test
+    public void compareTomcatThreadPoolWithVirtualThreads() throws IOException {
+
+        Duration duration = Duration.ofSeconds(Long.getLong("vt.duration"));
+        int[] levels = Arrays.stream(System.getProperty("vt.concurrency", "50,200,400").split(","))
+            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        long latencyMillis = Long.getLong("vt.latencyMillis", 50L);
+        int tomcatMaxThreads = Integer.getInteger("vt.tomcatMaxThreads", 200);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("simulated downstream latency: %dms, tomcat max threads: %d, %ds per level%n%n",
+                latencyMillis, tomcatMaxThreads, duration.toSeconds()));
+        sb.append(String.format("%-9s %11s %10s %9s %9s %9s %9s %8s%n",
+                "mode", "concurrency", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "errors"));
+
+        double worstErrorRate = 0;
+        for (boolean virtual : new boolean[] { false, true }) {
+            try (ConfigurableApplicationContext context = EmbeddedServer.start(
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "server.tomcat.threads.max=" + tomcatMaxThreads,
+                    "dscommerce.simulated-latency-millis=" + latencyMillis)) {
+
+                String baseUri = EmbeddedServer.baseUri(context);
+                ProductScenarios products = new ProductScenarios(baseUri);
+                OrderScenarios orders = new OrderScenarios(baseUri);
+
+                for (int concurrency : levels) {
+                    LoadReport report = LoadRunner.builder()
+                        .duration(duration)
+                        .concurrency(concurrency)
+                        .step(products.findById(30))
+                        .step(products.findAllPage(20))
+                        .step(products.findAllByName(20))
+                        .step(orders.findById(20))
+                        .step(orders.insert(10))
+                        .build()
+                        .run();
+
+                    LatencyHistogram all = report.totalLatencies();
+                    sb.append(String.format("%-9s %11d %10.1f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n",
+                            virtual ? "virtual" : "platform", concurrency, report.throughput(),
+                            all.percentile(50) / 1000.0, all.percentile(95) / 1000.0, all.percentile(99) / 1000.0,
+                            all.max() / 1000.0, report.errorRate() * 100));
+                    worstErrorRate = Math.max(worstErrorRate, report.errorRate());
+                }
+            }
+        }
+
+        String formatted = sb.toString();
+        System.out.print(formatted);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "virtual-threads-report.txt"), formatted);
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+        assertTrue(worstErrorRate <= maxErrorRate, "error rate above budget:\n" + formatted);
+    }
+}
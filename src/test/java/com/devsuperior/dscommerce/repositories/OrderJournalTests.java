@@ -0,0 +1,87 @@
+package com.devsuperior.dscommerce.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.entities.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class OrderJournalTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void appendShouldGroupConcurrentOrdersIntoBatchesAndReplayAllOfThem() throws Exception {
+		ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+		Path file = dir.resolve("orders.journal");
+		OrderJournal journal = new OrderJournal(mapper, file.toString(), 512);
+
+		User client = new User(1L, "Maria Brown", "maria@gmail.com", "988888888", null, "123456");
+		Product product = new Product(1L, "The Lord of the Rings", "descrição", 90.5, "img");
+		AtomicLong ids = new AtomicLong();
+
+		int threads = 32;
+		int perThread = 200;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futures.add(CompletableFuture.runAsync(() -> {
+				for (int i = 0; i < perThread; i++) {
+					Order order = new Order(ids.incrementAndGet(), Instant.now(), OrderStatus.WAITING_PAYMENT, client, null);
+					order.getItems().add(new OrderItem(product, 2, 90.5));
+					journal.append(order).join();
+				}
+			}, executor));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		executor.shutdown();
+
+		assertEquals(threads * perThread, journal.appendedCount());
+		assertTrue(journal.batchCount() < journal.appendedCount(), "expected several orders per fsync");
+		journal.destroy();
+
+		OrderJournal reopened = new OrderJournal(mapper, file.toString(), 512);
+		Set<Long> replayed = new HashSet<>();
+		reopened.replay(entry -> {
+			replayed.add(entry.id());
+			assertEquals(90.5, entry.items().get(0).price());
+		});
+		reopened.destroy();
+		assertEquals(threads * perThread, replayed.size());
+	}
+
+	@Test
+	void appendAfterDestroyShouldFailInsteadOfReportingTheOrderAsWritten() throws Exception {
+		OrderJournal journal = new OrderJournal(new ObjectMapper().findAndRegisterModules(),
+				dir.resolve("orders.journal").toString(), 512);
+		User client = new User(1L, "Maria Brown", "maria@gmail.com", "988888888", null, "123456");
+		Order order = new Order(1L, Instant.now(), OrderStatus.WAITING_PAYMENT, client, null);
+		journal.destroy();
+
+		CompletionException e = assertThrows(CompletionException.class, () -> journal.append(order).join());
+		assertInstanceOf(IllegalStateException.class, e.getCause());
+		assertEquals(0, journal.appendedCount());
+	}
+}
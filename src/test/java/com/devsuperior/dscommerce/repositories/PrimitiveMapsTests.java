@@ -0,0 +1,79 @@
+package com.devsuperior.dscommerce.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveMapsTests {
+
+	@Test
+	void shouldBehaveLikeHashMapUnderRandomPutsAndRemoves() {
+		SplittableRandom random = new SplittableRandom(11);
+		Map<Long, Long> expected = new HashMap<>();
+		LongLongMap longs = new LongLongMap();
+		LongObjectMap<String> objects = new LongObjectMap<>();
+
+		for (int i = 0; i < 200_000; i++) {
+			// faixa pequena de chaves (com 0 e negativas) para forçar colisões, remoções no meio de sequências e redimensionamentos
+			long key = random.nextLong(-50, 5_000);
+			if (random.nextInt(3) == 0) {
+				Long previous = expected.remove(key);
+				assertEquals((previous == null) ? LongLongMap.ABSENT : previous, longs.remove(key));
+				assertEquals((previous == null) ? null : "v" + previous, objects.remove(key));
+			}
+			else {
+				long value = random.nextLong(1_000_000);
+				Long previous = expected.put(key, value);
+				assertEquals((previous == null) ? LongLongMap.ABSENT : previous, longs.put(key, value));
+				assertEquals((previous == null) ? null : "v" + previous, objects.put(key, "v" + value));
+			}
+		}
+
+		assertEquals(expected.size(), longs.size());
+		assertEquals(expected.size(), objects.size());
+		for (long key = -50; key < 5_000; key++) {
+			Long value = expected.get(key);
+			assertEquals((value == null) ? LongLongMap.ABSENT : value, longs.get(key), "key " + key);
+			assertEquals((value == null) ? null : "v" + value, objects.get(key), "key " + key);
+		}
+		HashSet<String> values = new HashSet<>();
+		expected.values().forEach(v -> values.add("v" + v));
+		assertEquals(values, new HashSet<>(objects.values()));
+	}
+
+	@Test
+	void snapshotShouldNotSeeLaterWritesAndRestoreShouldBringItBack() {
+		LongObjectMap<String> map = new LongObjectMap<>();
+		for (long key = 0; key < 100; key++) {
+			map.put(key, "v" + key);
+		}
+		LongObjectMap.Snapshot<String> snapshot = map.snapshot();
+
+		map.remove(7);
+		map.put(7_000, "novo");
+		// força o redimensionamento depois do retrato
+		for (long key = 100; key < 1_000; key++) {
+			map.put(key, "w" + key);
+		}
+		map.restore(snapshot);
+
+		assertEquals(100, map.size());
+		assertEquals("v7", map.get(7));
+		assertNull(map.get(7_000));
+		assertNull(map.get(500));
+
+		// o retrato continua valendo depois de novas escritas sobre o mapa restaurado
+		map.put(0, "zero");
+		map.remove(50);
+		map.restore(snapshot);
+		assertEquals("v0", map.get(0));
+		assertEquals("v50", map.get(50));
+		assertEquals(100, map.size());
+	}
+}
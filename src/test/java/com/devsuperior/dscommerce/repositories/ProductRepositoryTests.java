@@ -0,0 +1,134 @@
+package com.devsuperior.dscommerce.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.devsuperior.dscommerce.dto.PageDTO;
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.entities.Product;
+
+class ProductRepositoryTests {
+
+	private static final String[] WORDS = { "PC", "Gamer", "Macbook", "Pro", "Smart", "TV", "Rails", "Lord" };
+
+	@Test
+	void searchByNameShouldMatchScanAndSortAfterInsertsAndDeletes() {
+		Random random = new Random(42);
+		ProductRepository repository = new ProductRepository();
+		List<Product> model = new ArrayList<>();
+
+		for (int i = 0; i < 5000; i++) {
+			if (!model.isEmpty() && random.nextInt(4) == 0) {
+				Product removed = model.remove(random.nextInt(model.size()));
+				repository.deleteById(removed.getId());
+			}
+			else {
+				Product p = new Product(null, WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)],
+						"descrição", (double) random.nextInt(5000), "img");
+				model.add(repository.save(p));
+			}
+		}
+
+		for (String sort : new String[] { null, "name", "price,desc", "id,desc" }) {
+			for (String name : new String[] { "", "gamer", "pro", "tv", "xyz" }) {
+				for (int page = 0; page < 4; page++) {
+					PageQuery query = PageQuery.of(page, 37, sort);
+					PageDTO<Product> actual = repository.search(ProductFilter.byName(name), query);
+					List<Product> expected = model.stream()
+							.filter(p -> p.getName().toLowerCase(Locale.ROOT).contains(name))
+							.sorted(comparator(query))
+							.toList();
+					int from = (int) Math.min(query.offset(), expected.size());
+					int to = Math.min(from + query.size(), expected.size());
+					assertEquals(expected.size(), actual.getTotalElements());
+					assertEquals(expected.subList(from, to).stream().map(Product::getId).toList(),
+							actual.getContent().stream().map(Product::getId).toList());
+				}
+			}
+		}
+	}
+
+	@Test
+	void searchShouldMatchScanWithPriceRangeAndCategoryAfterInsertsUpdatesAndDeletes() {
+		Random random = new Random(7);
+		ProductRepository repository = new ProductRepository();
+		Category[] categories = { new Category(1L, "Livros"), new Category(2L, "Eletronicos"), new Category(3L, "Computadores") };
+		List<Product> model = new ArrayList<>();
+
+		List<Product> initial = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			initial.add(randomProduct(random, null, categories));
+		}
+		repository.saveAll(initial);
+		model.addAll(initial);
+		for (int i = 0; i < 3000; i++) {
+			int op = random.nextInt(3);
+			if (op == 0) {
+				Product removed = model.remove(random.nextInt(model.size()));
+				repository.deleteById(removed.getId());
+			}
+			else if (op == 1) {
+				int index = random.nextInt(model.size());
+				Product updated = randomProduct(random, model.get(index).getId(), categories);
+				model.set(index, repository.save(updated));
+			}
+			else {
+				model.add(repository.save(randomProduct(random, null, categories)));
+			}
+		}
+
+		Double[][] ranges = { { null, null }, { 1000.0, null }, { null, 250.0 }, { 1200.0, 1300.0 }, { 4000.0, 10.0 } };
+		for (String sort : new String[] { null, "name", "price,desc" }) {
+			for (Double[] range : ranges) {
+				for (Long categoryId : new Long[] { null, 1L, 3L, 99L }) {
+					for (String name : new String[] { "", "gamer", "tv" }) {
+						ProductFilter filter = new ProductFilter(name, range[0], range[1], categoryId);
+						PageQuery query = PageQuery.of(1, 29, sort);
+						PageDTO<Product> actual = repository.search(filter, query);
+						List<Product> expected = model.stream().filter(matches(filter)).sorted(comparator(query)).toList();
+						int from = (int) Math.min(query.offset(), expected.size());
+						int to = Math.min(from + query.size(), expected.size());
+						assertEquals(expected.size(), actual.getTotalElements(), filter + " " + sort);
+						assertEquals(expected.subList(from, to).stream().map(Product::getId).toList(),
+								actual.getContent().stream().map(Product::getId).toList(), filter + " " + sort);
+					}
+				}
+			}
+		}
+	}
+
+	private static Product randomProduct(Random random, Long id, Category[] categories) {
+		Product p = new Product(id, WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)],
+				"descrição", (double) random.nextInt(5000), "img");
+		p.getCategories().add(categories[random.nextInt(categories.length)]);
+		if (random.nextBoolean()) {
+			p.getCategories().add(categories[random.nextInt(categories.length)]);
+		}
+		return p;
+	}
+
+	private static Predicate<Product> matches(ProductFilter filter) {
+		return p -> (!filter.hasName() || p.getName().toLowerCase(Locale.ROOT).contains(filter.name()))
+				&& (filter.minPrice() == null || p.getPrice() >= filter.minPrice())
+				&& (filter.maxPrice() == null || p.getPrice() <= filter.maxPrice())
+				&& (filter.categoryId() == null || p.getCategories().stream().anyMatch(c -> c.getId().equals(filter.categoryId())));
+	}
+
+	private static Comparator<Product> comparator(PageQuery query) {
+		Comparator<Product> byId = Comparator.comparing(Product::getId);
+		Comparator<Product> c = switch (query.sortProperty() == null ? "id" : query.sortProperty()) {
+			case "name" -> Comparator.comparing(Product::getName).thenComparing(byId);
+			case "price" -> Comparator.comparing(Product::getPrice).thenComparing(byId);
+			default -> byId;
+		};
+		return query.descending() ? c.reversed() : c;
+	}
+}
@@ -0,0 +1,125 @@
+package com.devsuperior.dscommerce.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SegmentStoreTests {
+
+	private static final int SEGMENT_BYTES = 4096;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void reopenShouldRebuildTheIndexWithOverwritesAndTombstones() {
+		Map<Long, byte[]> expected = new HashMap<>();
+		SplittableRandom random = new SplittableRandom(7);
+		try (SegmentStore store = SegmentStore.open(dir, SEGMENT_BYTES, false)) {
+			for (int i = 0; i < 5_000; i++) {
+				long key = random.nextLong(1, 300);
+				if (random.nextInt(4) == 0) {
+					assertEquals(expected.remove(key) != null, store.delete(key));
+				}
+				else {
+					byte[] value = ("valor " + i).getBytes(StandardCharsets.UTF_8);
+					store.put(key, value);
+					expected.put(key, value);
+				}
+			}
+			assertTrue(store.segmentCount() > 1, "expected several segments");
+			assertSameContent(expected, store);
+		}
+		try (SegmentStore reopened = SegmentStore.open(dir, SEGMENT_BYTES, false)) {
+			assertSameContent(expected, reopened);
+		}
+	}
+
+	@Test
+	void reopenShouldDropATornRecordAndKeepAppending() throws Exception {
+		try (SegmentStore store = SegmentStore.open(dir, SEGMENT_BYTES, false)) {
+			store.put(1L, bytes("primeiro"));
+			store.put(2L, bytes("segundo"));
+		}
+		// simula a queda no meio da escrita do segundo registro: o fim dele não chegou ao disco
+		Path segment = segmentFiles().get(0);
+		int secondRecord = 17 + bytes("primeiro").length;
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0 }), secondRecord + 20);
+		}
+
+		try (SegmentStore store = SegmentStore.open(dir, SEGMENT_BYTES, false)) {
+			assertArrayEquals(bytes("primeiro"), store.get(1L));
+			assertNull(store.get(2L));
+			store.put(3L, bytes("terceiro"));
+		}
+		try (SegmentStore store = SegmentStore.open(dir, SEGMENT_BYTES, false)) {
+			assertEquals(2, store.size());
+			assertArrayEquals(bytes("terceiro"), store.get(3L));
+		}
+	}
+
+	@Test
+	void compactShouldReclaimDeadSegmentsWithoutResurrectingDeletedKeys() throws Exception {
+		Map<Long, byte[]> expected = new HashMap<>();
+		try (SegmentStore store = SegmentStore.open(dir, SEGMENT_BYTES, false)) {
+			for (int round = 0; round < 20; round++) {
+				for (long key = 1; key <= 50; key++) {
+					byte[] value = bytes("rodada " + round + " chave " + key);
+					store.put(key, value);
+					expected.put(key, value);
+				}
+			}
+			for (long key = 1; key <= 50; key += 5) {
+				store.delete(key);
+				expected.remove(key);
+			}
+			int before = store.segmentCount();
+			assertTrue(store.compactIfNeeded(0.5));
+			assertTrue(store.segmentCount() < before, store.segmentCount() + " segments after compaction, " + before + " before");
+			assertEquals(0, store.deadBytes());
+			assertSameContent(expected, store);
+		}
+		try (SegmentStore reopened = SegmentStore.open(dir, SEGMENT_BYTES, false)) {
+			assertSameContent(expected, reopened);
+			assertFalse(reopened.contains(1L));
+		}
+	}
+
+	private static void assertSameContent(Map<Long, byte[]> expected, SegmentStore store) {
+		assertEquals(expected.size(), store.size());
+		for (Map.Entry<Long, byte[]> entry : expected.entrySet()) {
+			assertArrayEquals(entry.getValue(), store.get(entry.getKey()), "key " + entry.getKey());
+		}
+		Map<Long, byte[]> scanned = new HashMap<>();
+		store.forEach(scanned::put);
+		assertEquals(expected.keySet(), scanned.keySet());
+	}
+
+	private List<Path> segmentFiles() throws Exception {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.sorted().toList();
+		}
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
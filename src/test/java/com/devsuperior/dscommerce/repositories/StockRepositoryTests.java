@@ -0,0 +1,137 @@
+package com.devsuperior.dscommerce.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.Test;
+
+class StockRepositoryTests {
+
+	@Test
+	void reserveShouldTakeAllItemsOrNone() {
+		StockRepository stock = new StockRepository();
+		stock.set(1, 5);
+		stock.set(2, 1);
+
+		// o produto 3 não controla estoque; o 2 não tem as 2 unidades pedidas
+		assertEquals(2, stock.reserve(new long[] { 3, 1, 2 }, new long[] { 100, 3, 2 }));
+		assertEquals(5, stock.available(1));
+		assertEquals(1, stock.available(2));
+
+		// ids repetidos somam: 2 + 3 = 5
+		assertEquals(StockRepository.RESERVED, stock.reserve(new long[] { 1, 3, 1, 2 }, new long[] { 2, 100, 3, 1 }));
+		assertEquals(0, stock.available(1));
+		assertEquals(0, stock.available(2));
+		assertEquals(LongLongMap.ABSENT, stock.available(3));
+
+		stock.release(new long[] { 1 }, new long[] { 4 });
+		assertEquals(4, stock.available(1));
+
+		// uma quantidade negativa devolveria estoque em vez de reservar
+		assertThrows(IllegalArgumentException.class, () -> stock.reserve(new long[] { 1, 2 }, new long[] { 1, -5 }));
+		assertEquals(4, stock.available(1));
+	}
+
+	@Test
+	void compareAndSetShouldOnlyReplaceTheExpectedStock() {
+		StockRepository stock = new StockRepository();
+
+		// null é "sem controle de estoque", nos dois lados
+		assertTrue(stock.compareAndSet(1, null, 5));
+		assertFalse(stock.compareAndSet(1, null, 8));
+		assertEquals(StockRepository.RESERVED, stock.reserve(new long[] { 1 }, new long[] { 2 }));
+		assertFalse(stock.compareAndSet(1, 5, 10));
+		assertEquals(3, stock.available(1));
+		assertTrue(stock.compareAndSet(1, 3, 10));
+		assertEquals(10, stock.available(1));
+		assertTrue(stock.compareAndSet(1, 10, null));
+		assertEquals(LongLongMap.ABSENT, stock.available(1));
+	}
+
+	@Test
+	void lockedShouldOnlyTouchProductsOfTheLockedStripes() {
+		StockRepository stock = new StockRepository();
+		stock.set(1, 5);
+		stock.set(2, 5);
+
+		try (StockRepository.Locked locked = stock.lock(1)) {
+			assertEquals(StockRepository.RESERVED, locked.reserve(new long[] { 1 }, new long[] { 2 }));
+			locked.remove(1);
+			// com 64 faixas, algum dos próximos ids cai numa que este lock não protege
+			boolean rejected = false;
+			for (long id = 3; id < 1000 && !rejected; id++) {
+				try {
+					locked.remove(id);
+				}
+				catch (IllegalStateException e) {
+					rejected = true;
+				}
+			}
+			assertTrue(rejected);
+		}
+		assertEquals(LongLongMap.ABSENT, stock.available(1));
+		assertEquals(5, stock.available(2));
+	}
+
+	@Test
+	void concurrentMultiItemReservationsShouldNeitherOversellNorDeadlock() {
+		int products = 200;
+		long initial = 500;
+		StockRepository stock = new StockRepository();
+		for (long id = 1; id <= products; id++) {
+			stock.set(id, (int) initial);
+		}
+		AtomicLongArray reserved = new AtomicLongArray(products + 1);
+
+		assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+			ExecutorService executor = Executors.newFixedThreadPool(8);
+			try {
+				List<Future<?>> futures = new ArrayList<>();
+				for (int t = 0; t < 8; t++) {
+					int seed = t;
+					futures.add(executor.submit(() -> {
+						SplittableRandom random = new SplittableRandom(seed);
+						for (int n = 0; n < 20_000; n++) {
+							// itens em ordem aleatória, com um produto "quente" em boa parte dos pedidos
+							int items = 1 + random.nextInt(4);
+							long[] ids = new long[items];
+							long[] quantities = new long[items];
+							for (int i = 0; i < items; i++) {
+								ids[i] = (random.nextInt(3) == 0) ? 1 : 1 + random.nextInt(products);
+								quantities[i] = 1 + random.nextInt(3);
+							}
+							if (stock.reserve(ids, quantities) == StockRepository.RESERVED) {
+								for (int i = 0; i < items; i++) {
+									reserved.addAndGet((int) ids[i], quantities[i]);
+								}
+							}
+						}
+					}));
+				}
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			}
+			finally {
+				executor.shutdownNow();
+			}
+		});
+
+		for (int id = 1; id <= products; id++) {
+			assertEquals(initial, stock.available(id) + reserved.get(id), "product " + id);
+		}
+		assertEquals(0, stock.available(1));
+	}
+}
@@ -0,0 +1,67 @@
+package com.devsuperior.dscommerce.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.devsuperior.dscommerce.entities.Role;
+import com.devsuperior.dscommerce.entities.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TokenServiceTests {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void verifyShouldReturnClaimsFromTokenAndServeRepeatedCallsFromCache() {
+		TokenService service = new TokenService(mapper, "segredo-de-teste", 3600, 300, 100);
+		String token = service.issue(admin()).value();
+
+		AuthenticatedUser user = service.verify(token).orElseThrow();
+		assertEquals(2L, user.userId());
+		assertEquals("alex@gmail.com", user.username());
+		assertEquals(List.of("ROLE_CLIENT", "ROLE_ADMIN"), user.roles());
+
+		for (int i = 0; i < 10; i++) {
+			assertTrue(service.verify(token).isPresent());
+		}
+		assertEquals(1, service.cacheMisses());
+		assertEquals(10, service.cacheHits());
+	}
+
+	@Test
+	void verifyShouldRejectTamperedForeignAndExpiredTokens() {
+		TokenService service = new TokenService(mapper, "segredo-de-teste", 3600, 300, 100);
+		String token = service.issue(admin()).value();
+		assertTrue(service.verify(token).isPresent());
+
+		assertTrue(service.verify(token + "789").isEmpty());
+		assertTrue(service.verify("x" + token).isEmpty());
+
+		// mesmo header e assinatura, payload com outro papel
+		String[] parts = token.split("\\.");
+		String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+				.replace("ROLE_CLIENT", "ROLE_OWNER");
+		String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+		assertTrue(service.verify(forged).isEmpty());
+
+		TokenService other = new TokenService(mapper, "outro-segredo", 3600, 300, 100);
+		assertTrue(other.verify(token).isEmpty());
+
+		TokenService expiring = new TokenService(mapper, "segredo-de-teste", -1, 300, 100);
+		assertTrue(expiring.verify(expiring.issue(admin()).value()).isEmpty());
+	}
+
+	private static User admin() {
+		User user = new User(2L, "Alex Green", "alex@gmail.com", "977777777", null, "123456");
+		user.addRole(new Role(1L, "ROLE_CLIENT"));
+		user.addRole(new Role(2L, "ROLE_ADMIN"));
+		return user;
+	}
+}
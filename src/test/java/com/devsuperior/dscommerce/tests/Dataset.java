@@ -0,0 +1,31 @@
+package com.devsuperior.dscommerce.tests;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import org.hamcrest.Matcher;
+
+/**
+ * Tamanho da carga do servidor dos testes: só a carga fixa ou somada aos dados do gerador
+ * ({@code -Ddscommerce.dataset.scale=N} ou {@code DATASET_SCALE}). Os registros da carga fixa
+ * são os mesmos nos dois casos; o que muda são os totais sobre o catálogo inteiro.
+ */
+public final class Dataset {
+
+    private static final long SCALE = Long.parseLong(System.getProperty("dscommerce.dataset.scale",
+            System.getenv().getOrDefault("DATASET_SCALE", "0")));
+
+    private Dataset() {
+    }
+
+    public static boolean seedOnly() {
+        return SCALE == 0;
+    }
+
+    /**
+     * Total esperado na carga fixa; com dados gerados, ele passa a ser o mínimo.
+     */
+    public static Matcher<Integer> total(int seedTotal) {
+        return seedOnly() ? is(seedTotal) : greaterThanOrEqualTo(seedTotal);
+    }
+}
@@ -0,0 +1,62 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.devsuperior.dscommerce.CommerceRestassureApplication;
+
+/**
+ * Sobe o CommerceRestassureApplication numa porta aleatória dentro da JVM dos testes,
+ * uma única vez, quando nenhum {@code -Ddscommerce.baseUri} foi informado.
+ */
+public final class EmbeddedServer {
+
+    private EmbeddedServer() {
+    }
+
+    public static String baseUri() {
+        return Holder.BASE_URI;
+    }
+
+    /**
+     * Sobe uma instância separada com propriedades extras ({@code chave=valor}), passadas como
+     * argumentos de linha de comando para valerem acima do application.properties e de {@code -D}.
+     * Quem chamar é responsável por fechar o contexto.
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--spring.main.banner-mode=off"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(CommerceRestassureApplication.class)
+            .run(args.toArray(String[]::new));
+    }
+
+    public static String baseUri(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private static final class Holder {
+        static final String BASE_URI = baseUri(start("dscommerce.orders.journal=" + tempJournal(),
+                "dscommerce.test.reset-enabled=true"));
+    }
+
+    // journal novo a cada execução, para exercitar o group commit sem herdar pedidos antigos
+    private static String tempJournal() {
+        try {
+            Path file = Files.createTempFile("dscommerce-orders", ".journal");
+            file.toFile().deleteOnExit();
+            return file.toString();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
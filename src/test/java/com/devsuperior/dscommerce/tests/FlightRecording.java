@@ -0,0 +1,97 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Gravação do Java Flight Recorder da execução inteira, ligada com {@code -Djfr.profile=true}.
+ *
+ * Como o {@link EmbeddedServer} roda na JVM dos testes, a gravação pega a aplicação: amostras de CPU
+ * (a cada {@code jfr.samplePeriodMillis}, padrão 2 ms), amostras de alocação, GC e o evento
+ * {@code dscommerce.Request} de cada requisição, com a rota e o teste ({@code X-Test-Name}).
+ * Ao fim, grava {@code target/jfr/suite.jfr} e o resumo do {@link FlightRecordingSummary}.
+ * Ligada e desligada pelo {@link FlightRecordingExtension}, em todas as classes de teste.
+ * Contra um servidor externo ({@code -Ddscommerce.baseUri}), a gravação não vê a aplicação.
+ */
+public final class FlightRecording {
+
+    private static final boolean ENABLED = Boolean.getBoolean("jfr.profile");
+    private static final long SAMPLE_PERIOD_MILLIS = Long.getLong("jfr.samplePeriodMillis", 2L);
+
+    private static final Path RECORDING = Path.of("target", "jfr", "suite.jfr");
+    private static final Path SUMMARY = Path.of("target", "jfr-summary.txt");
+
+    // teste em andamento na thread (e nas threads que ele criar), enviado em X-Test-Name
+    private static final ThreadLocal<String> CURRENT_TEST = new InheritableThreadLocal<>();
+
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static void beginTest(String name) {
+        CURRENT_TEST.set(name);
+    }
+
+    static void endTest() {
+        CURRENT_TEST.remove();
+    }
+
+    /**
+     * Nome do teste em andamento na thread, ou {@code null} fora de um teste ou com a gravação desligada.
+     */
+    static String currentTest() {
+        return ENABLED ? CURRENT_TEST.get() : null;
+    }
+
+    static synchronized void startIfEnabled() {
+        if (!ENABLED || recording != null) {
+            return;
+        }
+        try {
+            Recording r = new Recording(Configuration.getConfiguration("profile"));
+            r.setName("dscommerce-tests");
+            r.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(SAMPLE_PERIOD_MILLIS));
+            r.enable("jdk.ObjectAllocationSample").with("throttle", "10000/s");
+            r.enable("dscommerce.Request").withoutThreshold();
+            r.start();
+            recording = r;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static synchronized void stopAndSummarize() {
+        if (recording == null) {
+            return;
+        }
+        try {
+            recording.stop();
+            Files.createDirectories(RECORDING.getParent());
+            recording.dump(RECORDING);
+            FlightRecordingSummary.write(RECORDING, SUMMARY);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.devsuperior.dscommerce.tests;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+
+/**
+ * Liga o {@link FlightRecording} na primeira classe de teste e para a gravação ao fim da execução,
+ * marcando cada teste para o cabeçalho {@code X-Test-Name}. Sem {@code -Djfr.profile=true} não faz nada.
+ * Vale para todas as classes de teste, como o {@link ServerTimingExtension}.
+ */
+public class FlightRecordingExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!FlightRecording.isEnabled()) {
+            return;
+        }
+        FlightRecording.startIfEnabled();
+        // fecha junto com a execução inteira e então para a gravação e grava o resumo
+        context.getRoot().getStore(Namespace.GLOBAL).getOrComputeIfAbsent(Stopper.class,
+                k -> new Stopper(), Stopper.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        FlightRecording.beginTest(
+                context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        FlightRecording.endTest();
+    }
+
+    private static final class Stopper implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            FlightRecording.stopAndSummarize();
+        }
+    }
+}
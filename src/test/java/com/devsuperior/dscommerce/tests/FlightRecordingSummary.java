@@ -0,0 +1,263 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Resumo de uma gravação do {@link FlightRecording} por endpoint e por classe de teste.
+ *
+ * Uma amostra de CPU ou de alocação pertence à requisição ({@code dscommerce.Request}) que estava
+ * em andamento na mesma thread naquele instante; amostras fora de requisições ficam de fora.
+ * Uma pausa de GC conta para todo endpoint com alguma requisição em andamento durante a coleta.
+ */
+final class FlightRecordingSummary {
+
+    private static final List<String> MAIN_ENDPOINTS = List.of("/products", "/orders", "/users/me", "/oauth2/token");
+    private static final int TOP = 10;
+
+    private FlightRecordingSummary() {
+    }
+
+    static void write(Path recording, Path file) throws IOException {
+        Map<Long, List<Request>> requestsByThread = new HashMap<>();
+        List<RecordedEvent> cpuSamples = new ArrayList<>();
+        List<RecordedEvent> allocationSamples = new ArrayList<>();
+        List<RecordedEvent> collections = new ArrayList<>();
+        try (RecordingFile events = new RecordingFile(recording)) {
+            while (events.hasMoreEvents()) {
+                RecordedEvent event = events.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "dscommerce.Request" -> {
+                        RecordedThread thread = event.getThread();
+                        if (thread != null) {
+                            requestsByThread.computeIfAbsent(thread.getJavaThreadId(), k -> new ArrayList<>())
+                                .add(new Request(nanos(event.getStartTime()), nanos(event.getEndTime()),
+                                        endpoint(event.getString("route")), testClass(event.getString("test"))));
+                        }
+                    }
+                    case "jdk.ExecutionSample" -> cpuSamples.add(event);
+                    case "jdk.ObjectAllocationSample" -> allocationSamples.add(event);
+                    case "jdk.GarbageCollection" -> collections.add(event);
+                    default -> {
+                    }
+                }
+            }
+        }
+        requestsByThread.values().forEach(list -> list.sort(Comparator.comparingLong(Request::start)));
+
+        Map<String, Stats> endpoints = new TreeMap<>(Comparator
+            .comparingInt((String e) -> MAIN_ENDPOINTS.contains(e) ? MAIN_ENDPOINTS.indexOf(e) : MAIN_ENDPOINTS.size())
+            .thenComparing(Comparator.naturalOrder()));
+        Map<String, Stats> testClasses = new TreeMap<>();
+        MAIN_ENDPOINTS.forEach(e -> endpoints.put(e, new Stats()));
+        for (List<Request> requests : requestsByThread.values()) {
+            for (Request request : requests) {
+                endpoints.computeIfAbsent(request.endpoint(), k -> new Stats()).requests.add(request);
+                testClasses.computeIfAbsent(request.testClass(), k -> new Stats()).requests.add(request);
+            }
+        }
+
+        int attributedCpu = 0;
+        for (RecordedEvent sample : cpuSamples) {
+            Request request = find(requestsByThread, sample.getThread("sampledThread"), sample.getStartTime());
+            RecordedStackTrace stack = sample.getStackTrace();
+            if (request == null || stack == null || stack.getFrames().isEmpty()) {
+                continue;
+            }
+            attributedCpu++;
+            String method = method(stack.getFrames().get(0));
+            endpoints.get(request.endpoint()).addCpu(method);
+            testClasses.get(request.testClass()).addCpu(method);
+        }
+
+        long attributedBytes = 0;
+        for (RecordedEvent sample : allocationSamples) {
+            Request request = find(requestsByThread, sample.getThread(), sample.getStartTime());
+            RecordedStackTrace stack = sample.getStackTrace();
+            if (request == null || stack == null || stack.getFrames().isEmpty()) {
+                continue;
+            }
+            long weight = sample.getLong("weight");
+            attributedBytes += weight;
+            String frame = allocationFrame(stack);
+            endpoints.get(request.endpoint()).addAllocation(frame, weight);
+            testClasses.get(request.testClass()).addAllocation(frame, weight);
+        }
+
+        for (RecordedEvent gc : collections) {
+            long start = nanos(gc.getStartTime());
+            long end = nanos(gc.getEndTime());
+            Duration pauses = gc.getDuration("sumOfPauses");
+            Duration longest = gc.getDuration("longestPause");
+            for (Stats stats : endpoints.values()) {
+                if (stats.overlaps(start, end)) {
+                    stats.addGc(pauses, longest);
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("gravação: %s%n", recording));
+        sb.append(String.format("amostras de CPU: %d (%d em requisições); alocação amostrada em requisições: %.1f MB; coletas de GC: %d%n",
+                cpuSamples.size(), attributedCpu, attributedBytes / 1048576.0, collections.size()));
+        for (Map.Entry<String, Stats> e : endpoints.entrySet()) {
+            Stats s = e.getValue();
+            sb.append(System.lineSeparator());
+            sb.append(String.format("### %s: %d requisições, %d amostras de CPU, %.1f MB alocados%n", e.getKey(),
+                    s.requests.size(), s.cpuSamples, s.allocatedBytes / 1048576.0));
+            sb.append("CPU (métodos mais amostrados):").append(System.lineSeparator());
+            appendTop(sb, s.cpu, s.cpuSamples, false);
+            sb.append("alocação (primeiro frame fora do JDK):").append(System.lineSeparator());
+            appendTop(sb, s.allocations, s.allocatedBytes, true);
+            sb.append(String.format("GC: %d coletas durante requisições, pausas somando %.2f ms, maior pausa %.2f ms%n",
+                    s.gcCount, s.gcPauseNanos / 1e6, s.gcLongestNanos / 1e6));
+        }
+
+        sb.append(System.lineSeparator()).append("### por classe de teste").append(System.lineSeparator());
+        sb.append(String.format("%-32s %10s %12s %12s  %s%n", "classe", "requisições", "CPU", "MB", "método mais amostrado"));
+        for (Map.Entry<String, Stats> e : testClasses.entrySet()) {
+            Stats s = e.getValue();
+            String hottest = s.cpu.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse("-");
+            sb.append(String.format("%-32s %10d %12d %12.1f  %s%n", e.getKey(), s.requests.size(), s.cpuSamples,
+                    s.allocatedBytes / 1048576.0, hottest));
+        }
+
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, sb.toString());
+    }
+
+    private static void appendTop(StringBuilder sb, Map<String, Long> counts, long total, boolean bytes) {
+        if (counts.isEmpty()) {
+            sb.append("  -").append(System.lineSeparator());
+            return;
+        }
+        counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(TOP)
+            .forEach(e -> sb.append(bytes
+                    ? String.format("  %10.1f KB %5.1f%%  %s%n", e.getValue() / 1024.0, 100.0 * e.getValue() / total, e.getKey())
+                    : String.format("  %10d    %5.1f%%  %s%n", e.getValue(), 100.0 * e.getValue() / total, e.getKey())));
+    }
+
+    // requisição da thread em andamento no instante, por busca binária no início
+    private static Request find(Map<Long, List<Request>> requestsByThread, RecordedThread thread, Instant time) {
+        if (thread == null) {
+            return null;
+        }
+        List<Request> requests = requestsByThread.get(thread.getJavaThreadId());
+        if (requests == null) {
+            return null;
+        }
+        long t = nanos(time);
+        int lo = 0;
+        int hi = requests.size() - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (requests.get(mid).start() <= t) {
+                found = mid;
+                lo = mid + 1;
+            }
+            else {
+                hi = mid - 1;
+            }
+        }
+        return (found >= 0 && requests.get(found).end() >= t) ? requests.get(found) : null;
+    }
+
+    // quem pediu a memória: o primeiro frame fora do JDK (o topo costuma ser Arrays.copyOf, StringBuilder...)
+    private static String allocationFrame(RecordedStackTrace stack) {
+        for (RecordedFrame frame : stack.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return method(frame);
+            }
+        }
+        return method(stack.getFrames().get(0));
+    }
+
+    private static String method(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    // GET /products/{id} -> /products; /users/me e /oauth2/token ficam inteiros
+    private static String endpoint(String route) {
+        if (route == null) {
+            return "unmatched";
+        }
+        String path = route.substring(route.indexOf(' ') + 1);
+        if (path.startsWith("/users/me") || path.startsWith("/oauth2/token")) {
+            return path;
+        }
+        int next = path.indexOf('/', 1);
+        return (next < 0) ? path : path.substring(0, next);
+    }
+
+    private static String testClass(String test) {
+        if (test == null) {
+            return "(fora de teste)";
+        }
+        int dot = test.indexOf('.');
+        return (dot < 0) ? test : test.substring(0, dot);
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private record Request(long start, long end, String endpoint, String testClass) {
+    }
+
+    private static final class Stats {
+
+        final List<Request> requests = new ArrayList<>();
+        final Map<String, Long> cpu = new LinkedHashMap<>();
+        final Map<String, Long> allocations = new LinkedHashMap<>();
+        long cpuSamples;
+        long allocatedBytes;
+        long gcCount;
+        long gcPauseNanos;
+        long gcLongestNanos;
+
+        void addCpu(String method) {
+            cpu.merge(method, 1L, Long::sum);
+            cpuSamples++;
+        }
+
+        void addAllocation(String frame, long bytes) {
+            allocations.merge(frame, bytes, Long::sum);
+            allocatedBytes += bytes;
+        }
+
+        void addGc(Duration pauses, Duration longest) {
+            gcCount++;
+            gcPauseNanos += pauses.toNanos();
+            gcLongestNanos = Math.max(gcLongestNanos, longest.toNanos());
+        }
+
+        boolean overlaps(long start, long end) {
+            for (Request request : requests) {
+                if (request.start() <= end && request.end() >= start) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
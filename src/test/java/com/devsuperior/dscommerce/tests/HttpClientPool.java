@@ -0,0 +1,140 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import io.restassured.config.HttpClientConfig;
+
+/**
+ * Cliente HTTP único da suíte: um pool limitado de conexões keep-alive compartilhado por todas
+ * as threads, no lugar do cliente novo (e da conexão nova) que o RestAssured cria por requisição.
+ *
+ * Propriedades: {@code http.pool.size} (padrão: o maior entre 4, o número de processadores e
+ * {@code load.concurrency}), {@code http.connectTimeoutMillis} (5000), {@code http.readTimeoutMillis}
+ * (30000) e {@code http.keepAliveMillis} (30000, quando o servidor não informa).
+ * Os números do pool ({@link #stats()}) vão para {@code target/latency-report.txt}.
+ */
+@SuppressWarnings("deprecation") // o RestAssured 5 ainda trabalha com a API antiga do HttpClient 4
+public class HttpClientPool {
+
+    private static final int POOL_SIZE = Integer.getInteger("http.pool.size",
+            Math.max(Math.max(4, Runtime.getRuntime().availableProcessors()), Integer.getInteger("load.concurrency", 0)));
+    private static final int CONNECT_TIMEOUT_MILLIS = Integer.getInteger("http.connectTimeoutMillis", 5_000);
+    private static final int READ_TIMEOUT_MILLIS = Integer.getInteger("http.readTimeoutMillis", 30_000);
+    private static final long KEEP_ALIVE_MILLIS = Long.getLong("http.keepAliveMillis", 30_000L);
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final LongAdder OPENED = new LongAdder();
+    private static final LongAdder TIMEOUTS = new LongAdder();
+
+    private static final PoolingClientConnectionManager CONNECTIONS = newConnectionManager();
+
+    private static final HttpClientConfig CONFIG = HttpClientConfig.httpClientConfig()
+        .httpClientFactory(HttpClientPool::newClient)
+        .reuseHttpClientInstance();
+
+    public static HttpClientConfig config() {
+        return CONFIG;
+    }
+
+    public static ConnectionStats stats() {
+        return new ConnectionStats(REQUESTS.sum(), OPENED.sum(), TIMEOUTS.sum());
+    }
+
+    private static PoolingClientConnectionManager newConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(
+                SchemeRegistryFactory.createDefault(), KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS) {
+
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemes) {
+                return new DefaultClientConnectionOperator(schemes) {
+
+                    @Override
+                    public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                            HttpContext context, HttpParams params) throws IOException {
+                        OPENED.increment();
+                        super.openConnection(conn, target, local, context, params);
+                    }
+                };
+            }
+        };
+        manager.setMaxTotal(POOL_SIZE);
+        manager.setDefaultMaxPerRoute(POOL_SIZE);
+        return manager;
+    }
+
+    private static DefaultHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTIONS);
+        HttpParams params = client.getParams();
+        HttpConnectionParams.setConnectionTimeout(params, CONNECT_TIMEOUT_MILLIS);
+        HttpConnectionParams.setSoTimeout(params, READ_TIMEOUT_MILLIS);
+        HttpConnectionParams.setStaleCheckingEnabled(params, true);
+        // espera por uma conexão livre quando o pool está todo em uso
+        params.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, CONNECT_TIMEOUT_MILLIS);
+
+        client.addRequestInterceptor((request, context) -> REQUESTS.increment());
+        // lê o corpo inteiro na chegada para a conexão voltar ao pool mesmo quando o RestAssured
+        // não consome a resposta até o fim; exportações NDJSON continuam em streaming
+        client.addResponseInterceptor((response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && !isStreamed(entity)) {
+                response.setEntity(new BufferedHttpEntity(entity));
+            }
+        });
+        client.setKeepAliveStrategy((response, context) -> {
+            long server = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return (server > 0) ? Math.min(server, KEEP_ALIVE_MILLIS) : KEEP_ALIVE_MILLIS;
+        });
+        client.setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler() {
+
+            @Override
+            public boolean retryRequest(IOException exception, int executionCount, HttpContext context) {
+                if (exception instanceof InterruptedIOException) {
+                    TIMEOUTS.increment();
+                }
+                return super.retryRequest(exception, executionCount, context);
+            }
+        });
+        return client;
+    }
+
+    private static boolean isStreamed(HttpEntity entity) {
+        Header contentType = entity.getContentType();
+        return contentType != null && contentType.getValue().startsWith(NDJSON);
+    }
+
+    public record ConnectionStats(long requests, long opened, long timeouts) {
+
+        public long reused() {
+            return Math.max(0, requests - opened);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d opened=%d reused=%d timeouts=%d", requests, opened, reused(), timeouts);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Orçamento de latência por endpoint para as chamadas feitas durante cada teste.
+ *
+ * Valores negativos usam {@code -Dslo.p95Millis} / {@code -Dslo.maxMillis}
+ * (padrão 1000 ms e 3000 ms). Na classe vale para todos os métodos; no método sobrescreve a classe.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@ExtendWith(LatencyBudgetExtension.class)
+public @interface LatencyBudget {
+
+    long p95Millis() default -1;
+
+    long maxMillis() default -1;
+}
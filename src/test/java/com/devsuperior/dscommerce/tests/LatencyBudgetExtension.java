@@ -0,0 +1,65 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Falha o teste quando alguma chamada feita nele estoura o {@link LatencyBudget} do endpoint,
+ * e grava {@code target/latency-report.txt} ao fim da execução.
+ */
+public class LatencyBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final long DEFAULT_P95_MILLIS = Long.getLong("slo.p95Millis", 1000L);
+    private static final long DEFAULT_MAX_MILLIS = Long.getLong("slo.maxMillis", 3000L);
+
+    private static final Path REPORT = Path.of("target", "latency-report.txt");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        // fecha junto com a execução inteira e então grava o relatório
+        context.getRoot().getStore(Namespace.GLOBAL).getOrComputeIfAbsent(ReportWriter.class,
+                k -> new ReportWriter(), ReportWriter.class);
+        LatencyRecorder.beginTest();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Map<String, LatencyHistogram> latencies = LatencyRecorder.endTest();
+        LatencyBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), LatencyBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), LatencyBudget.class))
+                .orElse(null);
+        long p95Limit = (budget == null || budget.p95Millis() < 0) ? DEFAULT_P95_MILLIS : budget.p95Millis();
+        long maxLimit = (budget == null || budget.maxMillis() < 0) ? DEFAULT_MAX_MILLIS : budget.maxMillis();
+
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> e : latencies.entrySet()) {
+            double p95 = e.getValue().percentile(95) / 1000.0;
+            double max = e.getValue().max() / 1000.0;
+            if (p95 > p95Limit) {
+                violations.add(String.format("%s p95 %.1f ms > %d ms", e.getKey(), p95, p95Limit));
+            }
+            if (max > maxLimit) {
+                violations.add(String.format("%s max %.1f ms > %d ms", e.getKey(), max, maxLimit));
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionError("latency budget exceeded: " + String.join("; ", violations));
+        }
+    }
+
+    private static final class ReportWriter implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            LatencyRecorder.writeReport(REPORT);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Filtro do RestAssured que grava o tempo de cada chamada num histograma por endpoint,
+ * usando o caminho declarado no teste (ex.: {@code GET /products/{id}}), sem a query string.
+ *
+ * Mantém um histograma global da execução e, quando há um teste em andamento na thread,
+ * outro só daquele teste (usado pelo {@link LatencyBudgetExtension}). A primeira chamada da JVM
+ * paga a inicialização do próprio RestAssured (Groovy, HttpClient) e fica de fora.
+ *
+ * O cabeçalho {@code Server-Timing} de cada resposta vai para o {@link ServerTimingReport}. Com o
+ * {@link FlightRecording} ligado, as requisições levam o nome do teste em {@code X-Test-Name}.
+ */
+public class LatencyRecorder implements Filter {
+
+    private static final LatencyRecorder INSTANCE = new LatencyRecorder();
+
+    private static final ConcurrentMap<String, LatencyHistogram> RUN = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, LatencyHistogram>> CURRENT_TEST = new ThreadLocal<>();
+    private static final AtomicBoolean WARMED_UP = new AtomicBoolean();
+
+    public static LatencyRecorder filter() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+            FilterContext ctx) {
+        String testName = FlightRecording.currentTest();
+        if (testName != null) {
+            requestSpec.header("X-Test-Name", testName);
+        }
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        if (WARMED_UP.compareAndSet(false, true)) {
+            return response;
+        }
+
+        ServerTimingReport.record(micros, response.getHeader("Server-Timing"));
+        String endpoint = endpoint(requestSpec);
+        RUN.computeIfAbsent(endpoint, k -> new LatencyHistogram()).record(micros);
+        Map<String, LatencyHistogram> test = CURRENT_TEST.get();
+        if (test != null) {
+            test.computeIfAbsent(endpoint, k -> new LatencyHistogram()).record(micros);
+        }
+        return response;
+    }
+
+    static void beginTest() {
+        CURRENT_TEST.set(new TreeMap<>());
+    }
+
+    static Map<String, LatencyHistogram> endTest() {
+        Map<String, LatencyHistogram> test = CURRENT_TEST.get();
+        CURRENT_TEST.remove();
+        return (test == null) ? Map.of() : test;
+    }
+
+    /**
+     * Grava o relatório da execução: resumo por endpoint e a distribuição completa de cada um.
+     */
+    static void writeReport(Path file) {
+        Map<String, LatencyHistogram> sorted = new TreeMap<>(RUN);
+        if (sorted.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-32s %8s %10s %10s %10s %10s%n", "endpoint", "count", "p50(ms)", "p95(ms)",
+                "p99(ms)", "max(ms)"));
+        for (Map.Entry<String, LatencyHistogram> e : sorted.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            sb.append(String.format("%-32s %8d %10.2f %10.2f %10.2f %10.2f%n", e.getKey(), h.count(),
+                    h.percentile(50) / 1000.0, h.percentile(95) / 1000.0, h.percentile(99) / 1000.0, h.max() / 1000.0));
+        }
+        sb.append(System.lineSeparator()).append("connections: ").append(HttpClientPool.stats()).append(System.lineSeparator());
+        sb.append(TokenUtil.stats()).append(System.lineSeparator());
+        for (Map.Entry<String, LatencyHistogram> e : sorted.entrySet()) {
+            sb.append(System.lineSeparator()).append("### ").append(e.getKey()).append(System.lineSeparator());
+            sb.append(e.getValue().percentileDistribution());
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, sb.toString());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String endpoint(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getUserDefinedPath();
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        return requestSpec.getMethod() + " " + path;
+    }
+}
@@ -0,0 +1,105 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.simple.JSONValue;
+
+/**
+ * Corpo JSON serializado uma única vez e reaproveitado entre requisições.
+ *
+ * Cada campo de primeiro nível fica guardado já como bytes ({@code "nome":valor}); {@link #with}
+ * e {@link #without} devolvem um novo template em que só o campo alterado é serializado de novo.
+ * O corpo final ({@link #bytes()}) é montado uma vez por template e pode ser enviado quantas vezes
+ * for preciso, inclusive por várias threads.
+ */
+public final class PayloadTemplate {
+
+    private final LinkedHashMap<String, byte[]> fields;
+    private final byte[] body;
+
+    private PayloadTemplate(LinkedHashMap<String, byte[]> fields) {
+        this.fields = fields;
+        this.body = join(fields);
+    }
+
+    public static PayloadTemplate of(Map<String, ?> base) {
+        LinkedHashMap<String, byte[]> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> e : base.entrySet()) {
+            fields.put(e.getKey(), field(e.getKey(), e.getValue()));
+        }
+        return new PayloadTemplate(fields);
+    }
+
+    public PayloadTemplate with(String name, Object value) {
+        LinkedHashMap<String, byte[]> patched = new LinkedHashMap<>(fields);
+        patched.put(name, field(name, value));
+        return new PayloadTemplate(patched);
+    }
+
+    public PayloadTemplate without(String name) {
+        LinkedHashMap<String, byte[]> patched = new LinkedHashMap<>(fields);
+        patched.remove(name);
+        return new PayloadTemplate(patched);
+    }
+
+    /**
+     * Corpo pronto; o mesmo array é devolvido a cada chamada e não deve ser alterado.
+     */
+    public byte[] bytes() {
+        return body;
+    }
+
+    /**
+     * Array JSON com os corpos dos templates, na ordem dada (ex.: POST /products/batch).
+     */
+    public static byte[] array(List<PayloadTemplate> items) {
+        int size = 2 + Math.max(0, items.size() - 1);
+        for (PayloadTemplate item : items) {
+            size += item.body.length;
+        }
+        byte[] out = new byte[size];
+        int pos = 0;
+        out[pos++] = '[';
+        for (PayloadTemplate item : items) {
+            if (pos > 1) {
+                out[pos++] = ',';
+            }
+            System.arraycopy(item.body, 0, out, pos, item.body.length);
+            pos += item.body.length;
+        }
+        out[pos] = ']';
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] field(String name, Object value) {
+        return (JSONValue.toJSONString(name) + ":" + JSONValue.toJSONString(value)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] join(LinkedHashMap<String, byte[]> fields) {
+        int size = 2 + Math.max(0, fields.size() - 1);
+        for (byte[] f : fields.values()) {
+            size += f.length;
+        }
+        byte[] out = new byte[size];
+        int pos = 0;
+        out[pos++] = '{';
+        for (byte[] f : fields.values()) {
+            if (pos > 1) {
+                out[pos++] = ',';
+            }
+            System.arraycopy(f, 0, out, pos, f.length);
+            pos += f.length;
+        }
+        out[pos++] = '}';
+        return (pos == size) ? out : Arrays.copyOf(out, pos);
+    }
+}
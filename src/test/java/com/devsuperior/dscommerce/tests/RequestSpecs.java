@@ -0,0 +1,49 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Especificação de requisição montada uma vez por thread, no lugar do
+ * {@code RestAssured.baseURI} estático, para as suítes poderem rodar em paralelo.
+ *
+ * Sem {@code -Ddscommerce.baseUri=...}, os testes usam o {@link EmbeddedServer}. Todas as threads
+ * compartilham as conexões do {@link HttpClientPool}.
+ */
+public class RequestSpecs {
+
+    private static final String BASE_URI = System.getProperty("dscommerce.baseUri");
+
+    private static final ThreadLocal<RequestSpecification> SPEC = ThreadLocal.withInitial(() -> build(baseUri()));
+    private static final ThreadLocal<Map<String, RequestSpecification>> OTHER_SPECS = ThreadLocal.withInitial(HashMap::new);
+
+    public static RequestSpecification spec() {
+        return SPEC.get();
+    }
+
+    /**
+     * Especificação para outra instância da aplicação (ex.: uma subida com {@link EmbeddedServer#start}).
+     */
+    public static RequestSpecification spec(String baseUri) {
+        if (baseUri.equals(baseUri())) {
+            return SPEC.get();
+        }
+        return OTHER_SPECS.get().computeIfAbsent(baseUri, RequestSpecs::build);
+    }
+
+    public static String baseUri() {
+        return (BASE_URI != null) ? BASE_URI : EmbeddedServer.baseUri();
+    }
+
+    private static RequestSpecification build(String baseUri) {
+        return new RequestSpecBuilder()
+            .setBaseUri(baseUri)
+            .setConfig(RestAssuredConfig.config().httpClient(HttpClientPool.config()))
+            .addFilter(LatencyRecorder.filter())
+            .build();
+    }
+}
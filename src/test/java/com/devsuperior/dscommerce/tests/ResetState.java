@@ -0,0 +1,20 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Volta os dados da aplicação ao estado da subida depois de cada teste {@link Resources#MUTATING}
+ * da classe, para a suíte poder rodar de novo no mesmo servidor. Ver {@link StateResetExtension}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@ExtendWith(StateResetExtension.class)
+public @interface ResetState {
+}
@@ -0,0 +1,19 @@
+package com.devsuperior.dscommerce.tests;
+
+/**
+ * Tags e recursos compartilhados usados com {@code @Tag} e {@code @ResourceLock}.
+ *
+ * Testes {@link #READ_ONLY} pegam o recurso em modo READ e podem rodar juntos;
+ * testes {@link #MUTATING} pegam em READ_WRITE e rodam sozinhos naquele recurso.
+ */
+public final class Resources {
+
+    public static final String READ_ONLY = "read-only";
+    public static final String MUTATING = "mutating";
+
+    public static final String PRODUCTS = "dscommerce.products";
+    public static final String ORDERS = "dscommerce.orders";
+
+    private Resources() {
+    }
+}
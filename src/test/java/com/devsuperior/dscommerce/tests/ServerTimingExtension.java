@@ -0,0 +1,40 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+
+/**
+ * Registra cada teste no {@link ServerTimingReport} e grava {@code target/server-timing-report.txt} ao fim
+ * da execução. Vale para todas as classes de teste, com ou sem {@link LatencyBudget}: é carregada pelo
+ * {@code ServiceLoader} ({@code META-INF/services} e {@code junit-platform.properties} em src/test/resources).
+ */
+public class ServerTimingExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final Path REPORT = Path.of("target", "server-timing-report.txt");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        // fecha junto com a execução inteira e então grava o relatório
+        context.getRoot().getStore(Namespace.GLOBAL).getOrComputeIfAbsent(ReportWriter.class,
+                k -> new ReportWriter(), ReportWriter.class);
+        ServerTimingReport.beginTest(
+                context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        ServerTimingReport.endTest();
+    }
+
+    private static final class ReportWriter implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            ServerTimingReport.write(REPORT);
+        }
+    }
+}
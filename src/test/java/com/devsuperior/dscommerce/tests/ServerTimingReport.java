@@ -0,0 +1,122 @@
+package com.devsuperior.dscommerce.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compara, por método de teste, o tempo medido pelo cliente com as fases do cabeçalho
+ * {@code Server-Timing} das respostas ({@code auth}, {@code app}, {@code ser}, {@code total}).
+ *
+ * A diferença entre o cliente e o {@code total} do servidor é rede, fila do Tomcat e o próprio
+ * RestAssured. Alimentado pelo {@link LatencyRecorder}; os testes são registrados pelo
+ * {@link ServerTimingExtension}. As threads criadas durante o teste (as dos testes de carga) herdam o teste.
+ */
+public final class ServerTimingReport {
+
+    private static final ConcurrentMap<String, Totals> TESTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Totals> CURRENT_TEST = new InheritableThreadLocal<>();
+
+    private ServerTimingReport() {
+    }
+
+    static void beginTest(String name) {
+        CURRENT_TEST.set(TESTS.computeIfAbsent(name, k -> new Totals()));
+    }
+
+    static void endTest() {
+        CURRENT_TEST.remove();
+    }
+
+    /**
+     * Soma uma chamada ao teste em andamento na thread; chamadas sem o cabeçalho contam só no cliente.
+     */
+    static void record(long clientMicros, String header) {
+        Totals totals = CURRENT_TEST.get();
+        if (totals == null) {
+            return;
+        }
+        synchronized (totals) {
+            totals.calls++;
+            totals.client += clientMicros;
+            if (header != null) {
+                totals.timed++;
+                totals.timedClient += clientMicros;
+                totals.auth += duration(header, "auth");
+                totals.app += duration(header, "app");
+                totals.ser += duration(header, "ser");
+                totals.server += duration(header, "total");
+            }
+        }
+    }
+
+    static void write(Path file) {
+        Map<String, Totals> sorted = new TreeMap<>(TESTS);
+        if (sorted.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("tempos somados por teste, em ms; outros = cliente - servidor nas chamadas com Server-Timing")
+            .append(System.lineSeparator());
+        sb.append(String.format("%-80s %6s %10s %10s %9s %9s %9s %10s%n", "test", "calls", "client", "server",
+                "auth", "app", "ser", "other"));
+        for (Map.Entry<String, Totals> e : sorted.entrySet()) {
+            Totals t = e.getValue();
+            synchronized (t) {
+                if (t.calls == 0) {
+                    continue;
+                }
+                sb.append(String.format("%-80s %6d %10.2f %10.2f %9.2f %9.2f %9.2f %10.2f%n", e.getKey(), t.calls,
+                        t.client / 1000.0, t.server / 1000.0, t.auth / 1000.0, t.app / 1000.0, t.ser / 1000.0,
+                        (t.timedClient - t.server) / 1000.0));
+            }
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, sb.toString());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Duração de uma métrica do cabeçalho ({@code app;dur=1.234}), em microssegundos, ou 0 se ausente.
+     */
+    static long duration(String header, String metric) {
+        int from = 0;
+        while (from < header.length()) {
+            int end = header.indexOf(',', from);
+            if (end < 0) {
+                end = header.length();
+            }
+            String entry = header.substring(from, end).trim();
+            if (entry.startsWith(metric + ";")) {
+                int dur = entry.indexOf("dur=");
+                if (dur >= 0) {
+                    int stop = entry.indexOf(';', dur);
+                    String value = entry.substring(dur + 4, (stop < 0) ? entry.length() : stop);
+                    return Math.round(Double.parseDouble(value) * 1000);
+                }
+            }
+            from = end + 1;
+        }
+        return 0;
+    }
+
+    private static final class Totals {
+        long calls;
+        long client;
+        long timed;
+        long timedClient;
+        long server;
+        long auth;
+        long app;
+        long ser;
+    }
+}
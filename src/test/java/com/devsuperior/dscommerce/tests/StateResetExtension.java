@@ -0,0 +1,62 @@
+package com.devsuperior.dscommerce.tests;
+
+import static io.restassured.RestAssured.given;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import io.restassured.config.RestAssuredConfig;
+
+/**
+ * Chama {@code POST /test/reset} ao fim de cada teste {@link Resources#MUTATING}, só para os recursos
+ * que ele pega em READ_WRITE ({@link Resources#PRODUCTS} -> {@code products}, {@link Resources#ORDERS}
+ * -> {@code orders}).
+ *
+ * A volta acontece dentro do teste, ainda com o {@code @ResourceLock} exclusivo: com {@code -Pparallel},
+ * nenhum outro teste está lendo aqueles dados nesse momento, o que não vale para um reset entre classes.
+ * Se o servidor não tiver o reset ligado ({@code dscommerce.test.reset-enabled}), avisa uma vez e segue.
+ */
+public class StateResetExtension implements AfterEachCallback {
+
+    private static final AtomicBoolean UNAVAILABLE = new AtomicBoolean();
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (UNAVAILABLE.get() || !context.getTags().contains(Resources.MUTATING)) {
+            return;
+        }
+        List<String> resources = new ArrayList<>();
+        for (ResourceLock lock : AnnotationSupport.findRepeatableAnnotations(context.getRequiredTestMethod(),
+                ResourceLock.class)) {
+            if (lock.mode() == ResourceAccessMode.READ_WRITE) {
+                resources.add(lock.value().substring(lock.value().lastIndexOf('.') + 1));
+            }
+        }
+        if (resources.isEmpty()) {
+            return;
+        }
+
+        String token = TokenUtil.obtainAccessToken("alex@gmail.com", "123456");
+        // fora do LatencyRecorder, para não contar no orçamento do teste
+        int status = given()
+            .baseUri(RequestSpecs.baseUri())
+            .config(RestAssuredConfig.config().httpClient(HttpClientPool.config()))
+            .header("Authorization", "Bearer " + token)
+            .queryParam("resources", String.join(",", resources))
+            .post("/test/reset")
+            .statusCode();
+        if (status == 404 && UNAVAILABLE.compareAndSet(false, true)) {
+            System.out.println("[StateResetExtension] POST /test/reset indisponível; os testes vão deixar dados alterados");
+        }
+        else if (status != 204 && status != 404) {
+            throw new IllegalStateException("POST /test/reset respondeu " + status);
+        }
+    }
+}
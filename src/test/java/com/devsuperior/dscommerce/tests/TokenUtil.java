@@ -1,36 +1,162 @@
 package com.devsuperior.dscommerce.tests;
 
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
 import static io.restassured.RestAssured.given;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 
 /**
  * Fazer requisição de login e pegar token.
+ *
+ * Os tokens ficam em cache por (servidor, credenciais do client, usuário e senha) durante toda a execução
+ * da suíte e são renovados um pouco antes do {@code expires_in} informado pelo servidor: uma senha errada
+ * nunca reaproveita o token da certa. Requisições concorrentes com as mesmas credenciais aguardam uma única
+ * chamada ao /oauth2/token. Os números do cache vão para {@code target/latency-report.txt}.
  */
 public class TokenUtil {
 
+    private static final String CLIENT_ID = "myclientid";
+    private static final String CLIENT_SECRET = "myclientsecret";
+
+    // margem para renovar o token antes de expirar (ms)
+    private static final long REFRESH_SKEW_MILLIS = Long.getLong("tokens.refreshSkewMillis", 30_000L);
+
+    private static final ConcurrentMap<TokenKey, CompletableFuture<CachedToken>> CACHE = new ConcurrentHashMap<>();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder REFRESHES = new LongAdder();
 
-    @SuppressWarnings("unused")
     public static String obtainAccessToken(String username, String password) {
-        Response response = authRequest(username, password);
-        JsonPath jsonBody = response.jsonPath();
-        return jsonBody.getString("access_token");
+        return obtainAccessToken(CLIENT_ID, CLIENT_SECRET, username, password);
+    }
+
+    public static String obtainAccessToken(String clientId, String clientSecret, String username, String password) {
+        return resolve(new TokenKey(RequestSpecs.baseUri(), clientId, clientSecret, username, password)).accessToken();
+    }
+
+    /**
+     * Token emitido por outra instância da aplicação; cada instância tem a sua chave de assinatura.
+     */
+    public static String obtainAccessTokenFrom(String baseUri, String username, String password) {
+        return resolve(new TokenKey(baseUri, CLIENT_ID, CLIENT_SECRET, username, password)).accessToken();
+    }
+
+    public static TokenCacheStats stats() {
+        return new TokenCacheStats(HITS.sum(), MISSES.sum(), REFRESHES.sum());
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static CachedToken resolve(TokenKey key) {
+        for (;;) {
+            CompletableFuture<CachedToken> current = CACHE.get(key);
+            if (current == null) {
+                CompletableFuture<CachedToken> created = new CompletableFuture<>();
+                if (CACHE.putIfAbsent(key, created) == null) {
+                    MISSES.increment();
+                    return fetch(key, created);
+                }
+                continue;
+            }
+            if (!current.isDone()) {
+                // outra thread já está buscando o token deste usuário
+                HITS.increment();
+                return await(current);
+            }
+            CachedToken token = await(current);
+            if (!token.needsRefresh(System.currentTimeMillis())) {
+                HITS.increment();
+                return token;
+            }
+            CompletableFuture<CachedToken> created = new CompletableFuture<>();
+            if (CACHE.replace(key, current, created)) {
+                REFRESHES.increment();
+                return fetch(key, created);
+            }
+        }
     }
 
-    private static Response authRequest(String username, String password) {
-        return given()
+    private static CachedToken fetch(TokenKey key, CompletableFuture<CachedToken> future) {
+        try {
+            long requestedAt = System.currentTimeMillis();
+            JsonPath jsonBody = authRequest(key.baseUri(), key.clientId(), key.clientSecret(), key.username(),
+                    key.password()).jsonPath();
+            String accessToken = jsonBody.getString("access_token");
+            Object expiresIn = jsonBody.get("expires_in");
+            long ttlMillis = (expiresIn instanceof Number seconds) ? seconds.longValue() * 1000L : 0L;
+            CachedToken token = new CachedToken(accessToken, requestedAt + ttlMillis);
+            if (accessToken == null) {
+                // login inválido: não guardar em cache
+                CACHE.remove(key, future);
+            }
+            future.complete(token);
+            return token;
+        }
+        catch (RuntimeException e) {
+            CACHE.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static CachedToken await(CompletableFuture<CachedToken> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException e) {
+            throw (e.getCause() instanceof RuntimeException cause) ? cause : e;
+        }
+    }
+
+    private static Response authRequest(String baseUri, String clientId, String clientSecret, String username,
+            String password) {
+        return given(spec(baseUri))
             .auth()
             .preemptive()
-            .basic("myclientid", "myclientsecret")
+            .basic(clientId, clientSecret)
             .contentType("application/x-www-form-urlencoded")
             .formParam("username", username)
             .formParam("password", password)
             .formParam("grant_type", "password")
         .when()
             .post("/oauth2/token");
+    }
+
+    private record TokenKey(String baseUri, String clientId, String clientSecret, String username, String password) {
+    }
+
+    private record CachedToken(String accessToken, long expiresAt) {
+
+        boolean needsRefresh(long now) {
+            return now >= expiresAt - REFRESH_SKEW_MILLIS;
+        }
+    }
+
+    public record TokenCacheStats(long hits, long misses, long refreshes) {
+
+        public long requests() {
+            return hits + misses + refreshes;
+        }
+
+        // cada hit é uma chamada ao /oauth2/token que não precisou ser feita
+        public long authCallsSaved() {
+            return hits;
+        }
 
-            
+        @Override
+        public String toString() {
+            return "token cache: hits=" + hits + ", misses=" + misses + ", refreshes=" + refreshes
+                    + ", auth calls saved=" + authCallsSaved();
+        }
     }
-    
 }
@@ -0,0 +1,89 @@
+package com.devsuperior.dscommerce.tests.load;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.devsuperior.dscommerce.tests.LatencyHistogram;
+
+/**
+ * Resultado de uma execução do {@link LoadRunner}: vazão, percentis e taxa de erro por passo.
+ */
+public class LoadReport {
+
+    private final Duration elapsed;
+    private final List<StepStats> steps;
+
+    LoadReport(Duration elapsed, List<StepStats> steps) {
+        this.elapsed = elapsed;
+        this.steps = List.copyOf(steps);
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public List<StepStats> getSteps() {
+        return steps;
+    }
+
+    public long totalRequests() {
+        return steps.stream().mapToLong(s -> s.latencies().count()).sum();
+    }
+
+    /**
+     * Latências de todos os passos juntos.
+     */
+    public LatencyHistogram totalLatencies() {
+        LatencyHistogram all = new LatencyHistogram();
+        for (StepStats s : steps) {
+            all.add(s.latencies());
+        }
+        return all;
+    }
+
+    public long totalErrors() {
+        return steps.stream().mapToLong(StepStats::errors).sum();
+    }
+
+    public double errorRate() {
+        long total = totalRequests();
+        return total == 0 ? 0.0 : (double) totalErrors() / total;
+    }
+
+    public double throughput() {
+        return perSecond(totalRequests());
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-28s %9s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "errors"));
+        for (StepStats s : steps) {
+            LatencyHistogram h = s.latencies();
+            sb.append(String.format("%-28s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n",
+                    s.name(), h.count(), perSecond(h.count()), millis(h.percentile(50)),
+                    millis(h.percentile(95)), millis(h.percentile(99)), millis(h.max()), s.errorRate() * 100));
+        }
+        sb.append(String.format("%-28s %9d %9.1f %49s %7.2f%%%n",
+                "total", totalRequests(), throughput(), "", errorRate() * 100));
+        sb.append(String.format("elapsed: %.1fs%n", elapsed.toMillis() / 1000.0));
+        return sb.toString();
+    }
+
+    private double perSecond(long count) {
+        long ms = Math.max(1L, elapsed.toMillis());
+        return count * 1000.0 / ms;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    public record StepStats(String name, LatencyHistogram latencies, long errors) {
+
+        public double errorRate() {
+            long n = latencies.count();
+            return n == 0 ? 0.0 : (double) errors / n;
+        }
+    }
+}
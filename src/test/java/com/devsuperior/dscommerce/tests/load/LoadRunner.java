@@ -0,0 +1,198 @@
+package com.devsuperior.dscommerce.tests.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.devsuperior.dscommerce.tests.LatencyHistogram;
+
+import io.restassured.response.Response;
+
+/**
+ * Gera carga a partir de passos ponderados ({@link WorkloadStep}) por um tempo fixo.
+ *
+ * Dois modos: concorrência fixa (N usuários em loop fechado) ou taxa alvo em req/s
+ * (loop aberto; a latência é medida a partir do horário planejado de cada requisição,
+ * então atrasos do próprio gerador também aparecem nos percentis).
+ *
+ * As requisições rodam em virtual threads quando a JVM é 21+; em versões anteriores
+ * cai para um pool de threads comum.
+ */
+public class LoadRunner {
+
+    private final List<WorkloadStep> steps;
+    private final int[] cumulativeWeights;
+    private final Duration duration;
+    private final int concurrency;
+    private final double targetRate;
+
+    private LoadRunner(Builder builder) {
+        if (builder.steps.isEmpty()) {
+            throw new IllegalArgumentException("at least one workload step is required");
+        }
+        this.steps = List.copyOf(builder.steps);
+        this.cumulativeWeights = new int[steps.size()];
+        int acc = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            acc += steps.get(i).weight();
+            cumulativeWeights[i] = acc;
+        }
+        this.duration = builder.duration;
+        this.concurrency = builder.concurrency;
+        this.targetRate = builder.targetRate;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public LoadReport run() {
+        Recorder[] recorders = new Recorder[steps.size()];
+        for (int i = 0; i < recorders.length; i++) {
+            recorders[i] = new Recorder();
+        }
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService executor = newExecutor();
+        try {
+            if (targetRate > 0) {
+                runAtRate(executor, recorders, start, deadline);
+            }
+            else {
+                runClosed(executor, recorders, deadline);
+            }
+        }
+        finally {
+            executor.shutdown();
+            awaitQuietly(executor);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<LoadReport.StepStats> stats = new ArrayList<>();
+        for (int i = 0; i < steps.size(); i++) {
+            stats.add(new LoadReport.StepStats(steps.get(i).name(), recorders[i].latencies, recorders[i].errors.sum()));
+        }
+        return new LoadReport(elapsed, stats);
+    }
+
+    private void runClosed(ExecutorService executor, Recorder[] recorders, long deadline) {
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    execute(recorders, System.nanoTime());
+                }
+            });
+        }
+    }
+
+    private void runAtRate(ExecutorService executor, Recorder[] recorders, long start, long deadline) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / targetRate);
+        for (long i = 0;; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            executor.execute(() -> execute(recorders, intended));
+        }
+    }
+
+    private void execute(Recorder[] recorders, long intendedStart) {
+        int index = pickStep();
+        WorkloadStep step = steps.get(index);
+        boolean ok;
+        try {
+            Response response = step.request().get();
+            ok = step.expectedStatus().test(response.statusCode());
+        }
+        catch (RuntimeException e) {
+            ok = false;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+        recorders[index].latencies.record(micros);
+        if (!ok) {
+            recorders[index].errors.increment();
+        }
+    }
+
+    private int pickStep() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static void awaitQuietly(ExecutorService executor) {
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Recorder {
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+    }
+
+    public static class Builder {
+
+        private final List<WorkloadStep> steps = new ArrayList<>();
+        private Duration duration = Duration.ofSeconds(30);
+        private int concurrency = Runtime.getRuntime().availableProcessors();
+        private double targetRate;
+
+        public Builder step(WorkloadStep step) {
+            steps.add(step);
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder concurrency(int concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Requisições por segundo; quando maior que zero, ignora {@link #concurrency(int)}. Acima de
+         * 1e9 req/s o intervalo entre requisições seria menor que 1 ns e não caberia no relógio.
+         */
+        public Builder targetRate(double targetRate) {
+            if (!(targetRate >= 0 && targetRate <= TimeUnit.SECONDS.toNanos(1))) {
+                throw new IllegalArgumentException("targetRate must be between 0 and 1e9 req/s: " + targetRate);
+            }
+            this.targetRate = targetRate;
+            return this;
+        }
+
+        public LoadRunner build() {
+            return new LoadRunner(this);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.devsuperior.dscommerce.tests.load;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static io.restassured.RestAssured.given;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.devsuperior.dscommerce.tests.RequestSpecs;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+
+import io.restassured.http.ContentType;
+
+/**
+ * As requisições do {@code OrderControllerRA} feitas pela cliente maria@gmail.com, como passos de carga.
+ */
+public class OrderScenarios {
+
+    private static final PayloadTemplate NEW_ORDER = PayloadTemplate.of(newOrder());
+
+    private final String baseUri;
+    private final String clientToken;
+
+    public OrderScenarios() {
+        this(RequestSpecs.baseUri());
+    }
+
+    public OrderScenarios(String baseUri) {
+        this.baseUri = baseUri;
+        clientToken = TokenUtil.obtainAccessTokenFrom(baseUri, "maria@gmail.com", "123456");
+    }
+
+    public WorkloadStep findById(int weight) {
+        return new WorkloadStep("GET /orders/{id}", weight, 200, () ->
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + clientToken)
+                .get("/orders/{id}", 1L));
+    }
+
+    public WorkloadStep insert(int weight) {
+        return new WorkloadStep("POST /orders", weight, 201, () ->
+            given(spec(baseUri))
+                .header("Authorization", "Bearer " + clientToken)
+                .body(NEW_ORDER.bytes())
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+            .when()
+                .post("/orders"));
+    }
+
+    private static Map<String, Object> newOrder() {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("items", List.of(
+            Map.of("productId", 1, "quantity", 2),
+            Map.of("productId", 5, "quantity", 1)));
+        return order;
+    }
+}
@@ -0,0 +1,115 @@
+package com.devsuperior.dscommerce.tests.load;
+
+import static com.devsuperior.dscommerce.tests.RequestSpecs.spec;
+import static io.restassured.RestAssured.given;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.devsuperior.dscommerce.tests.PayloadTemplate;
+import com.devsuperior.dscommerce.tests.RequestSpecs;
+import com.devsuperior.dscommerce.tests.TokenUtil;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+/**
+ * As mesmas requisições do {@code ProductControllerRA}, como passos de carga.
+ *
+ * O passo de delete remove produtos criados pelo passo de insert, para o catálogo
+ * não encolher durante a execução.
+ */
+public class ProductScenarios {
+
+    private static final PayloadTemplate NEW_PRODUCT = PayloadTemplate.of(newProduct());
+
+    private final String baseUri;
+    private final String adminToken;
+    private final ConcurrentLinkedQueue<Long> insertedIds = new ConcurrentLinkedQueue<>();
+
+    public ProductScenarios() {
+        this(RequestSpecs.baseUri());
+    }
+
+    public ProductScenarios(String baseUri) {
+        this.baseUri = baseUri;
+        adminToken = TokenUtil.obtainAccessTokenFrom(baseUri, "alex@gmail.com", "123456");
+    }
+
+    public WorkloadStep findById(int weight) {
+        return new WorkloadStep("GET /products/{id}", weight, 200, () ->
+            given(spec(baseUri))
+                .get("/products/{id}", 2L));
+    }
+
+    public WorkloadStep findAllByName(int weight) {
+        return new WorkloadStep("GET /products?name", weight, 200, () ->
+            given(spec(baseUri))
+                .get("/products?name={productName}", "Macbook"));
+    }
+
+    public WorkloadStep findAllSortedByName(int weight) {
+        return new WorkloadStep("GET /products?sort", weight, 200, () ->
+            given(spec(baseUri))
+                .get("/products?sort=name"));
+    }
+
+    public WorkloadStep findAllPage(int weight) {
+        return new WorkloadStep("GET /products?size", weight, 200, () ->
+            given(spec(baseUri))
+                .get("/products?size=25"));
+    }
+
+    public WorkloadStep insert(int weight) {
+        return new WorkloadStep("POST /products", weight, 201, () -> {
+            Response response = given(spec(baseUri))
+                .header("Authorization", "Bearer " + adminToken)
+                .body(NEW_PRODUCT.bytes())
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+            .when()
+                .post("/products");
+            if (response.statusCode() == 201) {
+                insertedIds.add(response.jsonPath().getLong("id"));
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Remove um produto criado pelo {@link #insert(int)}; sem nenhum disponível,
+     * pede um id inexistente (404 também conta como sucesso).
+     */
+    public WorkloadStep delete(int weight) {
+        return new WorkloadStep("DELETE /products/{id}", weight, status -> status == 204 || status == 404, () -> {
+            Long id = insertedIds.poll();
+            return given(spec(baseUri))
+                .header("Authorization", "Bearer " + adminToken)
+            .when()
+                .delete("/products/{id}", id == null ? Long.MAX_VALUE : id);
+        });
+    }
+
+    private static Map<String, Object> newProduct() {
+        Map<String, Object> category1 = new HashMap<>();
+        category1.put("id", 2);
+        Map<String, Object> category2 = new HashMap<>();
+        category2.put("id", 3);
+
+        List<Map<String, Object>> categories = new ArrayList<>();
+        categories.add(category1);
+        categories.add(category2);
+
+        Map<String, Object> product = new LinkedHashMap<>();
+        product.put("name", "Meu produto");
+        product.put("description", "uiuiuiuiuiuiui");
+        product.put("imgUrl", "img/image");
+        product.put("price", 50.0);
+        product.put("categories", categories);
+        return product;
+    }
+}
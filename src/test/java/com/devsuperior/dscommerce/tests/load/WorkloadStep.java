@@ -0,0 +1,22 @@
+package com.devsuperior.dscommerce.tests.load;
+
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import io.restassured.response.Response;
+
+/**
+ * Passo da carga: uma requisição com peso relativo e os status considerados sucesso.
+ */
+public record WorkloadStep(String name, int weight, IntPredicate expectedStatus, Supplier<Response> request) {
+
+    public WorkloadStep {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight must be positive: " + name);
+        }
+    }
+
+    public WorkloadStep(String name, int weight, int expectedStatus, Supplier<Response> request) {
+        this(name, weight, status -> status == expectedStatus, request);
+    }
+}